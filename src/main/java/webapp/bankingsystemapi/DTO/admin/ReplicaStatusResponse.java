@@ -0,0 +1,27 @@
+package webapp.bankingsystemapi.DTO.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaStatusResponse {
+    // False when no banking.datasource.replica.url is set; everything reads the primary
+    private boolean enabled;
+    private boolean available;
+    // Age of the newest heartbeat seen on the replica; null until one has arrived
+    private Long lagMillis;
+    private long maxLagMillis;
+    // Read-only transactions served by the replica
+    private long replicaReads;
+    // Read-only transactions sent to the primary because the replica was down or too far behind
+    private long lagRedirects;
+    // Read-only transactions sent to the primary because the caller's own posting was not replicated yet
+    private long ownPostingRedirects;
+    // Replica connections refused, the read then served by the primary
+    private long fallbacks;
+}
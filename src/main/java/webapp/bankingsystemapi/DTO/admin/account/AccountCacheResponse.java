@@ -0,0 +1,22 @@
+package webapp.bankingsystemapi.DTO.admin.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountCacheResponse {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    // Balances written through by postings on this node
+    private long writes;
+    // Misses whose database read raced a posting and was not cached
+    private long rejectedFills;
+    private long evictions;
+}
@@ -0,0 +1,19 @@
+package webapp.bankingsystemapi.DTO.admin.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerBalanceResponse {
+    private String accountNumber;
+    // Stored on the account, moved by every posting
+    private double balance;
+    // Recomputed from the account's journal postings
+    private double derivedBalance;
+    private boolean consistent;
+}
@@ -0,0 +1,7 @@
+package webapp.bankingsystemapi.DTO.admin.account;
+
+// Net movement of one customer account over a range of journal postings (credits minus debits).
+public interface LedgerDeltaView {
+    Long getAccountId();
+    long getDelta();
+}
@@ -0,0 +1,24 @@
+package webapp.bankingsystemapi.DTO.admin.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.audit.AuditDurability;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditPipelineResponse {
+    private AuditDurability durability;
+    private int queueDepth;
+    private int queueCapacity;
+    private long enqueued;
+    private long written;
+    private long batches;
+    private long writtenByCaller;
+    private long dropped;
+    private long failed;
+    private long relayed;
+}
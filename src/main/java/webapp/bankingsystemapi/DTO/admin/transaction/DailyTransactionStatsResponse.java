@@ -0,0 +1,21 @@
+package webapp.bankingsystemapi.DTO.admin.transaction;
+
+import lombok.Builder;
+import lombok.Data;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+@Data
+public class DailyTransactionStatsResponse {
+
+    private LocalDate date;
+    private TransactionType type;
+    private TransactionStatus status;
+
+    private long transactionCount;
+    private BigDecimal transactionAmount;
+}
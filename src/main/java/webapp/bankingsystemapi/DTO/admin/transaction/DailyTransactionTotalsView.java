@@ -0,0 +1,11 @@
+package webapp.bankingsystemapi.DTO.admin.transaction;
+
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+
+public interface DailyTransactionTotalsView {
+    TransactionType getType();
+    TransactionStatus getStatus();
+    long getTxCount();
+    long getTotalAmount();
+}
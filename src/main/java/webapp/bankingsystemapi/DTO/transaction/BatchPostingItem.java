@@ -0,0 +1,29 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.enums.PostingType;
+
+/**
+ * One posting of a batch. {@code accountNumber} is the account deposited to, withdrawn
+ * from, or transferred from. Items are checked one by one by the service, so a bad item
+ * fails on its own instead of rejecting the whole request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchPostingItem {
+
+    private PostingType type;
+
+    private String accountNumber;
+
+    private String toAccountNumber;
+
+    private Double amount;
+
+    private String description;
+}
@@ -0,0 +1,19 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchPostingRequest {
+
+    @NotEmpty(message = "A batch needs at least one posting")
+    private List<BatchPostingItem> items;
+}
@@ -0,0 +1,20 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchPostingResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchPostingResult> results;
+}
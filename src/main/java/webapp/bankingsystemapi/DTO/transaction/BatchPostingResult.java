@@ -0,0 +1,26 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.enums.PostingType;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchPostingResult {
+
+    // Position of the item in the request.
+    private int index;
+    private PostingType type;
+    private TransactionStatus status;
+    private String referenceNumber;
+    private String creditReferenceNumber;
+    private Double amount;
+    private Double beforeBalance;
+    private Double afterBalance;
+    private String error;
+}
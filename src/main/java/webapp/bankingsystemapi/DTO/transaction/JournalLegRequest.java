@@ -0,0 +1,32 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.enums.LedgerAccount;
+import webapp.bankingsystemapi.enums.LedgerSide;
+
+/**
+ * One leg of a multi-leg journal: a customer {@code accountNumber} or one of the bank's
+ * {@code ledgerAccount}s (e.g. FEE_INCOME), never both.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JournalLegRequest {
+
+    private String accountNumber;
+
+    private LedgerAccount ledgerAccount;
+
+    @NotNull
+    private LedgerSide side;
+
+    @Positive
+    @NotNull
+    private Double amount;
+}
@@ -0,0 +1,24 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.enums.LedgerAccount;
+import webapp.bankingsystemapi.enums.LedgerSide;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JournalLegResponse {
+
+    private String accountNumber;
+    private LedgerAccount ledgerAccount;
+    private LedgerSide side;
+    private Double amount;
+    // Only for accounts the caller may see the balance of
+    private Double balanceAfter;
+    // Statement row written for a customer account leg
+    private String referenceNumber;
+}
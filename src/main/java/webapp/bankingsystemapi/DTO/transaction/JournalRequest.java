@@ -0,0 +1,27 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Postings that must happen together, such as a transfer plus its fee or a payment split
+ * over several accounts. Debits must equal credits; all legs commit or none do.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JournalRequest {
+
+    @Valid
+    @NotEmpty(message = "A journal needs at least two legs")
+    private List<JournalLegRequest> legs;
+
+    private String description;
+}
@@ -0,0 +1,25 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JournalResponse {
+
+    private String reference;
+    private String description;
+    // Total of the debits, which equals the total of the credits
+    private Double amount;
+    private TransactionStatus status;
+    private LocalDateTime createdAt;
+    private List<JournalLegResponse> legs;
+}
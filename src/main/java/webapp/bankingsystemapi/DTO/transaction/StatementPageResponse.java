@@ -0,0 +1,21 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StatementPageResponse {
+
+    private List<TransactionResponse> content;
+    private int size;
+    private boolean hasNext;
+    // Pass back as ?cursor= to fetch the following page; null on the last page.
+    private String nextCursor;
+}
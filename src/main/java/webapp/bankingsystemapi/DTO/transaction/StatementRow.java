@@ -0,0 +1,19 @@
+package webapp.bankingsystemapi.DTO.transaction;
+
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+// One statement line as selected from TRANSACTIONS, amounts in minor units; id is only kept for the keyset cursor.
+public record StatementRow(Long id,
+                           Long accountId,
+                           String referenceNumber,
+                           TransactionType type,
+                           long amount,
+                           TransactionStatus status,
+                           long beforeAmount,
+                           long remainingAmount,
+                           String description,
+                           LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package webapp.bankingsystemapi.DTO.user;
+
+public interface UserSearchSourceView {
+    Long getId();
+    String getEmail();
+    String getFullName();
+}
@@ -0,0 +1,9 @@
+package webapp.bankingsystemapi.DTO.user;
+
+import java.time.LocalDateTime;
+
+public interface UserSecurityVersionView {
+    String getEmail();
+    long getSecurityVersion();
+    LocalDateTime getSecurityUpdatedAt();
+}
@@ -0,0 +1,96 @@
+package webapp.bankingsystemapi.archive;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import webapp.bankingsystemapi.model.ArchiveBoundary;
+import webapp.bankingsystemapi.repo.ArchiveBoundaryRepo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * The archive boundaries as this node last read them, so a search does not look up
+ * ARCHIVE_BOUNDARIES before every query. They are read once the application is ready, or
+ * by the first search if that comes earlier, then re-read every
+ * {@code banking.archive.refresh-millis}, and at once after this node moves one.
+ *
+ * A node with an older boundary still reads the months in between from the hot table;
+ * {@link ColdPartitionArchiver} leaves the rows there until every node has had two
+ * refreshes to see the new boundary.
+ */
+@Slf4j
+@Component
+public class ArchiveTiers {
+
+    private final ArchiveBoundaryRepo boundaryRepo;
+    private final TaskScheduler taskScheduler;
+    private final long refreshMillis;
+    private volatile ScheduledFuture<?> worker;
+
+    // null until first read
+    private volatile Map<ArchivedTable, LocalDateTime> boundaries;
+
+    public ArchiveTiers(ArchiveBoundaryRepo boundaryRepo,
+                        TaskScheduler taskScheduler,
+                        @Value("${banking.archive.refresh-millis:60000}") long refreshMillis) {
+        this.boundaryRepo = boundaryRepo;
+        this.taskScheduler = taskScheduler;
+        this.refreshMillis = Math.max(1, refreshMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refreshQuietly();
+        Duration period = Duration.ofMillis(refreshMillis);
+        worker = taskScheduler.scheduleWithFixedDelay(this::refreshQuietly, Instant.now().plus(period), period);
+    }
+
+    /** The tiers that can hold rows of {@code table} created in {@code [from, to]}; either end may be open. */
+    public TierSplit split(ArchivedTable table, LocalDateTime from, LocalDateTime to) {
+        Map<ArchivedTable, LocalDateTime> read = boundaries;
+        if (read == null) {
+            // a search without the boundaries would miss the archived months
+            refresh();
+            read = boundaries;
+        }
+        LocalDateTime archivedBefore = read.get(table);
+        if (archivedBefore == null) {
+            return new TierSplit(null, true, false);
+        }
+        return new TierSplit(archivedBefore,
+                to == null || !to.isBefore(archivedBefore),
+                from == null || from.isBefore(archivedBefore));
+    }
+
+    public void refresh() {
+        Map<ArchivedTable, LocalDateTime> read = new EnumMap<>(ArchivedTable.class);
+        for (ArchiveBoundary boundary : boundaryRepo.findAll()) {
+            read.put(boundary.getTableName(), boundary.getArchivedBefore());
+        }
+        boundaries = read;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Archive boundaries could not be read, will retry", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (worker != null) {
+            worker.cancel(false);
+        }
+    }
+}
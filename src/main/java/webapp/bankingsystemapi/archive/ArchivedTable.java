@@ -0,0 +1,7 @@
+package webapp.bankingsystemapi.archive;
+
+/** The tables whose cold months are moved to an archive table, keys of ARCHIVE_BOUNDARIES. */
+public enum ArchivedTable {
+    TRANSACTIONS,
+    AUDIT_LOGS
+}
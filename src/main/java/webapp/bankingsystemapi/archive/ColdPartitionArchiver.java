@@ -0,0 +1,168 @@
+package webapp.bankingsystemapi.archive;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.model.ArchiveBoundary;
+import webapp.bankingsystemapi.repo.ArchiveBoundaryRepo;
+import webapp.bankingsystemapi.repo.AuditLogRepo;
+import webapp.bankingsystemapi.repo.TransactionRepo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Moves whole months of TRANSACTIONS and AUDIT_LOGS older than
+ * {@code banking.archive.hot-months} to TRANSACTIONS_ARCHIVE and AUDIT_LOGS_ARCHIVE, every
+ * {@code banking.archive.interval-millis} (0 months, the default, leaves everything hot).
+ *
+ * A month is copied and the table's boundary moved past it in one transaction, so
+ * searches read it from exactly one tier at any time. The copied rows are deleted from
+ * the hot table by a later run, once the boundary has been in place for two
+ * {@code banking.archive.refresh-millis}: by then every node's {@link ArchiveTiers} reads
+ * the month from the archive. On Oracle each month is one partition of both tables
+ * (db/oracle/monthly-partitions.sql), and the archive copy is stored compressed.
+ */
+@Slf4j
+@Component
+public class ColdPartitionArchiver {
+
+    private final ArchiveBoundaryRepo boundaryRepo;
+    private final ArchiveTiers archiveTiers;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ArchivedTable, Tier> tiers = new EnumMap<>(ArchivedTable.class);
+    private final TaskScheduler taskScheduler;
+    private final int hotMonths;
+    private final long intervalMillis;
+    private final long purgeDelayMillis;
+    private volatile ScheduledFuture<?> worker;
+
+    public ColdPartitionArchiver(TransactionRepo transactionRepo,
+                                 AuditLogRepo auditLogRepo,
+                                 ArchiveBoundaryRepo boundaryRepo,
+                                 ArchiveTiers archiveTiers,
+                                 PlatformTransactionManager transactionManager,
+                                 TaskScheduler taskScheduler,
+                                 @Value("${banking.archive.hot-months:0}") int hotMonths,
+                                 @Value("${banking.archive.interval-millis:86400000}") long intervalMillis,
+                                 @Value("${banking.archive.refresh-millis:60000}") long refreshMillis) {
+        this.boundaryRepo = boundaryRepo;
+        this.archiveTiers = archiveTiers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tiers.put(ArchivedTable.TRANSACTIONS, new Tier(transactionRepo::findFirstCreatedAt,
+                transactionRepo::copyToArchive, transactionRepo::deleteCreatedBefore));
+        this.tiers.put(ArchivedTable.AUDIT_LOGS, new Tier(auditLogRepo::findFirstCreatedAt,
+                auditLogRepo::copyToArchive, auditLogRepo::deleteCreatedBefore));
+        this.taskScheduler = taskScheduler;
+        this.hotMonths = Math.max(0, hotMonths);
+        this.intervalMillis = Math.max(1, intervalMillis);
+        this.purgeDelayMillis = 2 * Math.max(1, refreshMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (hotMonths > 0) {
+            Duration period = Duration.ofMillis(intervalMillis);
+            worker = taskScheduler.scheduleWithFixedDelay(this::runQuietly, Instant.now().plus(period), period);
+        }
+    }
+
+    /** Archives every month before {@code firstHotMonth}, oldest first; returns the months moved. */
+    public synchronized int archive(YearMonth firstHotMonth) {
+        LocalDateTime cutoff = firstHotMonth.atDay(1).atStartOfDay();
+        int moved = 0;
+        for (Map.Entry<ArchivedTable, Tier> entry : tiers.entrySet()) {
+            moved += archive(entry.getKey(), entry.getValue(), cutoff);
+        }
+        if (moved > 0) {
+            archiveTiers.refresh();
+        }
+        return moved;
+    }
+
+    /** Deletes the hot rows behind every boundary moved at or before {@code advancedBefore}. */
+    public synchronized int purge(LocalDateTime advancedBefore) {
+        int deleted = 0;
+        for (ArchiveBoundary boundary : boundaryRepo.findAll()) {
+            if (!boundary.getAdvancedAt().isAfter(advancedBefore)) {
+                Tier tier = tiers.get(boundary.getTableName());
+                Integer rows = transactionTemplate.execute(status -> tier.delete().apply(boundary.getArchivedBefore()));
+                deleted += rows == null ? 0 : rows;
+            }
+        }
+        return deleted;
+    }
+
+    private int archive(ArchivedTable table, Tier tier, LocalDateTime cutoff) {
+        LocalDateTime from = boundaryRepo.findById(table).map(ArchiveBoundary::getArchivedBefore).orElse(null);
+        boolean first = from == null;
+        if (first) {
+            LocalDateTime oldest = tier.firstCreatedAt().get();
+            if (oldest == null) {
+                return 0;
+            }
+            from = YearMonth.from(oldest).atDay(1).atStartOfDay();
+        }
+        int moved = 0;
+        while (from.isBefore(cutoff)) {
+            LocalDateTime month = from;
+            LocalDateTime next = from.plusMonths(1);
+            boolean created = first && moved == 0;
+            // The boundary row is locked first, so a node running the job at the same
+            // time copies nothing and rolls back.
+            Integer rows = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (created) {
+                    boundaryRepo.saveAndFlush(new ArchiveBoundary(table, next, now));
+                } else if (boundaryRepo.advance(table, month, next, now) != 1) {
+                    return null;
+                }
+                return tier.copy().apply(month, next);
+            });
+            if (rows == null) {
+                log.info("Archive boundary of {} moved by another node", table);
+                break;
+            }
+            log.info("Archived {} rows of {} from {}", rows, table, YearMonth.from(month));
+            moved++;
+            from = next;
+        }
+        return moved;
+    }
+
+    private void runQuietly() {
+        try {
+            purge(LocalDateTime.now().minus(purgeDelayMillis, ChronoUnit.MILLIS));
+            archive(YearMonth.now().minusMonths(hotMonths));
+        } catch (RuntimeException e) {
+            log.warn("Archival failed, will retry", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (worker != null) {
+            worker.cancel(false);
+        }
+    }
+
+    private record Tier(Supplier<LocalDateTime> firstCreatedAt,
+                        BiFunction<LocalDateTime, LocalDateTime, Integer> copy,
+                        Function<LocalDateTime, Integer> delete) {
+    }
+}
@@ -0,0 +1,10 @@
+package webapp.bankingsystemapi.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which tiers of a table a date range reaches. {@code archivedBefore} is null, and only
+ * the hot tier is read, while nothing has been archived.
+ */
+public record TierSplit(LocalDateTime archivedBefore, boolean hot, boolean archive) {
+}
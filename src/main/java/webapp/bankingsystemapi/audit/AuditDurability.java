@@ -0,0 +1,25 @@
+package webapp.bankingsystemapi.audit;
+
+/**
+ * When an audit row reaches AUDIT_LOGS, set with {@code banking.audit.durability}.
+ */
+public enum AuditDurability {
+
+    /** Inserted inside the caller's transaction; commits and rolls back with it. */
+    SAME_TRANSACTION,
+
+    /**
+     * Queued once the caller's transaction commits and written in batches by the background
+     * writer. When the queue stays full the caller writes the row itself, so nothing is lost.
+     */
+    AFTER_COMMIT,
+
+    /** Queued straight away; dropped (and counted) when the queue is full. */
+    FIRE_AND_FORGET,
+
+    /**
+     * Appended to the AUDIT_OUTBOX table in the caller's transaction (failures in their own,
+     * so they outlive a rollback) and relayed to AUDIT_LOGS in batches. See {@link AuditOutbox}.
+     */
+    OUTBOX
+}
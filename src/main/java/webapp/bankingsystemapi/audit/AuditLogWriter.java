@@ -0,0 +1,228 @@
+package webapp.bankingsystemapi.audit;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.DTO.admin.audit.AuditPipelineResponse;
+import webapp.bankingsystemapi.model.AuditLog;
+import webapp.bankingsystemapi.repo.AuditLogRepo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gets audit rows into AUDIT_LOGS according to {@code banking.audit.durability}.
+ *
+ * In the AFTER_COMMIT and FIRE_AND_FORGET modes rows go through a bounded queue that a
+ * single background thread drains, inserting up to {@code batch-size} rows per transaction
+ * as one JDBC batch. Rows audited from a read-only transaction, such as an admin search,
+ * are inserted in a transaction of their own on the primary. On shutdown the queue is drained before the persistence layer closes;
+ * rows submitted after that are written by the caller. OUTBOX rows are left to {@link AuditOutbox}.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private final AuditLogRepo repo;
+    private final AuditOutbox outbox;
+    private final TransactionTemplate requiresNew;
+    private final AuditDurability durability;
+    private final BlockingQueue<AuditLog> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final Thread worker;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean running = true;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong writtenByCaller = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public AuditLogWriter(AuditLogRepo repo,
+                          AuditOutbox outbox,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${banking.audit.durability:same-transaction}") AuditDurability durability,
+                          @Value("${banking.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${banking.audit.batch-size:100}") int batchSize,
+                          @Value("${banking.audit.offer-timeout-millis:50}") long offerTimeoutMillis,
+                          @Value("${banking.audit.shutdown-timeout-millis:30000}") long shutdownTimeoutMillis) {
+        this.repo = repo;
+        this.outbox = outbox;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.durability = durability;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+        this.shutdownTimeoutMillis = Math.max(0, shutdownTimeoutMillis);
+
+        if (durability == AuditDurability.SAME_TRANSACTION || durability == AuditDurability.OUTBOX) {
+            this.worker = null;
+        } else {
+            this.worker = new Thread(this::drainLoop, "audit-log-writer");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+    }
+
+    public void write(AuditLog auditLog) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && (durability == AuditDurability.SAME_TRANSACTION || durability == AuditDurability.OUTBOX)) {
+            // a read-only transaction never flushes the row, and may be reading the replica
+            writeAsCaller(auditLog);
+            return;
+        }
+        switch (durability) {
+            case SAME_TRANSACTION -> repo.save(auditLog);
+            case AFTER_COMMIT -> afterCommit(auditLog);
+            case OUTBOX -> outbox.append(auditLog);
+            case FIRE_AND_FORGET -> {
+                if (!running) {
+                    writeAsCaller(auditLog);
+                } else if (queue.offer(auditLog)) {
+                    if (!reclaimedAfterShutdown(auditLog)) {
+                        enqueued.incrementAndGet();
+                    }
+                } else {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public AuditPipelineResponse metrics() {
+        return AuditPipelineResponse.builder()
+                .durability(durability)
+                .queueDepth(queue.size())
+                .queueCapacity(queueCapacity)
+                .enqueued(enqueued.get())
+                .written(written.get())
+                .batches(batches.get())
+                .writtenByCaller(writtenByCaller.get())
+                .dropped(dropped.get())
+                .failed(failed.get())
+                .relayed(outbox.relayed())
+                .build();
+    }
+
+    // Rows of a rolled back transaction are discarded, exactly as an inline insert would be.
+    private void afterCommit(AuditLog auditLog) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueueOrWrite(auditLog);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueueOrWrite(auditLog);
+            }
+        });
+    }
+
+    // Backpressure: wait briefly for room, then fall back to writing on the caller's thread.
+    private void enqueueOrWrite(AuditLog auditLog) {
+        try {
+            if (running && queue.offer(auditLog, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                if (!reclaimedAfterShutdown(auditLog)) {
+                    enqueued.incrementAndGet();
+                }
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writeAsCaller(auditLog);
+    }
+
+    // An offer can pass the running check just as shutdown begins and land after the worker
+    // has found the queue empty and stopped. Checked again after the offer, the row is then
+    // either still queued, and written here, or already taken by the worker, which writes it.
+    private boolean reclaimedAfterShutdown(AuditLog auditLog) {
+        if (running || !queue.remove(auditLog)) {
+            return false;
+        }
+        writeAsCaller(auditLog);
+        return true;
+    }
+
+    private void writeAsCaller(AuditLog auditLog) {
+        requiresNew.executeWithoutResult(status -> repo.save(auditLog));
+        writtenByCaller.incrementAndGet();
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                repo.saveAll(batch);
+            });
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException batchFailure) {
+            // one bad row must not take the rest of the batch with it
+            for (AuditLog auditLog : batch) {
+                auditLog.setId(null);
+                try {
+                    requiresNew.executeWithoutResult(status -> repo.save(auditLog));
+                    written.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    failed.incrementAndGet();
+                    log.error("Could not write audit log {} {}", auditLog.getAudit(), auditLog.getDescription(), ex);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(shutdownTimeoutMillis);
+            if (worker.isAlive()) {
+                log.warn("Audit log writer did not drain within {} ms, {} rows left", shutdownTimeoutMillis, queue.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package webapp.bankingsystemapi.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.enums.AuditStatus;
+import webapp.bankingsystemapi.model.AuditLog;
+import webapp.bankingsystemapi.model.AuditOutboxEvent;
+import webapp.bankingsystemapi.repo.AuditLogRepo;
+import webapp.bankingsystemapi.repo.AuditOutboxRepo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox behind {@link AuditDurability#OUTBOX}.
+ *
+ * Successful events are appended to AUDIT_OUTBOX in the caller's transaction, so they
+ * commit or vanish with it. Failure events are appended in a transaction of their own,
+ * so the record of a failed posting survives the posting's rollback. A relay thread moves
+ * events into AUDIT_LOGS in batches, deleting them from the outbox in the same transaction.
+ */
+@Slf4j
+@Component
+public class AuditOutbox {
+
+    private final AuditOutboxRepo outboxRepo;
+    private final AuditLogRepo auditLogRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate requiresNew;
+    private final int batchSize;
+    private final long pollMillis;
+    private final Thread relay;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Object wakeUp = new Object();
+    private volatile boolean running = true;
+    private final AtomicLong relayed = new AtomicLong();
+
+    public AuditOutbox(AuditOutboxRepo outboxRepo,
+                       AuditLogRepo auditLogRepo,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${banking.audit.durability:same-transaction}") AuditDurability durability,
+                       @Value("${banking.audit.batch-size:100}") int batchSize,
+                       @Value("${banking.audit.outbox.poll-millis:200}") long pollMillis) {
+        this.outboxRepo = outboxRepo;
+        this.auditLogRepo = auditLogRepo;
+        this.objectMapper = objectMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.pollMillis = Math.max(1, pollMillis);
+
+        if (durability == AuditDurability.OUTBOX) {
+            this.relay = new Thread(this::relayLoop, "audit-outbox-relay");
+            this.relay.setDaemon(true);
+            this.relay.start();
+        } else {
+            this.relay = null;
+        }
+    }
+
+    public void append(AuditLog auditLog) {
+        AuditOutboxEvent event = AuditOutboxEvent.builder()
+                .payload(toJson(auditLog))
+                .build();
+        if (auditLog.getStatus() == AuditStatus.FAILED) {
+            requiresNew.executeWithoutResult(status -> outboxRepo.save(event));
+        } else {
+            outboxRepo.save(event);
+        }
+    }
+
+    public long relayed() {
+        return relayed.get();
+    }
+
+    /** Moves one batch of events to AUDIT_LOGS and returns how many it took. */
+    int relayBatch() {
+        Integer moved = requiresNew.execute(status -> {
+            List<AuditOutboxEvent> events = outboxRepo.lockOldest(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<AuditLog> logs = new ArrayList<>(events.size());
+            for (AuditOutboxEvent event : events) {
+                AuditLog auditLog = fromJson(event);
+                if (auditLog != null) {
+                    logs.add(auditLog);
+                }
+            }
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            auditLogRepo.saveAll(logs);
+            outboxRepo.deleteAllInBatch(events);
+            return events.size();
+        });
+        relayed.addAndGet(moved == null ? 0 : moved);
+        return moved == null ? 0 : moved;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                synchronized (wakeUp) {
+                    if (running) {
+                        wakeUp.wait(pollMillis);
+                    }
+                }
+                while (running && relayBatch() == batchSize) {
+                    // keep going while the outbox has a backlog
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Audit outbox relay failed, retrying in {} ms", pollMillis, ex);
+            }
+        }
+    }
+
+    private String toJson(AuditLog auditLog) {
+        try {
+            return objectMapper.writeValueAsString(auditLog);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize audit event", ex);
+        }
+    }
+
+    // An unreadable event is logged in full and dropped rather than blocking the outbox.
+    private AuditLog fromJson(AuditOutboxEvent event) {
+        try {
+            AuditLog auditLog = objectMapper.readValue(event.getPayload(), AuditLog.class);
+            auditLog.setId(null);
+            return auditLog;
+        } catch (JsonProcessingException ex) {
+            log.error("Dropping unreadable audit outbox event {}: {}", event.getId(), event.getPayload(), ex);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (relay == null) {
+            return;
+        }
+        synchronized (wakeUp) {
+            running = false;
+            wakeUp.notifyAll();
+        }
+        relay.join();
+        while (relayBatch() > 0) {
+            // drain what the posting path committed before shutdown
+        }
+    }
+}
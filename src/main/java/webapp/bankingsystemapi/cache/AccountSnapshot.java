@@ -0,0 +1,39 @@
+package webapp.bankingsystemapi.cache;
+
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the account read endpoints show, copied out of a committed {@link Account}.
+ * {@code version} is the account's optimistic-locking version, so of two snapshots of
+ * one account the newer one is always known.
+ */
+public record AccountSnapshot(Long id,
+                              String accountNumber,
+                              AccountType type,
+                              AccountStatus status,
+                              long balance,
+                              long version,
+                              LocalDateTime createdAt,
+                              Long userId,
+                              String ownerEmail) {
+
+    // The owner is passed in so a snapshot can be taken outside the session that loaded the account.
+    public static AccountSnapshot of(Account account, User owner) {
+        return new AccountSnapshot(account.getId(), account.getAccountNumber(), account.getType(),
+                account.getStatus(), account.getBalance(), version(account), account.getCreatedAt(),
+                owner.getId(), owner.getEmail());
+    }
+
+    AccountSnapshot withBalance(long balance, long version) {
+        return new AccountSnapshot(id, accountNumber, type, status, balance, version, createdAt, userId, ownerEmail);
+    }
+
+    static long version(Account account) {
+        return account.getVersion() == null ? 0 : account.getVersion();
+    }
+}
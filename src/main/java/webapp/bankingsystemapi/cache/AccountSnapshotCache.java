@@ -0,0 +1,293 @@
+package webapp.bankingsystemapi.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import webapp.bankingsystemapi.DTO.admin.account.AccountCacheResponse;
+import webapp.bankingsystemapi.model.Account;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Account snapshots for the read endpoints ({@code /api/account/user} and
+ * {@code /api/account/number/{accountNumber}}), so clients polling a balance do not
+ * reach the database.
+ *
+ * Postings write their new balances through once their transaction commits, never
+ * before, so readers only see committed balances. A snapshot is only replaced by one
+ * with a higher account version, so hooks that run out of order cannot go backwards.
+ * A miss is filled from the database unless a posting to the same account committed
+ * while that read was in flight, as the read may predate it. At most
+ * {@code banking.account-cache.max-size} accounts are kept (0 turns the cache off): a hit
+ * only stamps its entry, and the caller that takes the cache over its size drops the
+ * least recently stamped entries plus a sixteenth of headroom, so eviction is LRU as of
+ * that sweep and reads never wait on each other or on postings. Snapshots are re-read after
+ * {@code banking.account-cache.ttl-millis}, which bounds how long a change made on
+ * another node stays unseen.
+ */
+@Component
+public class AccountSnapshotCache {
+
+    private static final int STRIPES = 1024;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, Entry> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Owned> owners = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweepingAccounts = new AtomicBoolean();
+    private final AtomicBoolean sweepingOwners = new AtomicBoolean();
+    // writeCount as of the last write to any key hashing to the stripe
+    private final AtomicLongArray lastWrite = new AtomicLongArray(STRIPES);
+    private final AtomicLong writeCount = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejectedFills = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AccountSnapshotCache(@Value("${banking.account-cache.max-size:10000}") int maxSize,
+                                @Value("${banking.account-cache.ttl-millis:5000}") long ttlMillis) {
+        this.maxSize = Math.max(0, maxSize);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /** Taken before a database read whose result is then handed to {@link #fill}. */
+    public long readToken() {
+        return writeCount.get();
+    }
+
+    public AccountSnapshot get(String accountNumber) {
+        AccountSnapshot snapshot = current(accountNumber);
+        if (snapshot == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return snapshot;
+    }
+
+    /** The owner's accounts, or null unless the list and every account in it are cached. */
+    public List<AccountSnapshot> getOwned(String email) {
+        Owned owned = owners.get(email);
+        if (owned == null || expired(owned.loadedAt)) {
+            misses.increment();
+            return null;
+        }
+        owned.used();
+        List<AccountSnapshot> snapshots = new ArrayList<>(owned.accountNumbers.size());
+        for (String accountNumber : owned.accountNumbers) {
+            AccountSnapshot snapshot = current(accountNumber);
+            if (snapshot == null) {
+                misses.increment();
+                return null;
+            }
+            snapshots.add(snapshot);
+        }
+        hits.increment();
+        return snapshots;
+    }
+
+    /** Caches a snapshot read from the database after {@code token} was taken. */
+    public void fill(AccountSnapshot snapshot, long token) {
+        if (maxSize == 0) {
+            return;
+        }
+        // checked inside compute, which a posting's write to the same key also holds while it moves the stripe
+        accounts.compute(snapshot.accountNumber(), (accountNumber, cached) -> {
+            if (lastWrite.get(stripe(accountNumber)) > token) {
+                rejectedFills.increment();
+                return cached;
+            }
+            return cached == null || cached.snapshot.version() <= snapshot.version()
+                    ? new Entry(snapshot, System.currentTimeMillis())
+                    : cached;
+        });
+        sweep(accounts, sweepingAccounts, evictions);
+    }
+
+    public void fillOwned(String email, List<AccountSnapshot> snapshots, long token) {
+        if (maxSize == 0) {
+            return;
+        }
+        List<String> accountNumbers = new ArrayList<>(snapshots.size());
+        for (AccountSnapshot snapshot : snapshots) {
+            fill(snapshot, token);
+            accountNumbers.add(snapshot.accountNumber());
+        }
+        Owned fresh = new Owned(List.copyOf(accountNumbers), System.currentTimeMillis());
+        owners.compute(email, (owner, cached) -> {
+            if (lastWrite.get(stripe(owner)) > token) {
+                rejectedFills.increment();
+                return cached;
+            }
+            return fresh;
+        });
+        sweep(owners, sweepingOwners, null);
+    }
+
+    /** Writes the accounts' balances through once the surrounding transaction commits. */
+    public void posted(Collection<Account> changed) {
+        List<Account> posted = List.copyOf(changed);
+        afterCommit(() -> {
+            for (Account account : posted) {
+                write(account.getAccountNumber(), account.getBalance(), AccountSnapshot.version(account));
+            }
+        });
+    }
+
+    /** Drops the account, e.g. after its status changed; again once the transaction commits. */
+    public void evict(String accountNumber) {
+        Runnable evict = () -> accounts.compute(accountNumber, (key, cached) -> {
+            touch(key);
+            return null;
+        });
+        evict.run();
+        afterCommit(evict);
+    }
+
+    /** Drops the owner's account list, e.g. after an account was opened for them. */
+    public void evictOwner(String email) {
+        Runnable evict = () -> owners.compute(email, (key, cached) -> {
+            touch(key);
+            return null;
+        });
+        evict.run();
+        afterCommit(evict);
+    }
+
+    public AccountCacheResponse metrics() {
+        return AccountCacheResponse.builder()
+                .size(accounts.size())
+                .maxSize(maxSize)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .writes(writeCount.get())
+                .rejectedFills(rejectedFills.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    private void write(String accountNumber, long balance, long version) {
+        accounts.compute(accountNumber, (key, cached) -> {
+            touch(key);
+            if (cached != null && cached.snapshot.version() < version) {
+                // the posting read the row under its lock or version check, so this is as fresh as a database read
+                return new Entry(cached.snapshot.withBalance(balance, version), System.currentTimeMillis());
+            }
+            return cached;
+        });
+    }
+
+    private AccountSnapshot current(String accountNumber) {
+        Entry entry = accounts.get(accountNumber);
+        if (entry == null) {
+            return null;
+        }
+        if (expired(entry.loadedAt)) {
+            accounts.remove(accountNumber, entry);
+            return null;
+        }
+        entry.used();
+        return entry.snapshot;
+    }
+
+    /**
+     * Once {@code slots} is over the size, drops its least recently used entries down to
+     * fifteen sixteenths of it. One caller sweeps at a time; the others carry on, so the
+     * size can run a little over while a sweep is in flight.
+     */
+    private <S extends Slot> void sweep(Map<String, S> slots, AtomicBoolean sweeping, LongAdder evicted) {
+        if (slots.size() <= maxSize || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = slots.size() - (maxSize - maxSize / 16);
+            if (excess <= 0) {
+                return;
+            }
+            // stamps are copied first so a hit during the sort cannot reorder it
+            List<Candidate<S>> candidates = new ArrayList<>(slots.size());
+            slots.forEach((key, slot) -> candidates.add(new Candidate<>(key, slot, slot.lastUsed)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastUsed));
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                Candidate<S> candidate = candidates.get(i);
+                // a slot replaced since the copy is fresh and stays
+                if (slots.remove(candidate.key, candidate.slot) && evicted != null) {
+                    evicted.increment();
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void touch(String key) {
+        long write = writeCount.incrementAndGet();
+        lastWrite.accumulateAndGet(stripe(key), write, Math::max);
+    }
+
+    private boolean expired(long loadedAt) {
+        return ttlMillis > 0 && System.currentTimeMillis() - loadedAt >= ttlMillis;
+    }
+
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** A cached value with the time it was last read, which a hit updates in place. */
+    private abstract static class Slot {
+
+        volatile long lastUsed = System.nanoTime();
+
+        void used() {
+            lastUsed = System.nanoTime();
+        }
+    }
+
+    private static final class Entry extends Slot {
+
+        final AccountSnapshot snapshot;
+        final long loadedAt;
+
+        Entry(AccountSnapshot snapshot, long loadedAt) {
+            this.snapshot = snapshot;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Owned extends Slot {
+
+        final List<String> accountNumbers;
+        final long loadedAt;
+
+        Owned(List<String> accountNumbers, long loadedAt) {
+            this.accountNumbers = accountNumbers;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private record Candidate<S>(String key, S slot, long lastUsed) {}
+}
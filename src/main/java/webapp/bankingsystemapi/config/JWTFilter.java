@@ -4,16 +4,21 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import webapp.bankingsystemapi.repo.UserRepo;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -21,6 +26,9 @@ public class JWTFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final JWTTokenCache tokenCache;
+    private final UserSecurityVersions securityVersions;
+    private final UserRepo userRepo;
 
     @Override
     protected void doFilterInternal(
@@ -31,44 +39,75 @@ public class JWTFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
         String token = null;
-        String username = null;
+        JWTTokenCache.CachedToken verified = null;
 
-        // 1️ Check Authorization Header
+        // 1️ Check Authorization Header, a token verified before is served from the cache
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(token);
-            } catch (Exception ex) {                 // Invalid / expired / malformed JWT
+            verified = tokenCache.get(token);
+            if (verified == null) {
+                Claims claims;
+                try {
+                    claims = jwtUtil.parseClaims(token);
+                } catch (Exception ex) {                 // Invalid / expired / malformed JWT
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.getWriter().write("Invalid or expired JWT token");
+                    return; //stop filter chain
+                }
+                verified = verify(token, claims);
+            }
+
+            // Suspended users and reset passwords raise the version and revoke older tokens
+            if (!isCurrent(verified.principal().getUsername(), verified.securityVersion())) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("Invalid or expired JWT token");
-                return; //stop filter chain
+                response.getWriter().write("JWT token has been revoked");
+                return;
             }
         }
 
-        // 2️ Validate token & authenticate user
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            UserDetails userDetails =
-                    userDetailsService.loadUserByUsername(username);
+        // 2️ Authenticate user; signature and expiry were checked by the parse above
+        if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            if (jwtUtil.validateToken(token, userDetails)) {
+            UserDetails userDetails = verified.principal();
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
 
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
 
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         // 3️ Continue filter chain
         filterChain.doFilter(request, response);
     }
+
+    // The in-memory versions decide unless they never loaded or stopped refreshing; then the user's row does.
+    private boolean isCurrent(String email, long tokenVersion) {
+        if (securityVersions.isFresh()) {
+            return securityVersions.isCurrent(email, tokenVersion);
+        }
+        return userRepo.findSecurityVersionByEmail(email)
+                .map(current -> tokenVersion >= current)
+                .orElse(false);
+    }
+
+    // Tokens carrying a role claim need no USERS lookup; older tokens without one still load the user.
+    private JWTTokenCache.CachedToken verify(String token, Claims claims) {
+        String role = claims.get(JWTUtil.ROLE_CLAIM, String.class);
+        Number securityVersion = claims.get(JWTUtil.SECURITY_VERSION_CLAIM, Number.class);
+
+        UserDetails userDetails = role != null
+                ? new User(claims.getSubject(), "", List.of(new SimpleGrantedAuthority("ROLE_" + role)))
+                : userDetailsService.loadUserByUsername(claims.getSubject());
+        long version = securityVersion != null ? securityVersion.longValue() : 0;
+
+        tokenCache.put(token, userDetails, version, claims.getExpiration());
+        return new JWTTokenCache.CachedToken(userDetails, version);
+    }
 }
@@ -0,0 +1,81 @@
+package webapp.bankingsystemapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verified JWTs mapped to the principal and security version they carry, so a repeat
+ * request with the same token skips the signature check.
+ *
+ * Entries expire with their token. The cache holds at most {@code jwt.cache.max-size}
+ * tokens (0 turns it off); when full, expired entries are swept and new tokens are not
+ * cached until there is room. Changes to a user evict every token of that user.
+ */
+@Component
+public class JWTTokenCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public JWTTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    public CachedToken get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.token;
+    }
+
+    public void put(String token, UserDetails principal, long securityVersion, Date expiration) {
+        if (maxSize == 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(token, new Entry(new CachedToken(principal, securityVersion), expiration.getTime()));
+    }
+
+    /**
+     * Drops every cached token of the user, right away and again after the surrounding
+     * transaction commits, so a request racing the change cannot re-cache the old state.
+     */
+    public void evictUser(String username) {
+        Runnable evict = () -> entries.values().removeIf(entry -> entry.token.principal().getUsername().equals(username));
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public record CachedToken(UserDetails principal, long securityVersion) {}
+
+    private record Entry(CachedToken token, long expiresAt) {}
+}
@@ -1,23 +1,26 @@
 package webapp.bankingsystemapi.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import webapp.bankingsystemapi.enums.Role;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 
 @Component
 public class JWTUtil {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String SECURITY_VERSION_CLAIM = "sv";
+
 //    private String secretKey ="";
 
 
@@ -27,14 +30,22 @@ public class JWTUtil {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    // Decoding the secret and building the parser once instead of on every call.
+    private volatile SecretKey key;
+    private volatile JwtParser parser;
+
 
 //    private long JWT_EXPIRATION = 1000L * 60 * 60 ; // 1 hour
 
 
-    public String generateToken(String username) {
+    // Role and security version ride along so JWTFilter can authenticate without reading USERS.
+    public String generateToken(String username, Role role, long securityVersion) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLE_CLAIM, role.name());
+        claims.put(SECURITY_VERSION_CLAIM, securityVersion);
 
         return Jwts.builder()
+                .claims(claims)
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
@@ -44,42 +55,30 @@ public class JWTUtil {
 
     }
     private SecretKey getKey(){
+        if (key == null) {
 //            byte[] keyBytes = secretKey.getBytes();
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            key = Keys.hmacShaKeyFor(keyBytes);
+        }
+        return key;
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private JwtParser getParser() {
+        if (parser == null) {
+            parser = Jwts.parser()
+                    .verifyWith(getKey())
+                    .build();
+        }
+        return parser;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
+    /**
+     * Verifies signature and expiry in a single parse; throws if the token is invalid,
+     * malformed or expired.
+     */
+    public Claims parseClaims(String token) {
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
-
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName= extractUsername(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-
-
-
 }
@@ -0,0 +1,70 @@
+package webapp.bankingsystemapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+import webapp.bankingsystemapi.datasource.ReplicaLagMonitor;
+import webapp.bankingsystemapi.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Read-replica mode, on when {@code banking.datasource.replica.url} is set. The primary
+ * pool is still configured through {@code spring.datasource.*}, the replica pool through
+ * {@code banking.datasource.replica.*} (pool settings under {@code .hikari}), and
+ * read-only transactions are routed between them by {@link ReplicaRoutingDataSource}.
+ * Without the property Spring Boot's single pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty("banking.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("banking.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${banking.datasource.replica.url}") String url,
+                                              @Value("${banking.datasource.replica.username:}") String username,
+                                              @Value("${banking.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               TaskScheduler taskScheduler,
+                                               @Value("${banking.datasource.replica.heartbeat-millis:1000}") long heartbeatMillis,
+                                               @Value("${banking.datasource.replica.max-lag-millis:5000}") long maxLagMillis,
+                                               @Value("${banking.datasource.replica.recent-posters:10000}") int recentPosters) {
+        return new ReplicaLagMonitor(primary, replica, taskScheduler, heartbeatMillis, maxLagMillis, recentPosters);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor));
+    }
+}
@@ -0,0 +1,26 @@
+package webapp.bankingsystemapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * The one scheduler behind every background job (rollup flushes, reconciles, purges,
+ * heartbeats). Jobs start from {@code ApplicationReadyEvent}, never while the context is
+ * being built, and are cancelled when their bean is destroyed.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${banking.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("banking-jobs-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,120 @@
+package webapp.bankingsystemapi.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import webapp.bankingsystemapi.DTO.user.UserSecurityVersionView;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory table of user security versions, used to reject JWTs without loading the user.
+ *
+ * A token is current while its {@code sv} claim is not below the version known here.
+ * Only users whose version was ever raised are tracked; everyone else is at 0. Changes
+ * made on this node apply as soon as they commit, changes made on other nodes once the
+ * next refresh picks them up, so a suspension takes effect everywhere within
+ * {@code jwt.revocation.refresh-millis}. The first refresh runs once the application is
+ * ready.
+ *
+ * The table is only trusted once a refresh has succeeded and while the last successful
+ * one is no older than a few refresh intervals; until then {@link #isFresh()} is false and
+ * callers check the user's row instead.
+ */
+@Slf4j
+@Component
+public class UserSecurityVersions {
+
+    // Re-reads a little history each refresh, so rows stamped by a node whose clock is behind are not missed.
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+    // Refreshes that may fail in a row before the table stops being trusted.
+    private static final int STALE_AFTER_REFRESHES = 3;
+
+    private final UserRepo userRepo;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final TaskScheduler taskScheduler;
+    private final long refreshMillis;
+    private final long staleAfterNanos;
+    private volatile ScheduledFuture<?> refresher;
+    private volatile LocalDateTime lastRefresh;
+    private volatile long refreshedAtNanos;
+
+    public UserSecurityVersions(UserRepo userRepo,
+                                TaskScheduler taskScheduler,
+                                @Value("${jwt.revocation.refresh-millis:5000}") long refreshMillis) {
+        this.userRepo = userRepo;
+        this.taskScheduler = taskScheduler;
+        this.refreshMillis = Math.max(1, refreshMillis);
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(STALE_AFTER_REFRESHES * this.refreshMillis);
+    }
+
+    // Loads the table before startup completes; requests served earlier are checked against USERS.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh();
+        Duration period = Duration.ofMillis(refreshMillis);
+        refresher = taskScheduler.scheduleWithFixedDelay(this::refresh, Instant.now().plus(period), period);
+    }
+
+    /** Whether a refresh has succeeded recently enough for {@link #isCurrent} to be trusted. */
+    public boolean isFresh() {
+        return lastRefresh != null && System.nanoTime() - refreshedAtNanos <= staleAfterNanos;
+    }
+
+    public boolean isCurrent(String email, long tokenVersion) {
+        Long current = versions.get(email);
+        return current == null || tokenVersion >= current;
+    }
+
+    /** Records a version raised on this node, once the surrounding transaction (if any) commits. */
+    public void update(String email, long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.merge(email, version, Math::max);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.merge(email, version, Math::max);
+            }
+        });
+    }
+
+    void refresh() {
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long startedAtNanos = System.nanoTime();
+            List<UserSecurityVersionView> changed = lastRefresh == null
+                    ? userRepo.findRaisedSecurityVersions()
+                    : userRepo.findSecurityVersionsChangedSince(lastRefresh.minus(OVERLAP));
+            for (UserSecurityVersionView user : changed) {
+                versions.merge(user.getEmail(), user.getSecurityVersion(), Math::max);
+            }
+            refreshedAtNanos = startedAtNanos;
+            lastRefresh = startedAt;
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh user security versions, keeping the current table", ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refresher != null) {
+            refresher.cancel(false);
+        }
+    }
+}
@@ -7,12 +7,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import webapp.bankingsystemapi.DTO.transaction.*;
+import webapp.bankingsystemapi.export.StatementExportFormat;
 import webapp.bankingsystemapi.service.TransactionService;
 
 import java.util.List;
@@ -21,35 +25,66 @@ import java.util.List;
 @RequestMapping("/api/transaction")
 @RequiredArgsConstructor
 public class TransactionController {
+    // Retries carrying the same key get the first response back instead of a second posting
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final TransactionService service;
 
     @PostMapping("/deposit")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<TransactionResponse> deposit(
-            @Valid @RequestBody DepositRequest request, Authentication authentication) {
+            @Valid @RequestBody DepositRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Authentication authentication) {
         String email = authentication.getName();
 
-        TransactionResponse response = service.deposit(request, email);
+        TransactionResponse response = service.deposit(request, email, idempotencyKey);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @PostMapping("/withdraw")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<TransactionResponse> withdraw(
-            @Valid @RequestBody WithdrawRequest request, Authentication authentication) {
+            @Valid @RequestBody WithdrawRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Authentication authentication) {
 
         String email = authentication.getName();
-        TransactionResponse response = service.withdraw(request, email);
+        TransactionResponse response = service.withdraw(request, email, idempotencyKey);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @PostMapping("/transfer")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<TransferResponse> transfer(
-            @Valid @RequestBody TransferRequest request,Authentication authentication) {
+            @Valid @RequestBody TransferRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Authentication authentication) {
+
+        String email = authentication.getName();
+        TransferResponse response = service.transfer(request, email, idempotencyKey);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    // Many postings in one call; each item gets its own result, failed items don't stop the rest.
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<BatchPostingResponse> postBatch(
+            @Valid @RequestBody BatchPostingRequest request, Authentication authentication) {
 
         String email = authentication.getName();
-        TransferResponse response = service.transfer(request, email);
+        BatchPostingResponse response = service.postBatch(request, email);
+        return ResponseEntity.ok(response);
+    }
+
+    // Several legs (transfer plus fee, split payment) committed together; debits must equal credits.
+    @PostMapping("/journal")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<JournalResponse> postJournal(
+            @Valid @RequestBody JournalRequest request, Authentication authentication) {
+
+        String email = authentication.getName();
+        JournalResponse response = service.postJournal(request, email);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -71,6 +106,41 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
+    // Cursor-paged statement: cost per page stays flat however deep the client scrolls.
+    @PostMapping("/statement/keyset")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StatementPageResponse> getStatementPage(
+            @Valid @RequestBody StatementRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        String email = authentication.getName();
+
+        return ResponseEntity.ok(service.getStatementPage(request, cursor, size, email));
+    }
+
+    // Whole statement in one response, streamed row by row (format=csv or ndjson).
+    @PostMapping("/statement/export")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @Valid @RequestBody StatementRequest request,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication authentication
+    ) {
+        String email = authentication.getName();
+        StatementExportFormat exportFormat = StatementExportFormat.from(format);
+
+        StreamingResponseBody body = service.exportStatement(request, exportFormat, email);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statement-" + request.getAccountNumber() + "." + exportFormat.extension())
+                        .build().toString())
+                .body(body);
+    }
+
 
 
 
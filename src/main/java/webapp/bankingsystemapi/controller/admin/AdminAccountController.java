@@ -10,9 +10,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import webapp.bankingsystemapi.DTO.account.AccountCreateRequest;
 import webapp.bankingsystemapi.DTO.account.AccountView;
+import webapp.bankingsystemapi.DTO.admin.account.AccountCacheResponse;
 import webapp.bankingsystemapi.DTO.admin.account.AccountUpdateRequest;
 import webapp.bankingsystemapi.DTO.admin.account.AdminAccountFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.account.AdminAccountResponse;
+import webapp.bankingsystemapi.DTO.admin.account.LedgerBalanceResponse;
 import webapp.bankingsystemapi.service.AccountService;
 import java.util.List;
 
@@ -29,6 +31,18 @@ public class AdminAccountController {
         return ResponseEntity.ok(service.getAccountById(accountId));
     }
 
+    // Stored balance against the balance derived from the account's journal postings
+    @GetMapping("/ledger/{accountNumber}")
+    public ResponseEntity<LedgerBalanceResponse> getLedgerBalance(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(service.getLedgerBalance(accountNumber));
+    }
+
+    // Hit/miss counts of this node's account snapshot cache
+    @GetMapping("/cache")
+    public ResponseEntity<AccountCacheResponse> getCacheMetrics() {
+        return ResponseEntity.ok(service.getCacheMetrics());
+    }
+
     @PostMapping("/filter")
     public ResponseEntity<Page<AdminAccountResponse>> filterAccounts(@RequestBody AdminAccountFilterRequest request, Pageable pageable) {
         return ResponseEntity.ok(service.filterAccounts(request, pageable));
@@ -44,6 +58,11 @@ public class AdminAccountController {
         return new ResponseEntity<>(service.createAccount(request, email), HttpStatus.CREATED);
     }
 
+    @PostMapping("/createAccounts")
+    public ResponseEntity<List<AccountView>> createAccountsByEmail(@Valid @RequestBody List<@Valid AccountCreateRequest> requests, @RequestParam String email){
+        return new ResponseEntity<>(service.createAccounts(requests, email), HttpStatus.CREATED);
+    }
+
     @GetMapping
     public ResponseEntity<Page<AdminAccountResponse>> getAllAccounts(Pageable pageable) {
         return ResponseEntity.ok(service.getAllAccounts(pageable));
@@ -11,6 +11,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import webapp.bankingsystemapi.DTO.admin.audit.AuditFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.audit.AuditLogResponse;
+import webapp.bankingsystemapi.DTO.admin.audit.AuditPipelineResponse;
 import webapp.bankingsystemapi.service.AuditService;
 
 @RestController
@@ -42,6 +43,11 @@ public class AdminAuditController {
     ){
             return ResponseEntity.ok(auditService.filterAudits(request, pageable));
     }
+
+    @GetMapping("/pipeline")
+    public ResponseEntity<AuditPipelineResponse> getPipelineMetrics() {
+        return ResponseEntity.ok(auditService.getPipelineMetrics());
+    }
 }
 
 
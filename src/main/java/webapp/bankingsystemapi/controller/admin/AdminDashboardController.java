@@ -5,10 +5,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import webapp.bankingsystemapi.DTO.admin.ReplicaStatusResponse;
 import webapp.bankingsystemapi.DTO.admin.SystemOverviewResponse;
+import webapp.bankingsystemapi.DTO.admin.transaction.DailyTransactionStatsResponse;
 import webapp.bankingsystemapi.service.AdminAggregateService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin/dashboard")
 @RequiredArgsConstructor
@@ -21,5 +26,16 @@ public class AdminDashboardController {
     public ResponseEntity<SystemOverviewResponse> dashboard() {
         return ResponseEntity.ok(adminAggregateService.getSystemOverview());
     }
+
+    @GetMapping("/transactions/daily")
+    public ResponseEntity<List<DailyTransactionStatsResponse>> dailyTransactionStats(
+            @RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(adminAggregateService.getDailyTransactionStats(days));
+    }
+
+    @GetMapping("/replica")
+    public ResponseEntity<ReplicaStatusResponse> replicaStatus() {
+        return ResponseEntity.ok(adminAggregateService.getReplicaStatus());
+    }
 }
 
@@ -0,0 +1,7 @@
+package webapp.bankingsystemapi.datasource;
+
+/** Where {@link ReplicaRoutingDataSource} sends a connection request. */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,196 @@
+package webapp.bankingsystemapi.datasource;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import webapp.bankingsystemapi.DTO.admin.ReplicaStatusResponse;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a read-only transaction may read from the replica.
+ *
+ * Every {@code banking.datasource.replica.heartbeat-millis} a background job stamps
+ * REPLICA_HEARTBEAT on the primary with the current time and reads the row back from the
+ * replica; the value found there is the point up to which the replica has every commit.
+ * Reads go to the primary while the replica is unreachable or further behind than
+ * {@code banking.datasource.replica.max-lag-millis}. Balances are also read back by the
+ * people who just moved them, so a caller whose own posting committed after that point
+ * reads from the primary until the replica has caught up with it. The last posting of up
+ * to {@code banking.datasource.replica.recent-posters} callers is remembered, least
+ * recently posting first to go. Lag is measured across node clocks, which are assumed
+ * to be kept in sync.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final long HEARTBEAT_ID = 1L;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final TaskScheduler taskScheduler;
+    private final long heartbeatMillis;
+    private final long maxLagMillis;
+    // caller -> when their last posting committed, epoch millis
+    private final Map<String, Long> lastPostings;
+    private volatile ScheduledFuture<?> worker;
+
+    // Every commit made on the primary before this instant is on the replica
+    private volatile long replicatedUpTo;
+    private volatile boolean available;
+
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong lagRedirects = new AtomicLong();
+    private final AtomicLong ownPostingRedirects = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaLagMonitor(DataSource primary,
+                             DataSource replica,
+                             TaskScheduler taskScheduler,
+                             long heartbeatMillis,
+                             long maxLagMillis,
+                             int recentPosters) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.taskScheduler = taskScheduler;
+        this.heartbeatMillis = Math.max(1, heartbeatMillis);
+        this.maxLagMillis = Math.max(0, maxLagMillis);
+        int maxPosters = Math.max(1, recentPosters);
+        this.lastPostings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxPosters;
+            }
+        };
+    }
+
+    // Reads stay on the primary until the first beat, one period after startup.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Duration period = Duration.ofMillis(heartbeatMillis);
+        worker = taskScheduler.scheduleWithFixedDelay(this::beat, Instant.now().plus(period), period);
+    }
+
+    /** The route for a read-only transaction of the current caller. */
+    public DataSourceRoute route() {
+        long upTo = replicatedUpTo;
+        if (!available || System.currentTimeMillis() - upTo > maxLagMillis) {
+            lagRedirects.incrementAndGet();
+            return DataSourceRoute.PRIMARY;
+        }
+        String caller = caller();
+        if (caller != null) {
+            Long posted;
+            synchronized (lastPostings) {
+                posted = lastPostings.get(caller);
+            }
+            // equal millis may still predate the commit, so only a later beat counts
+            if (posted != null && posted >= upTo) {
+                ownPostingRedirects.incrementAndGet();
+                return DataSourceRoute.PRIMARY;
+            }
+        }
+        return DataSourceRoute.REPLICA;
+    }
+
+    /** Remembers that the caller posted, once the surrounding transaction commits. */
+    public void posted() {
+        String caller = caller();
+        if (caller == null) {
+            return;
+        }
+        Runnable record = () -> {
+            synchronized (lastPostings) {
+                lastPostings.put(caller, System.currentTimeMillis());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record.run();
+            }
+        });
+    }
+
+    void replicaConnected() {
+        replicaReads.incrementAndGet();
+    }
+
+    // Out of rotation until the next heartbeat reaches the replica again.
+    void replicaFailed(Exception ex) {
+        fallbacks.incrementAndGet();
+        if (available) {
+            log.warn("Replica refused a connection, reads go to the primary", ex);
+        }
+        available = false;
+    }
+
+    /** Stamps the heartbeat on the primary and reads back how far the replica has got. */
+    public void beat() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("update REPLICA_HEARTBEAT set BEAT_MILLIS = ? where ID = ?", now, HEARTBEAT_ID) == 0) {
+                primary.update("insert into REPLICA_HEARTBEAT (ID, BEAT_MILLIS) values (?, ?)", HEARTBEAT_ID, now);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Replica heartbeat could not be written, will retry", ex);
+        }
+        try {
+            Long beat = replica.query("select BEAT_MILLIS from REPLICA_HEARTBEAT where ID = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, HEARTBEAT_ID);
+            replicatedUpTo = beat != null ? beat : 0;
+            if (!available) {
+                log.info("Replica reachable, {} ms behind", System.currentTimeMillis() - replicatedUpTo);
+            }
+            available = true;
+        } catch (RuntimeException ex) {
+            if (available) {
+                log.warn("Replica heartbeat could not be read, reads go to the primary", ex);
+            }
+            available = false;
+        }
+    }
+
+    public ReplicaStatusResponse status() {
+        long upTo = replicatedUpTo;
+        return ReplicaStatusResponse.builder()
+                .enabled(true)
+                .available(available)
+                .lagMillis(upTo > 0 ? Math.max(0, System.currentTimeMillis() - upTo) : null)
+                .maxLagMillis(maxLagMillis)
+                .replicaReads(replicaReads.get())
+                .lagRedirects(lagRedirects.get())
+                .ownPostingRedirects(ownPostingRedirects.get())
+                .fallbacks(fallbacks.get())
+                .build();
+    }
+
+    private static String caller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (worker != null) {
+            worker.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package webapp.bankingsystemapi.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends the connection of a read-only transaction ({@code @Transactional(readOnly = true)})
+ * to the replica pool when {@link ReplicaLagMonitor} allows it, and every other connection
+ * to the primary. It must sit behind a {@code LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for its connection before the transaction is marked read-only,
+ * and the proxy holds that request back until the first statement. A replica that refuses
+ * a connection is taken out of rotation and the read is served by the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor monitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? monitor.route()
+                : DataSourceRoute.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = target.getConnection();
+            monitor.replicaConnected();
+            return connection;
+        } catch (SQLException | RuntimeException ex) {
+            // Hikari throws an unchecked exception when the pool cannot start at all
+            monitor.replicaFailed(ex);
+            return primary.getConnection();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package webapp.bankingsystemapi.enums;
+
+/**
+ * The bank's own ledger accounts, the other side of postings that bring money in or
+ * take it out of customer accounts. They have no row in ACCOUNTS and no balance column;
+ * their balance is the sum of their journal postings.
+ */
+public enum LedgerAccount {
+    // Deposits and withdrawals
+    CASH,
+    FEE_INCOME,
+    // Balances that existed before the journal did (db/oracle/journal-postings.sql)
+    OPENING_BALANCE
+}
@@ -0,0 +1,7 @@
+package webapp.bankingsystemapi.enums;
+
+// Debits take money out of a customer account, credits put it in.
+public enum LedgerSide {
+    DEBIT,
+    CREDIT
+}
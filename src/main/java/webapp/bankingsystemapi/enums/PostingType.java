@@ -0,0 +1,7 @@
+package webapp.bankingsystemapi.enums;
+
+public enum PostingType {
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER
+}
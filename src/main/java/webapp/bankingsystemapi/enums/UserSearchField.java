@@ -0,0 +1,6 @@
+package webapp.bankingsystemapi.enums;
+
+public enum UserSearchField {
+    EMAIL,
+    FULL_NAME
+}
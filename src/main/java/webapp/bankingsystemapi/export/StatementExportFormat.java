@@ -0,0 +1,35 @@
+package webapp.bankingsystemapi.export;
+
+import org.springframework.http.MediaType;
+import webapp.bankingsystemapi.exception.BadRequestException;
+
+public enum StatementExportFormat {
+
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    StatementExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static StatementExportFormat from(String value) {
+        for (StatementExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,188 @@
+package webapp.bankingsystemapi.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.Query;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import webapp.bankingsystemapi.DTO.transaction.TransactionResponse;
+import webapp.bankingsystemapi.archive.ArchiveTiers;
+import webapp.bankingsystemapi.archive.ArchivedTable;
+import webapp.bankingsystemapi.archive.TierSplit;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+import webapp.bankingsystemapi.model.ArchivedTransaction;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.repo.spec.ArchiveTierSpecifications;
+import webapp.bankingsystemapi.repo.spec.TransactionSpecifications;
+import webapp.bankingsystemapi.util.Money;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Streams an account statement straight from a forward-only cursor to the response.
+ *
+ * Rows are read as column tuples through a {@link StatelessSession}, so there is no
+ * persistence context to grow and nothing is kept once a row is written: heap use does
+ * not depend on the number of rows. The JDBC fetch size decides how many rows the
+ * driver holds per round trip. Archived months follow from TRANSACTIONS_ARCHIVE on a
+ * second cursor.
+ */
+@Component
+public class StatementExporter {
+
+    static final String CSV_HEADER =
+            "referenceNumber,type,amount,status,beforeBalance,afterBalance,description,createdAt";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Selected columns held in minor units
+    private static final int AMOUNT = 2;
+    private static final int BEFORE_AMOUNT = 4;
+    private static final int REMAINING_AMOUNT = 5;
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final ArchiveTiers archiveTiers;
+
+    public StatementExporter(EntityManagerFactory entityManagerFactory,
+                             ObjectMapper objectMapper,
+                             ArchiveTiers archiveTiers,
+                             @Value("${banking.statement.export.fetch-size:500}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        this.archiveTiers = archiveTiers;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /** Writes the matching rows newest first and returns how many were written. */
+    public long write(Long accountId, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+                      Long minAmount, Long maxAmount,
+                      StatementExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rowWriter = format == StatementExportFormat.CSV ? csv(writer) : ndjson(writer);
+
+        long written = 0;
+        TierSplit split = archiveTiers.split(ArchivedTable.TRANSACTIONS, fromDateTime, toDateTime);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.beginTransaction();
+            try {
+                // Hot rows first: every archived month is older.
+                if (split.hot()) {
+                    written += scroll(session, Transaction.class, ArchiveTierSpecifications.hot(split.archivedBefore()),
+                            accountId, fromDateTime, toDateTime, minAmount, maxAmount, rowWriter);
+                }
+                if (split.archive()) {
+                    written += scroll(session, ArchivedTransaction.class, ArchiveTierSpecifications.archived(split.archivedBefore()),
+                            accountId, fromDateTime, toDateTime, minAmount, maxAmount, rowWriter);
+                }
+                session.getTransaction().commit();
+            } finally {
+                if (session.getTransaction().isActive()) {
+                    session.getTransaction().rollback();
+                }
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private <T> long scroll(StatelessSession session, Class<T> type, Specification<T> tier,
+                            Long accountId, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+                            Long minAmount, Long maxAmount, RowWriter rowWriter) throws IOException {
+        // Same predicates as the paged statement, in the same index order, but
+        // selecting only the exported columns.
+        HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<Object[]> criteria = cb.createQuery(Object[].class);
+        Root<T> t = criteria.from(type);
+        criteria.multiselect(t.get("referenceNumber"), t.get("type"), t.get("amount"), t.get("status"),
+                        t.get("beforeAmount"), t.get("remainingAmount"), t.get("description"), t.get("createdAt"))
+                .where(TransactionSpecifications.<T>statement(
+                                accountId, fromDateTime, toDateTime, minAmount, maxAmount)
+                        .and(tier)
+                        .and(TransactionSpecifications.newestFirst())
+                        .toPredicate(t, criteria, cb));
+        Query<Object[]> query = session.createQuery(criteria).setFetchSize(fetchSize);
+
+        long written = 0;
+        try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                rowWriter.write(toMajorUnits(rows.get()));
+                written++;
+            }
+        }
+        return written;
+    }
+
+    // Amounts leave in the API's decimal units, as the paged statement returns them.
+    private static Object[] toMajorUnits(Object[] row) {
+        row[AMOUNT] = Money.toMajor((Long) row[AMOUNT]);
+        row[BEFORE_AMOUNT] = Money.toMajor((Long) row[BEFORE_AMOUNT]);
+        row[REMAINING_AMOUNT] = Money.toMajor((Long) row[REMAINING_AMOUNT]);
+        return row;
+    }
+
+    private interface RowWriter {
+        void write(Object[] row) throws IOException;
+    }
+
+    private static RowWriter csv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return row -> {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (row[i] != null) {
+                    writer.write(csvField(row[i].toString()));
+                }
+            }
+            writer.write('\n');
+        };
+    }
+
+    private RowWriter ndjson(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        return row -> {
+            generator.writeObject(TransactionResponse.builder()
+                    .referenceNumber((String) row[0])
+                    .type((TransactionType) row[1])
+                    .amount((Double) row[AMOUNT])
+                    .status((TransactionStatus) row[3])
+                    .beforeBalance((Double) row[BEFORE_AMOUNT])
+                    .afterBalance((Double) row[REMAINING_AMOUNT])
+                    .description((String) row[6])
+                    .createdAt((LocalDateTime) row[7])
+                    .build());
+            generator.writeRaw('\n');
+            generator.flush();
+        };
+    }
+
+    static String csvField(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
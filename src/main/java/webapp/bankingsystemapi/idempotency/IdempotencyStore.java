@@ -0,0 +1,215 @@
+package webapp.bankingsystemapi.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.enums.PostingType;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.IdempotencyRecord;
+import webapp.bankingsystemapi.repo.IdempotencyRecordRepo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Answers postings sent with an {@code Idempotency-Key} header at most once per caller.
+ *
+ * The first request runs the posting and stores its response under the key in the same
+ * transaction, so the key is taken exactly when the money moved. A repeat is answered
+ * from an LRU cache of the last {@code banking.idempotency.cache-size} keys, or else from
+ * IDEMPOTENCY_KEYS, without running the posting or locking any account. Two requests
+ * racing with one key both post, but the unique key lets only one commit; the loser rolls
+ * back and returns the winner's response. Reusing a key for a different request is refused.
+ * Keys are deleted after {@code banking.idempotency.retention-hours}.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final Duration PURGE_EVERY = Duration.ofHours(1);
+
+    private final IdempotencyRecordRepo recordRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long retentionHours;
+    private final Map<String, IdempotencyRecord> recent;
+    private final TaskScheduler taskScheduler;
+    private volatile ScheduledFuture<?> purger;
+
+    public IdempotencyStore(IdempotencyRecordRepo recordRepo,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            TaskScheduler taskScheduler,
+                            @Value("${banking.idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${banking.idempotency.retention-hours:24}") long retentionHours) {
+        this.recordRepo = recordRepo;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskScheduler = taskScheduler;
+        this.retentionHours = Math.max(1, retentionHours);
+        int maxEntries = Math.max(0, cacheSize);
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        purger = taskScheduler.scheduleWithFixedDelay(this::purgeQuietly, Instant.now().plus(PURGE_EVERY), PURGE_EVERY);
+    }
+
+    /**
+     * Runs {@code posting} unless {@code key} already has a response. The posting gets a
+     * hook to hand its response to; it must call it inside its transaction, after the
+     * posting succeeded. Without a key the posting simply runs.
+     */
+    public <T> T execute(String key, String owner, PostingType operation, Object request,
+                         Class<T> responseType, Function<UnaryOperator<T>, T> posting) {
+        if (key == null) {
+            return posting.apply(UnaryOperator.identity());
+        }
+        if (key.isBlank() || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + IdempotencyRecord.MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+        T replay = replay(owner, key, operation, requestHash, responseType);
+        if (replay != null) {
+            return replay;
+        }
+        try {
+            return posting.apply(response -> {
+                remember(owner, key, operation, requestHash, response);
+                return response;
+            });
+        } catch (DataIntegrityViolationException race) {
+            // another request with this key committed first
+            T winner = replay(owner, key, operation, requestHash, responseType);
+            if (winner == null) {
+                throw race;
+            }
+            return winner;
+        }
+    }
+
+    private <T> T replay(String owner, String key, PostingType operation, String requestHash, Class<T> responseType) {
+        String cacheKey = cacheKey(owner, key);
+        IdempotencyRecord record;
+        synchronized (recent) {
+            record = recent.get(cacheKey);
+        }
+        if (record == null) {
+            record = recordRepo.findByOwnerAndIdempotencyKey(owner, key).orElse(null);
+            if (record == null) {
+                return null;
+            }
+            cache(record);
+        }
+        if (record.getOperation() != operation || !record.getRequestHash().equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(record.getResponse(), responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored response for idempotency key", ex);
+        }
+    }
+
+    // Flushed here, so a key taken by a racing request fails this posting and not whichever
+    // posting of a group commit happens to flush next.
+    private void remember(String owner, String key, PostingType operation, String requestHash, Object response) {
+        IdempotencyRecord record = recordRepo.saveAndFlush(IdempotencyRecord.builder()
+                .owner(owner)
+                .idempotencyKey(key)
+                .operation(operation)
+                .requestHash(requestHash)
+                .response(toJson(response))
+                .build());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(record);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(record);
+            }
+        });
+    }
+
+    private void cache(IdempotencyRecord record) {
+        synchronized (recent) {
+            recent.put(cacheKey(record.getOwner(), record.getIdempotencyKey()), record);
+        }
+    }
+
+    /** Deletes keys older than the retention period and returns how many went. */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> recordRepo.deleteCreatedBefore(cutoff));
+        synchronized (recent) {
+            recent.values().removeIf(record -> record.getCreatedAt().isBefore(cutoff));
+        }
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key purge failed, will retry", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize idempotent posting", ex);
+        }
+    }
+
+    private static String cacheKey(String owner, String key) {
+        return owner + '\n' + key;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (purger != null) {
+            purger.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package webapp.bankingsystemapi.ledger;
+
+import webapp.bankingsystemapi.enums.LedgerSide;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.List;
+
+/**
+ * The rules every journal entry obeys, checked in memory before anything is written:
+ * at least two legs, each naming exactly one account with a positive amount, and
+ * debits equal to credits. One pass over the legs, no allocation.
+ */
+public final class JournalInvariants {
+
+    private JournalInvariants() {}
+
+    /** Why the legs cannot form a journal entry, or null if they can. */
+    public static String problem(List<JournalLeg> legs) {
+        if (legs == null || legs.size() < 2) {
+            return "A journal entry needs at least two legs";
+        }
+        long debits = 0;
+        long credits = 0;
+        for (JournalLeg leg : legs) {
+            if (leg == null || leg.side() == null) {
+                return "Every leg needs a side";
+            }
+            if ((leg.account() == null) == (leg.ledgerAccount() == null)) {
+                return "Every leg names either a customer account or a ledger account";
+            }
+            if (leg.amount() <= 0) {
+                return "Leg amounts must be greater than zero";
+            }
+            try {
+                if (leg.side() == LedgerSide.DEBIT) {
+                    debits = Math.addExact(debits, leg.amount());
+                } else {
+                    credits = Math.addExact(credits, leg.amount());
+                }
+            } catch (ArithmeticException ex) {
+                return "Journal amounts are too large";
+            }
+        }
+        if (debits != credits) {
+            return "Debits (" + Money.format(debits) + ") do not equal credits (" + Money.format(credits) + ")";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package webapp.bankingsystemapi.ledger;
+
+import webapp.bankingsystemapi.enums.LedgerAccount;
+import webapp.bankingsystemapi.enums.LedgerSide;
+import webapp.bankingsystemapi.model.Account;
+
+// One side of a journal entry before it is written: a customer account or a bank ledger account, never both.
+public record JournalLeg(Account account, LedgerAccount ledgerAccount, LedgerSide side, long amount) {
+
+    public static JournalLeg debit(Account account, long amount) {
+        return new JournalLeg(account, null, LedgerSide.DEBIT, amount);
+    }
+
+    public static JournalLeg credit(Account account, long amount) {
+        return new JournalLeg(account, null, LedgerSide.CREDIT, amount);
+    }
+
+    public static JournalLeg debit(LedgerAccount ledgerAccount, long amount) {
+        return new JournalLeg(null, ledgerAccount, LedgerSide.DEBIT, amount);
+    }
+
+    public static JournalLeg credit(LedgerAccount ledgerAccount, long amount) {
+        return new JournalLeg(null, ledgerAccount, LedgerSide.CREDIT, amount);
+    }
+}
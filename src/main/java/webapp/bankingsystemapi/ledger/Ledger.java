@@ -0,0 +1,95 @@
+package webapp.bankingsystemapi.ledger;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import webapp.bankingsystemapi.cache.AccountSnapshotCache;
+import webapp.bankingsystemapi.datasource.ReplicaLagMonitor;
+import webapp.bankingsystemapi.enums.LedgerSide;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.JournalPosting;
+import webapp.bankingsystemapi.repo.JournalPostingRepo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes journal entries to JOURNAL_POSTINGS and moves the customer balances they touch.
+ *
+ * Every posting path (deposit, withdrawal, transfer, batch items, multi-leg journals)
+ * goes through {@link #post}. An entry is checked against {@link JournalInvariants}
+ * before anything changes, its legs are inserted as one JDBC batch at the next flush,
+ * and {@code Account.balance} is kept as the running total of the account's postings
+ * (see {@link LedgerCheckpoints} for deriving it back). Callers hold the accounts the
+ * way the posting executor expects: locked, or version-checked in optimistic mode.
+ * New balances reach the {@link AccountSnapshotCache} once the posting commits, and in
+ * read-replica mode the caller's next reads wait for the replica to have them.
+ */
+@Component
+@RequiredArgsConstructor
+public class Ledger {
+
+    private final JournalPostingRepo postingRepo;
+    private final AccountSnapshotCache accountCache;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLag;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes the entry under {@code reference} and applies it to the customer accounts, in
+     * leg order. Fails with nothing changed if the legs do not balance (a caller bug) or a
+     * debit would take a customer account below zero.
+     */
+    public List<JournalPosting> post(String reference, String description, List<JournalLeg> legs) {
+        String problem = JournalInvariants.problem(legs);
+        if (problem != null) {
+            throw new IllegalStateException("Journal entry " + reference + " rejected: " + problem);
+        }
+
+        Map<Account, Long> balances = new IdentityHashMap<>();
+        List<JournalPosting> postings = new ArrayList<>(legs.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (JournalLeg leg : legs) {
+            Long balanceAfter = null;
+            if (leg.account() != null) {
+                long before = balances.getOrDefault(leg.account(), leg.account().getBalance());
+                balanceAfter = leg.side() == LedgerSide.CREDIT
+                        ? Math.addExact(before, leg.amount())
+                        : before - leg.amount();
+                if (balanceAfter < 0) {
+                    throw new BadRequestException("Insufficient balance.");
+                }
+                balances.put(leg.account(), balanceAfter);
+            }
+            postings.add(JournalPosting.builder()
+                    .journalReference(reference)
+                    .account(leg.account())
+                    .ledgerAccount(leg.ledgerAccount())
+                    .side(leg.side())
+                    .amount(leg.amount())
+                    .balanceAfter(balanceAfter)
+                    .description(description)
+                    .createdAt(createdAt)
+                    .build());
+        }
+        balances.forEach(Account::setBalance);
+        accountCache.posted(balances.keySet());
+        replicaLag.ifAvailable(ReplicaLagMonitor::posted);
+
+        // All legs of the entry go out in one round trip.
+        Session session = entityManager.unwrap(Session.class);
+        Integer batchSize = session.getJdbcBatchSize();
+        if (batchSize == null || batchSize < legs.size()) {
+            session.setJdbcBatchSize(legs.size());
+        }
+        return postingRepo.saveAll(postings);
+    }
+}
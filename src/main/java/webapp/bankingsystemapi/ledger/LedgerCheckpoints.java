@@ -0,0 +1,113 @@
+package webapp.bankingsystemapi.ledger;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.DTO.admin.account.LedgerDeltaView;
+import webapp.bankingsystemapi.model.LedgerCheckpoint;
+import webapp.bankingsystemapi.repo.JournalPostingRepo;
+import webapp.bankingsystemapi.repo.LedgerCheckpointRepo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Derives customer balances from JOURNAL_POSTINGS and keeps LEDGER_CHECKPOINTS, the
+ * derived balance of every account as of a midnight.
+ *
+ * Once the application is ready, and then every {@code banking.ledger.checkpoint-millis},
+ * a background job moves the checkpoints to the last midnight at least
+ * {@code banking.ledger.checkpoint-grace-minutes} ago, adding the postings in between, so a posting created just before midnight has
+ * committed before its day is folded in. The same pass checks that every journal entry
+ * in the range balances. A derived balance is then the checkpoint plus at most a day or
+ * so of postings, which is what {@link #derivedBalance} reads.
+ */
+@Slf4j
+@Component
+public class LedgerCheckpoints {
+
+    private final JournalPostingRepo postingRepo;
+    private final LedgerCheckpointRepo checkpointRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final long checkpointMillis;
+    private final long graceMinutes;
+    private volatile ScheduledFuture<?> worker;
+
+    public LedgerCheckpoints(JournalPostingRepo postingRepo,
+                             LedgerCheckpointRepo checkpointRepo,
+                             PlatformTransactionManager transactionManager,
+                             TaskScheduler taskScheduler,
+                             @Value("${banking.ledger.checkpoint-millis:3600000}") long checkpointMillis,
+                             @Value("${banking.ledger.checkpoint-grace-minutes:10}") long graceMinutes) {
+        this.postingRepo = postingRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskScheduler = taskScheduler;
+        this.checkpointMillis = Math.max(1, checkpointMillis);
+        this.graceMinutes = Math.max(0, graceMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker = taskScheduler.scheduleWithFixedDelay(this::checkpointQuietly, Duration.ofMillis(checkpointMillis));
+    }
+
+    /** The account's balance according to its journal postings alone. */
+    public long derivedBalance(Long accountId) {
+        return checkpointRepo.findById(accountId)
+                .map(checkpoint -> checkpoint.getBalance() + postingRepo.sumForAccountSince(accountId, checkpoint.getAsOf()))
+                .orElseGet(() -> postingRepo.sumForAccount(accountId));
+    }
+
+    /** Moves the checkpoints up to {@code to}; returns the accounts whose balance changed. */
+    public synchronized int checkpoint(LocalDateTime to) {
+        LocalDateTime from = checkpointRepo.findLatestAsOf();
+        LocalDateTime start = from != null ? from : postingRepo.findFirstCreatedAt();
+        if (start == null || !to.isAfter(start)) {
+            return 0;
+        }
+        Integer changed = transactionTemplate.execute(status -> {
+            List<String> unbalanced = postingRepo.findUnbalancedJournals(start, to);
+            if (!unbalanced.isEmpty()) {
+                log.error("Journal entries do not balance, ledger checkpoint held at {}: {}", from, unbalanced);
+                return 0;
+            }
+            List<LedgerDeltaView> deltas = postingRepo.sumByAccountBetween(start, to);
+            for (LedgerDeltaView delta : deltas) {
+                boolean advanced = from != null && checkpointRepo.advance(delta.getAccountId(), delta.getDelta(), from, to) == 1;
+                if (!advanced && !checkpointRepo.existsById(delta.getAccountId())) {
+                    checkpointRepo.save(new LedgerCheckpoint(delta.getAccountId(), delta.getDelta(), to));
+                }
+            }
+            if (from != null) {
+                checkpointRepo.advanceRest(from, to);
+            }
+            return deltas.size();
+        });
+        return changed == null ? 0 : changed;
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint(LocalDateTime.now().minusMinutes(graceMinutes).toLocalDate().atStartOfDay());
+        } catch (RuntimeException e) {
+            log.warn("Ledger checkpoint failed, will retry", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (worker != null) {
+            worker.cancel(false);
+        }
+    }
+}
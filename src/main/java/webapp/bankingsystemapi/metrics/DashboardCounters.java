@@ -0,0 +1,304 @@
+package webapp.bankingsystemapi.metrics;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.DTO.admin.SystemOverviewResponse;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.model.DailyTransactionStat;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.rollup.DailyTransactionRollup;
+import webapp.bankingsystemapi.util.Money;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory copy of the admin dashboard figures, so the overview is read without a query.
+ *
+ * Registration, account and status changes and postings report their deltas here; they
+ * apply once the surrounding transaction (if any) commits. Changes made on other nodes,
+ * or straight in the database, are picked up by the reconciliation that reruns the
+ * counting queries, and reads today's rows of the daily rollup, once the application is
+ * ready and then every {@code banking.dashboard.reconcile-millis}.
+ *
+ * Users, accounts and postings each have a lock. A transaction holds its group's read
+ * lock from just before it commits until its deltas are applied, and a reconcile holds
+ * the write lock while it counts the group, so every commit is either in both the query
+ * and the counters or in neither. The queries run on the primary, which has every commit
+ * that reported a delta here. Postings are counted from the rollup, which a flush or a
+ * day's rebuild can keep busy: its table rows are read first, with no lock held, and only
+ * this node's unflushed deltas, which are in memory, under the write lock. If a flush
+ * moved deltas in between, the read is repeated.
+ */
+@Slf4j
+@Component
+public class DashboardCounters {
+
+    private static final int ROLLUP_READS = 3;
+
+    private final UserRepo userRepo;
+    private final AccountRepo accountRepo;
+    private final DailyTransactionRollup rollup;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final long reconcileMillis;
+    private volatile ScheduledFuture<?> reconciler;
+
+    private final ReadWriteLock users = new ReentrantReadWriteLock();
+    private final ReadWriteLock accounts = new ReentrantReadWriteLock();
+    private final ReadWriteLock postings = new ReentrantReadWriteLock();
+
+    private final LongAdder totalUsers = new LongAdder();
+    private final LongAdder activeUsers = new LongAdder();
+    private final LongAdder totalAccounts = new LongAdder();
+    private final LongAdder activeAccounts = new LongAdder();
+    private final AtomicReference<Day> today = new AtomicReference<>(new Day(LocalDate.now()));
+
+    private volatile boolean reconciled;
+
+    public DashboardCounters(UserRepo userRepo,
+                             AccountRepo accountRepo,
+                             DailyTransactionRollup rollup,
+                             PlatformTransactionManager transactionManager,
+                             TaskScheduler taskScheduler,
+                             @Value("${banking.dashboard.reconcile-millis:60000}") long reconcileMillis) {
+        this.userRepo = userRepo;
+        this.accountRepo = accountRepo;
+        this.rollup = rollup;
+        // its own read-write transaction, so the counts come from the primary
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskScheduler = taskScheduler;
+        this.reconcileMillis = Math.max(1, reconcileMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler = taskScheduler.scheduleWithFixedDelay(this::reconcileQuietly, Duration.ofMillis(reconcileMillis));
+    }
+
+    public SystemOverviewResponse overview() {
+        if (!reconciled) {
+            reconcile();
+        }
+        Day day = today.get();
+        boolean current = day.date.equals(LocalDate.now());
+        return SystemOverviewResponse.builder()
+                .totalUsers(totalUsers.sum())
+                .activeUsers(activeUsers.sum())
+                .totalAccounts(totalAccounts.sum())
+                .activeAccounts(activeAccounts.sum())
+                .todayTransactionCount(current ? day.count.sum() : 0)
+                .todayTransactionAmount(current ? Money.toDecimal(day.amount.sum()) : BigDecimal.ZERO)
+                .build();
+    }
+
+    public void userCreated(boolean active) {
+        afterCommit(users, () -> {
+            totalUsers.increment();
+            if (active) {
+                activeUsers.increment();
+            }
+        });
+    }
+
+    public void userActiveChanged(boolean wasActive, boolean active) {
+        if (wasActive != active) {
+            afterCommit(users, () -> activeUsers.add(active ? 1 : -1));
+        }
+    }
+
+    public void accountsCreated(int count, AccountStatus status) {
+        afterCommit(accounts, () -> {
+            totalAccounts.add(count);
+            if (status == AccountStatus.OPEN) {
+                activeAccounts.add(count);
+            }
+        });
+    }
+
+    public void accountStatusChanged(AccountStatus previous, AccountStatus status) {
+        boolean wasOpen = previous == AccountStatus.OPEN;
+        boolean open = status == AccountStatus.OPEN;
+        if (wasOpen != open) {
+            afterCommit(accounts, () -> activeAccounts.add(open ? 1 : -1));
+        }
+    }
+
+    /** Counts successful rows the way the daily statistics query does: one per leg. */
+    public void posted(Transaction... transactions) {
+        afterCommit(postings, () -> {
+            for (Transaction transaction : transactions) {
+                if (transaction.getStatus() == TransactionStatus.SUCCESS) {
+                    LocalDate date = transaction.getCreatedAt() != null
+                            ? transaction.getCreatedAt().toLocalDate()
+                            : LocalDate.now();
+                    Day day = dayOf(date);
+                    if (day != null) {
+                        day.count.increment();
+                        day.amount.add(transaction.getAmount());
+                    }
+                }
+            }
+        });
+    }
+
+    /** Re-reads every figure from the database. */
+    public void reconcile() {
+        exclusively(users, () -> {
+            set(totalUsers, userRepo::count);
+            set(activeUsers, userRepo::countActiveUsers);
+        });
+        exclusively(accounts, () -> {
+            set(totalAccounts, accountRepo::count);
+            set(activeAccounts, accountRepo::countActiveAccounts);
+        });
+        reconcilePostings();
+        reconciled = true;
+    }
+
+    // Today's legs are in the rollup (table plus this node's deltas) once their posting committed.
+    private void reconcilePostings() {
+        LocalDate date = LocalDate.now();
+        for (int read = 1; read <= ROLLUP_READS; read++) {
+            DailyTransactionRollup.Stored stored = transactionTemplate.execute(status -> rollup.stored(date, date));
+            Lock lock = postings.writeLock();
+            lock.lock();
+            try {
+                List<DailyTransactionStat> unflushed = rollup.unflushed(date, date, stored);
+                if (unflushed != null) {
+                    long count = 0;
+                    long amount = 0;
+                    for (List<DailyTransactionStat> rows : List.of(stored.rows(), unflushed)) {
+                        for (DailyTransactionStat row : rows) {
+                            if (row.getId().getStatus() == TransactionStatus.SUCCESS) {
+                                count += row.getTxCount();
+                                amount += row.getTotalAmount();
+                            }
+                        }
+                    }
+                    Day day = dayOf(date);
+                    day.count.add(count - day.count.sum());
+                    day.amount.add(amount - day.amount.sum());
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        throw new IllegalStateException("Daily rollup flushed during each of " + ROLLUP_READS + " reads");
+    }
+
+    // No commit of the group can apply its delta while this runs.
+    private void exclusively(ReadWriteLock group, Runnable reconcile) {
+        Lock lock = group.writeLock();
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> reconcile.run());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Dashboard reconciliation failed, keeping the in-memory figures", e);
+        }
+    }
+
+    private static void set(LongAdder counter, LongSupplier query) {
+        counter.add(query.getAsLong() - counter.sum());
+    }
+
+    // The bucket for the given day, starting a new one at midnight; null for a past day.
+    private Day dayOf(LocalDate date) {
+        while (true) {
+            Day day = today.get();
+            int order = date.compareTo(day.date);
+            if (order == 0) {
+                return day;
+            }
+            if (order < 0) {
+                return null;
+            }
+            today.compareAndSet(day, new Day(date));
+        }
+    }
+
+    // The read lock spans the commit and the delta, so a reconcile sees both or neither.
+    private static void afterCommit(ReadWriteLock group, Runnable delta) {
+        Lock lock = group.readLock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.lock();
+            try {
+                delta.run();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                delta.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (reconciler != null) {
+            reconciler.cancel(false);
+        }
+    }
+
+    private static final class Day {
+        private final LocalDate date;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder amount = new LongAdder(); // minor units
+
+        private Day(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
@@ -20,11 +20,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder // helps build objects easily
-@Table(name="ACCOUNTS") //explicitly tell the table name/optional
+@Table(name="ACCOUNTS", indexes = {
+        @Index(name = "ACCOUNTS_USER_IX", columnList = "user_id"),
+        @Index(name = "ACCOUNTS_STATUS_TYPE_IX", columnList = "status, type")
+}) //explicitly tell the table name/optional
 public class Account {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_sequence")
-    @SequenceGenerator(name="account_sequence", sequenceName = "account_sequence", allocationSize = 1)
+    @SequenceGenerator(name="account_sequence", sequenceName = "account_sequence", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @Column(name = "ACCOUNT_NUMBER",unique = true, nullable = false)
@@ -38,8 +41,14 @@ public class Account {
     @Enumerated(EnumType.STRING)
     private AccountStatus status = AccountStatus.OPEN;
 
+    // Minor units (cents), see util.Money
     @Column(nullable = false)
-    private Double balance=0.0;
+    private long balance;
+
+    // Checked on every update; lets postings run without row locks (banking.posting.optimistic.enabled).
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
 
 //    @Column(name="CREATED_AT", updatable = false)
 //    private LocalDateTime createdAt= LocalDateTime.now();
@@ -0,0 +1,34 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.archive.ArchivedTable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where one table's history is split between its hot table and its archive table: rows
+ * created before {@code archivedBefore} are read from the archive, the rest from the hot
+ * table. Always the first instant of a month.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name="ARCHIVE_BOUNDARIES")
+public class ArchiveBoundary {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name="TABLE_NAME", length = 30)
+    private ArchivedTable tableName;
+
+    @Column(name="ARCHIVED_BEFORE", nullable = false)
+    private LocalDateTime archivedBefore;
+
+    // When the boundary last moved; the copied hot rows are only deleted once every node has read it
+    @Column(name="ADVANCED_AT", nullable = false)
+    private LocalDateTime advancedAt;
+}
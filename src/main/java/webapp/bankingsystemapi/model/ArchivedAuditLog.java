@@ -0,0 +1,82 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.enums.AuditStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * An audit row from a month moved out of AUDIT_LOGS by {@code ColdPartitionArchiver}.
+ * Same columns and attribute names as {@link AuditLog}; read as {@link AuditLog}s
+ * through {@link #toAuditLog()}.
+ */
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@Table(name="AUDIT_LOGS_ARCHIVE", indexes = {
+        @Index(name = "AUDIT_LOGS_ARCHIVE_PERFORMER_CREATED_IX", columnList = "PERFORMED_BY, CREATED_AT"),
+        @Index(name = "AUDIT_LOGS_ARCHIVE_ACTION_CREATED_IX", columnList = "AUDIT_ACTION, CREATED_AT"),
+        @Index(name = "AUDIT_LOGS_ARCHIVE_CREATED_IX", columnList = "CREATED_AT")
+})
+public class ArchivedAuditLog {
+
+    // Kept from AUDIT_LOGS, no generator
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="AUDIT_ACTION", nullable = false)
+    private AuditAction audit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="ENTITY_TYPE", nullable = false)
+    private AuditEntityType entityType;
+
+    @Column(name="ENTITY_ID")
+    private Long entityId;
+
+    @Column(name="PERFORMED_BY", nullable = false)
+    private String performedBy;
+
+    @Column(name="USER_ROLE", nullable = false)
+    private String role;
+
+    @Column(name="IP_ADDRESS")
+    private String ipAddress;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AuditStatus status;
+
+    @Column(length = 500)
+    private String description;
+
+    @Column(name="USER_AGENT", length = 500)
+    private String userAgent;
+
+    @Column(name="CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** A detached copy for the mappers that take an {@link AuditLog}; never persisted. */
+    public AuditLog toAuditLog() {
+        return AuditLog.builder()
+                .id(id)
+                .audit(audit)
+                .entityType(entityType)
+                .entityId(entityId)
+                .performedBy(performedBy)
+                .role(role)
+                .ipAddress(ipAddress)
+                .status(status)
+                .description(description)
+                .userAgent(userAgent)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A transaction from a month moved out of TRANSACTIONS by {@code ColdPartitionArchiver}.
+ * Columns and attribute names are those of {@link Transaction}, so the same
+ * specifications filter both tiers and rows are copied with one INSERT ... SELECT.
+ * Only ever inserted by the archiver; read as {@link Transaction}s through
+ * {@link #toTransaction()}.
+ */
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@Table(name="TRANSACTIONS_ARCHIVE", indexes = {
+        @Index(name = "TRANSACTIONS_ARCHIVE_ACCOUNT_CREATED_IX", columnList = "account_id, CREATED_AT DESC, id DESC"),
+        @Index(name = "TRANSACTIONS_ARCHIVE_STATUS_CREATED_IX", columnList = "status, CREATED_AT"),
+        @Index(name = "TRANSACTIONS_ARCHIVE_CREATED_IX", columnList = "CREATED_AT")
+})
+public class ArchivedTransaction {
+
+    // Kept from TRANSACTIONS, no generator
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    // Minor units (cents), see util.Money
+    @Column(nullable = false)
+    private long amount;
+
+    @Column(nullable = false)
+    private long beforeAmount;
+
+    @Column(nullable = false)
+    private long remainingAmount;
+
+    private String description;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionStatus status;
+
+    @Column(name="REFERENCE_NUMBER")
+    private String referenceNumber;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name="account_id", nullable = false)
+    private Account account;
+
+    @Column(name="CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name="TRANSFER_ID")
+    private String transferId;
+
+    /** A detached copy for the mappers that take a {@link Transaction}; never persisted. */
+    public Transaction toTransaction() {
+        return Transaction.builder()
+                .id(id)
+                .type(type)
+                .amount(amount)
+                .beforeAmount(beforeAmount)
+                .remainingAmount(remainingAmount)
+                .description(description)
+                .status(status)
+                .referenceNumber(referenceNumber)
+                .account(account)
+                .createdAt(createdAt)
+                .transferId(transferId)
+                .build();
+    }
+}
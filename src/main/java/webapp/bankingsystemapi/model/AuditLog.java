@@ -17,12 +17,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name="AUDIT_LOGS")
+@Table(name="AUDIT_LOGS", indexes = {
+        @Index(name = "AUDIT_LOGS_PERFORMER_CREATED_IX", columnList = "PERFORMED_BY, CREATED_AT"),
+        @Index(name = "AUDIT_LOGS_ACTION_CREATED_IX", columnList = "AUDIT_ACTION, CREATED_AT"),
+        @Index(name = "AUDIT_LOGS_CREATED_IX", columnList = "CREATED_AT")
+})
 public class AuditLog {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_sequence")
-    @SequenceGenerator(name="audit_log_sequence", sequenceName = "audit_log_sequence", allocationSize = 1)
+    @SequenceGenerator(name="audit_log_sequence", sequenceName = "audit_log_sequence", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -58,8 +62,11 @@ public class AuditLog {
     @Column(name="CREATED_AT",nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Rows written later by the background writer keep the time the event happened.
     @PrePersist
     void onCreate(){
-        this.createdAt = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,28 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only outbox row carrying one audit event as JSON until the relay moves it to
+ * AUDIT_LOGS. No indexes beyond the key, so the insert on the posting path stays cheap.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name="AUDIT_OUTBOX")
+public class AuditOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_outbox_sequence")
+    @SequenceGenerator(name="audit_outbox_sequence", sequenceName = "audit_outbox_sequence", allocationSize = IdAllocation.SIZE)
+    private Long id;
+
+    @Column(name="PAYLOAD", nullable = false, length = 4000)
+    private String payload;
+}
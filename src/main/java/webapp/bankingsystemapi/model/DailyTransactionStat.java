@@ -0,0 +1,31 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Count and amount of the transactions created on one day with one type and status.
+ * Kept current by {@code DailyTransactionRollup}, so day-level figures are read from a
+ * handful of rows instead of the TRANSACTIONS table. The key is the only index.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name="DAILY_TRANSACTION_STATS")
+public class DailyTransactionStat {
+
+    @EmbeddedId
+    private DailyTransactionStatId id;
+
+    @Column(name="TX_COUNT", nullable = false)
+    private long txCount;
+
+    // Minor units (cents)
+    @Column(name="TOTAL_AMOUNT", nullable = false)
+    private long totalAmount;
+}
@@ -0,0 +1,17 @@
+package webapp.bankingsystemapi.model;
+
+/**
+ * Shared allocation size of the entity id sequences.
+ *
+ * Hibernate reserves this many ids per NEXTVAL, so the database sequences must use
+ * {@code INCREMENT BY} the same value (see {@code db/oracle/pooled-sequences.sql}).
+ * Whether the reserved block is handed out as {@code pooled} (sequence value is the
+ * high end) or {@code pooled-lo} (sequence value is the low end) is picked with
+ * {@code spring.jpa.properties.hibernate.id.optimizer.pooled.preferred}.
+ */
+public final class IdAllocation {
+
+    public static final int SIZE = 50;
+
+    private IdAllocation() {}
+}
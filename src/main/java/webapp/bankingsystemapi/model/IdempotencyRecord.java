@@ -0,0 +1,59 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.enums.PostingType;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response a posting sent for one {@code Idempotency-Key}, written in the posting's
+ * own transaction. The unique key on (OWNER, IDEMPOTENCY_KEY) is what stops two racing
+ * requests with the same key from both committing.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name="IDEMPOTENCY_KEYS", uniqueConstraints = {
+        @UniqueConstraint(name = "IDEMPOTENCY_KEYS_UK", columnNames = {"OWNER", "IDEMPOTENCY_KEY"})
+}, indexes = {
+        @Index(name = "IDEMPOTENCY_KEYS_CREATED_IX", columnList = "CREATED_AT")
+})
+public class IdempotencyRecord {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_key_sequence")
+    @SequenceGenerator(name="idempotency_key_sequence", sequenceName = "idempotency_key_sequence", allocationSize = IdAllocation.SIZE)
+    private Long id;
+
+    @Column(name="OWNER", nullable = false)
+    private String owner;
+
+    @Column(name="IDEMPOTENCY_KEY", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="OPERATION", nullable = false, length = 20)
+    private PostingType operation;
+
+    @Column(name="REQUEST_HASH", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name="RESPONSE", nullable = false, length = 4000)
+    private String response;
+
+    @Column(name="CREATED_AT", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,69 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import webapp.bankingsystemapi.enums.LedgerAccount;
+import webapp.bankingsystemapi.enums.LedgerSide;
+
+import java.time.LocalDateTime;
+
+/**
+ * One leg of a journal entry: a debit or credit of a customer account or of one of the
+ * bank's {@link LedgerAccount}s. The legs of an entry share its JOURNAL_REFERENCE, and
+ * their debits equal their credits (see ledger.JournalInvariants). Rows are only ever
+ * inserted; a correction is a new entry.
+ */
+@Entity
+@Immutable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name="JOURNAL_POSTINGS", indexes = {
+        @Index(name = "JOURNAL_POSTINGS_REFERENCE_IX", columnList = "JOURNAL_REFERENCE"),
+        @Index(name = "JOURNAL_POSTINGS_ACCOUNT_CREATED_IX", columnList = "account_id, CREATED_AT"),
+        @Index(name = "JOURNAL_POSTINGS_CREATED_IX", columnList = "CREATED_AT")
+})
+public class JournalPosting {
+
+    public static final int MAX_REFERENCE_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_posting_sequence")
+    @SequenceGenerator(name="journal_posting_sequence", sequenceName = "journal_posting_sequence", allocationSize = IdAllocation.SIZE)
+    private Long id;
+
+    @Column(name="JOURNAL_REFERENCE", nullable = false, updatable = false, length = MAX_REFERENCE_LENGTH)
+    private String journalReference;
+
+    // Exactly one of account and ledgerAccount is set
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name="account_id", updatable = false)
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="LEDGER_ACCOUNT", updatable = false, length = 30)
+    private LedgerAccount ledgerAccount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="SIDE", nullable = false, updatable = false, length = 6)
+    private LedgerSide side;
+
+    // Minor units (cents), always positive; the side gives the direction
+    @Column(name="AMOUNT", nullable = false, updatable = false)
+    private long amount;
+
+    // Customer account balance once this leg applied; null for ledger accounts
+    @Column(name="BALANCE_AFTER", updatable = false)
+    private Long balanceAfter;
+
+    @Column(name="DESCRIPTION", updatable = false)
+    private String description;
+
+    @Column(name="CREATED_AT", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+}
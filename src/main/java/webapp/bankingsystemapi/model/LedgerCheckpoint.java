@@ -0,0 +1,34 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A customer account's balance as derived from JOURNAL_POSTINGS created before
+ * {@code asOf}. The balance now is this plus the postings since, so deriving it reads
+ * one day of postings instead of the account's whole history.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name="LEDGER_CHECKPOINTS")
+public class LedgerCheckpoint {
+
+    @Id
+    @Column(name="ACCOUNT_ID")
+    private Long accountId;
+
+    // Minor units (cents)
+    @Column(name="BALANCE", nullable = false)
+    private long balance;
+
+    @Column(name="AS_OF", nullable = false)
+    private LocalDateTime asOf;
+}
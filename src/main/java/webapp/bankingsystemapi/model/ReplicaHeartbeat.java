@@ -0,0 +1,28 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row the primary stamps with its clock every
+ * {@code banking.datasource.replica.heartbeat-millis}. Read back from the replica it tells
+ * how far replication has got: every commit made before {@code beatMillis} is there.
+ * Only mapped so the schema is created with the rest; it is written and read with plain JDBC.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name="REPLICA_HEARTBEAT")
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(name="ID")
+    private Long id;
+
+    // Epoch millis on the primary's node when the row was written
+    @Column(name="BEAT_MILLIS", nullable = false)
+    private long beatMillis;
+}
@@ -0,0 +1,31 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * How far a rollup has been rebuilt from its source table: every day up to and including
+ * {@code settledThrough} was recomputed after it closed, empty days included, and is final.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name="ROLLUP_CHECKPOINTS")
+public class RollupCheckpoint {
+
+    @Id
+    @Column(name="ROLLUP_NAME", length = 30)
+    private String rollupName;
+
+    @Column(name="SETTLED_THROUGH", nullable = false)
+    private LocalDate settledThrough;
+
+    @Column(name="ADVANCED_AT", nullable = false)
+    private LocalDateTime advancedAt;
+}
@@ -17,11 +17,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name="TRANSACTIONS")
+@Table(name="TRANSACTIONS", indexes = {
+        @Index(name = "TRANSACTIONS_ACCOUNT_CREATED_IX", columnList = "account_id, CREATED_AT DESC, id DESC"),
+        @Index(name = "TRANSACTIONS_STATUS_CREATED_IX", columnList = "status, CREATED_AT"),
+        @Index(name = "TRANSACTIONS_CREATED_IX", columnList = "CREATED_AT")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_sequence")
-    @SequenceGenerator(name="transaction_sequence", sequenceName = "transaction_sequence",allocationSize = 1)
+    @SequenceGenerator(name="transaction_sequence", sequenceName = "transaction_sequence",allocationSize = IdAllocation.SIZE)
     private Long id;
 
 //    @Column(nullable = false)
@@ -31,14 +35,15 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private TransactionType type;
 
+    // Amounts in minor units (cents), see util.Money
     @Column(nullable = false)
-    private Double amount;
+    private long amount;
 
     @Column(nullable = false)
-    private Double beforeAmount;
+    private long beforeAmount;
 
     @Column(nullable = false)
-    private Double remainingAmount;
+    private long remainingAmount;
 
     private String description;
 
@@ -18,11 +18,14 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name="USERS")
+@Table(name="USERS", indexes = {
+        @Index(name = "USERS_STATUS_CREATED_IX", columnList = "status, CREATED_AT"),
+        @Index(name = "USERS_CREATED_IX", columnList = "CREATED_AT")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_sequence")
-    @SequenceGenerator(name="user_sequence", sequenceName = "user_sequence", allocationSize = 1)
+    @SequenceGenerator(name="user_sequence", sequenceName = "user_sequence", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @Column(name= "FULL_NAME",nullable = false)
@@ -56,6 +59,13 @@ public class User {
     @Column(name="LAST_LOGIN_AT")
     private LocalDateTime lastLoginAt;
 
+    // Carried in every JWT; raising it revokes the tokens issued before (see UserSecurityVersions).
+    @Column(name="SECURITY_VERSION", nullable = false)
+    private long securityVersion;
+
+    @Column(name="SECURITY_UPDATED_AT")
+    private LocalDateTime securityUpdatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,43 @@
+package webapp.bankingsystemapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import webapp.bankingsystemapi.enums.UserSearchField;
+
+/**
+ * One lowercased word of a user's email or full name. Admin searches match query words
+ * as prefixes of these tokens, so the lookup is a range scan of the prefix index instead
+ * of a {@code LIKE '%term%'} over every user. Rows are rewritten whenever the user's
+ * searchable fields are saved (see {@code UserSearchIndex}).
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name="USER_SEARCH_TOKENS", indexes = {
+        @Index(name = "USER_SEARCH_TOKENS_PREFIX_IX", columnList = "FIELD, TOKEN, USER_ID"),
+        @Index(name = "USER_SEARCH_TOKENS_USER_IX", columnList = "USER_ID")
+})
+public class UserSearchToken {
+
+    public static final int MAX_TOKEN_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_search_token_sequence")
+    @SequenceGenerator(name="user_search_token_sequence", sequenceName = "user_search_token_sequence", allocationSize = IdAllocation.SIZE)
+    private Long id;
+
+    @Column(name="USER_ID", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="FIELD", nullable = false, length = 20)
+    private UserSearchField field;
+
+    @Column(name="TOKEN", nullable = false, length = MAX_TOKEN_LENGTH)
+    private String token;
+}
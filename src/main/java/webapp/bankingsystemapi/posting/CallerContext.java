@@ -0,0 +1,47 @@
+package webapp.bankingsystemapi.posting;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Security and request context of the thread that submitted a posting, so work done later
+ * (or on another caller's thread) still sees the right role, user, IP and user agent.
+ */
+final class CallerContext {
+
+    private final SecurityContext securityContext;
+    private final RequestAttributes requestAttributes;
+
+    private CallerContext(SecurityContext securityContext, RequestAttributes requestAttributes) {
+        this.securityContext = securityContext;
+        this.requestAttributes = requestAttributes;
+    }
+
+    static CallerContext capture() {
+        return new CallerContext(SecurityContextHolder.getContext(), RequestContextHolder.getRequestAttributes());
+    }
+
+    <T> T call(Supplier<T> work) {
+        SecurityContext previousContext = SecurityContextHolder.getContext();
+        RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+        SecurityContextHolder.setContext(securityContext);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            return work.get();
+        } finally {
+            SecurityContextHolder.setContext(previousContext);
+            RequestContextHolder.setRequestAttributes(previousAttributes);
+        }
+    }
+
+    void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,276 @@
+package webapp.bankingsystemapi.posting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.exception.AccessDeniedException;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.exception.ResourceNotFoundException;
+import webapp.bankingsystemapi.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs single-account postings (deposit / withdraw).
+ *
+ * By default every posting gets its own transaction. With
+ * {@code banking.posting.group-commit.enabled=true} postings are queued on a lane picked
+ * from the account number; whichever caller finds the lane idle drains up to
+ * {@code max-batch-size} queued postings and commits them in one transaction.
+ * Every caller still receives its own result or exception.
+ *
+ * Postings lock the accounts they touch up front unless
+ * {@code banking.posting.optimistic.enabled=true}; then accounts are read without locks,
+ * the {@code @Version} check on update catches concurrent writers, and a posting that
+ * lost the race is run again in a fresh transaction, at most {@code max-attempts} times.
+ */
+@Component
+public class PostingExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readCommitted;
+    private final boolean groupCommit;
+    private final boolean optimistic;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final int maxBatchSize;
+    private final long pollMillis;
+    private final Lane[] lanes;
+
+    public PostingExecutor(PlatformTransactionManager transactionManager,
+                           @Value("${banking.posting.group-commit.enabled:false}") boolean groupCommit,
+                           @Value("${banking.posting.group-commit.max-batch-size:64}") int maxBatchSize,
+                           @Value("${banking.posting.group-commit.lanes:64}") int laneCount,
+                           @Value("${banking.posting.group-commit.poll-millis:2}") long pollMillis,
+                           @Value("${banking.posting.optimistic.enabled:false}") boolean optimistic,
+                           @Value("${banking.posting.optimistic.max-attempts:5}") int maxAttempts,
+                           @Value("${banking.posting.optimistic.backoff-millis:2}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readCommitted = new TransactionTemplate(transactionManager);
+        this.readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.groupCommit = groupCommit;
+        this.optimistic = optimistic;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = Math.max(0, backoffMillis);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.pollMillis = Math.max(1, pollMillis);
+        this.lanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    public boolean isGroupCommit() {
+        return groupCommit;
+    }
+
+    public boolean isOptimistic() {
+        return optimistic;
+    }
+
+    /** Runs a posting that touches several accounts on its own, never batched. */
+    public <T> T execute(Supplier<T> posting) {
+        return withRetry(readCommitted, status -> posting.get());
+    }
+
+    public <T> T execute(String accountNumber, Supplier<T> posting) {
+        if (!groupCommit) {
+            return withRetry(transactionTemplate, status -> posting.get());
+        }
+
+        Lane lane = lanes[Math.floorMod(accountNumber.hashCode(), lanes.length)];
+        PendingPosting<T> pending = new PendingPosting<>(accountNumber, posting);
+        lane.queue.add(pending);
+
+        while (true) {
+            lane.drain(pending);
+            try {
+                return pending.result.get(pollMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                // the current leader stopped before reaching us; try to take over the lane
+            } catch (InterruptedException ex) {
+                if (lane.queue.remove(pending)) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for posting to commit", ex);
+                }
+                // a leader already took the posting and will commit or fail it; that outcome is ours
+                try {
+                    return pending.result.join();
+                } catch (CompletionException taken) {
+                    throw unwrap(taken.getCause());
+                } finally {
+                    Thread.currentThread().interrupt();
+                }
+            } catch (ExecutionException ex) {
+                throw unwrap(ex.getCause());
+            }
+        }
+    }
+
+    private void commitBatch(List<PendingPosting<?>> batch) {
+        // Lock accounts in the same order transfers do; the sort is stable, so postings
+        // to one account keep their arrival order.
+        batch.sort(Comparator.comparing(pending -> pending.accountNumber));
+
+        boolean committed;
+        try {
+            committed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                for (PendingPosting<?> pending : batch) {
+                    if (!pending.apply()) {
+                        // a posting failed half way; none of the batch may commit with it
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        } catch (RuntimeException ex) {
+            committed = false;
+        }
+
+        if (committed) {
+            batch.forEach(PendingPosting::complete);
+            return;
+        }
+
+        // replay everything that did not fail on its own, one posting per transaction
+        for (PendingPosting<?> pending : batch) {
+            if (pending.failure != null) {
+                pending.complete();
+                continue;
+            }
+            try {
+                withRetry(transactionTemplate, status -> {
+                    if (!pending.apply()) {
+                        if (pending.failure instanceof OptimisticLockingFailureException conflict) {
+                            throw conflict;
+                        }
+                        status.setRollbackOnly();
+                    }
+                    return null;
+                });
+                pending.complete();
+            } catch (RuntimeException replayFailure) {
+                pending.result.completeExceptionally(replayFailure);
+            }
+        }
+    }
+
+    // Each attempt runs in a fresh transaction; rollback clears the persistence context,
+    // so the next attempt reads current balances and versions.
+    private <T> T withRetry(TransactionTemplate template, TransactionCallback<T> posting) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return template.execute(posting);
+            } catch (OptimisticLockingFailureException conflict) {
+                if (!optimistic || attempt >= maxAttempts) {
+                    throw conflict;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        if (backoffMillis == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying posting", ex);
+        }
+    }
+
+    // Business rule violations are raised before a posting touches any state.
+    public static boolean isRejection(RuntimeException ex) {
+        return ex instanceof BadRequestException
+                || ex instanceof ResourceNotFoundException
+                || ex instanceof AccessDeniedException
+                || ex instanceof ValidationException;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private final class Lane {
+        private final Queue<PendingPosting<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Drains batches until our own posting is done; waiting followers take over afterwards.
+        private void drain(PendingPosting<?> own) {
+            while (!own.result.isDone() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    List<PendingPosting<?>> batch = new ArrayList<>(maxBatchSize);
+                    PendingPosting<?> next;
+                    while (batch.size() < maxBatchSize && (next = queue.poll()) != null) {
+                        batch.add(next);
+                    }
+                    if (!batch.isEmpty()) {
+                        commitBatch(batch);
+                    }
+                } finally {
+                    draining.set(false);
+                }
+            }
+        }
+    }
+
+    private static final class PendingPosting<T> {
+        private final String accountNumber;
+        private final Supplier<T> posting;
+        private final CallerContext callerContext = CallerContext.capture();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private RuntimeException failure;
+
+        private PendingPosting(String accountNumber, Supplier<T> posting) {
+            this.accountNumber = accountNumber;
+            this.posting = posting;
+        }
+
+        // Runs the posting as its submitter; false means it failed after it may have written.
+        private boolean apply() {
+            failure = null;
+            try {
+                value = callerContext.call(posting);
+                return true;
+            } catch (RuntimeException ex) {
+                failure = ex;
+                return isRejection(ex);
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
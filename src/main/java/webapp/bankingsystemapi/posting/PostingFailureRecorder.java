@@ -0,0 +1,86 @@
+package webapp.bankingsystemapi.posting;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.repo.TransactionRepo;
+import webapp.bankingsystemapi.rollup.DailyTransactionRollup;
+import webapp.bankingsystemapi.service.AuditService;
+
+import java.util.List;
+
+/**
+ * Compensating path for postings that fail after validation.
+ *
+ * Successful postings insert each leg once, already in SUCCESS. When a posting blows up
+ * its legs are written as FAILED copies once the posting transaction has rolled back,
+ * in a transaction of their own, so the failure record is not lost with the rollback.
+ */
+@Component
+public class PostingFailureRecorder {
+
+    private final TransactionRepo transactionRepo;
+    private final AuditService auditService;
+    private final DailyTransactionRollup transactionRollup;
+    private final TransactionTemplate requiresNew;
+
+    public PostingFailureRecorder(TransactionRepo transactionRepo,
+                                  AuditService auditService,
+                                  DailyTransactionRollup transactionRollup,
+                                  PlatformTransactionManager transactionManager) {
+        this.transactionRepo = transactionRepo;
+        this.auditService = auditService;
+        this.transactionRollup = transactionRollup;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void recordFailure(AuditAction action, List<Transaction> legs, String reason) {
+        CallerContext caller = CallerContext.capture();
+        Runnable record = () -> caller.run(() -> requiresNew.executeWithoutResult(status -> write(action, legs, reason)));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    record.run();
+                }
+            }
+        });
+    }
+
+    private void write(AuditAction action, List<Transaction> legs, String reason) {
+        List<Transaction> failed = transactionRepo.saveAll(legs.stream()
+                .map(PostingFailureRecorder::failedCopy)
+                .toList());
+        transactionRollup.record(failed.toArray(Transaction[]::new));
+
+        auditService.logFailure(action, AuditEntityType.TRANSACTION, failed.get(0).getId(), reason);
+    }
+
+    // The balance never moved, so a failed leg ends where it started.
+    private static Transaction failedCopy(Transaction leg) {
+        return Transaction.builder()
+                .account(leg.getAccount())
+                .type(leg.getType())
+                .amount(leg.getAmount())
+                .beforeAmount(leg.getBeforeAmount())
+                .remainingAmount(leg.getBeforeAmount())
+                .description(leg.getDescription())
+                .referenceNumber(leg.getReferenceNumber())
+                .transferId(leg.getTransferId())
+                .status(TransactionStatus.FAILED)
+                .build();
+    }
+}
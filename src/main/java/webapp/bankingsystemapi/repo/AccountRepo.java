@@ -3,7 +3,9 @@ package webapp.bankingsystemapi.repo;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,18 +13,35 @@ import org.springframework.stereotype.Repository;
 import webapp.bankingsystemapi.enums.AccountStatus;
 import webapp.bankingsystemapi.enums.AccountType;
 import webapp.bankingsystemapi.model.Account;
-import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.spec.AccountSpecifications;
+import webapp.bankingsystemapi.search.UserSearchMode;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepo extends JpaRepository<Account, Long> {
+public interface AccountRepo extends JpaRepository<Account, Long>, JpaSpecificationExecutor<Account> {
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("Select a from Account a where a.accountNumber = :accountNumber")
     Optional<Account> getAccountByAccountNumber(@Param("accountNumber") String accountNumber);
 
+    @Query("Select a from Account a where a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("Select a from Account a join fetch a.user where a.accountNumber = :accountNumber")
+    Optional<Account> findWithUserByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("Select a from Account a where a.accountNumber in :accountNumbers")
+    List<Account> findAccountsByAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    // Rows come back, and are locked, in account number order whatever order the caller
+    // asked for, so postings touching the same accounts can never wait on each other in a cycle.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("Select a from Account a where a.accountNumber in :accountNumbers order by a.accountNumber")
+    List<Account> lockAccountsInOrder(@Param("accountNumbers") Collection<String> accountNumbers);
+
 
     @Query("Select a from Account a where a.user.id = :userId")
     List<Account> getAccountsByUserId(@Param("userId") Long userId);
@@ -30,28 +49,22 @@ public interface AccountRepo extends JpaRepository<Account, Long> {
     @Query("SELECT COUNT(a) FROM Account a WHERE a.user.id = :userId")
     int countAccountsByUserId(@Param("userId") Long userId);
 
+    // Owners come with the page; the admin mapper shows their id and email.
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT a FROM Account a")
     Page<Account> getAllAccounts(Pageable pageable);
 
-    @Query("""
-    SELECT a FROM Account a
-    JOIN a.user u
-    WHERE (:accountNumber IS NULL OR a.accountNumber = :accountNumber)
-      AND (:userEmail IS NULL OR u.email LIKE %:userEmail%)
-      AND (:status IS NULL OR a.status = :status)
-      AND (:type IS NULL OR a.type = :type)
-      AND (:minBalance IS NULL OR a.balance >= :minBalance)
-      AND (:maxBalance IS NULL OR a.balance <= :maxBalance)
-""")
-    Page<Account> filterAccounts(
-            @Param("accountNumber") String accountNumber,
-            @Param("userEmail") String userEmail,
-            @Param("status") AccountStatus status,
-            @Param("type") AccountType type,
-            @Param("minBalance") Double minBalance,
-            @Param("maxBalance") Double maxBalance,
-            Pageable pageable
-    );
+    default Page<Account> filterAccounts(String accountNumber,
+                                         String userEmail,
+                                         AccountStatus status,
+                                         AccountType type,
+                                         Long minBalance,
+                                         Long maxBalance,
+                                         UserSearchMode searchMode,
+                                         Pageable pageable) {
+        return findAll(AccountSpecifications.adminFilter(
+                accountNumber, userEmail, status, type, minBalance, maxBalance, searchMode), pageable);
+    }
 
     long count();
 
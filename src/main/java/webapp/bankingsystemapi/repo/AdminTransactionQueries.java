@@ -0,0 +1,26 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+import webapp.bankingsystemapi.model.Transaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin transaction search over TRANSACTIONS and the months archived to
+ * TRANSACTIONS_ARCHIVE, which come back as detached {@link Transaction}s.
+ */
+public interface AdminTransactionQueries {
+
+    Page<Transaction> filterAdminTransactions(String accountNumber,
+                                              String userEmail,
+                                              TransactionType type,
+                                              TransactionStatus status,
+                                              LocalDateTime fromDate,
+                                              LocalDateTime toDate,
+                                              Long minAmount,
+                                              Long maxAmount,
+                                              Pageable pageable);
+}
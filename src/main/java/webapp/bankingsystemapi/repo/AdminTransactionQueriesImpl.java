@@ -0,0 +1,59 @@
+package webapp.bankingsystemapi.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import webapp.bankingsystemapi.archive.ArchiveTiers;
+import webapp.bankingsystemapi.archive.ArchivedTable;
+import webapp.bankingsystemapi.archive.TierSplit;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+import webapp.bankingsystemapi.model.ArchivedTransaction;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.repo.spec.ArchiveTierSpecifications;
+import webapp.bankingsystemapi.repo.spec.TransactionSpecifications;
+
+import java.time.LocalDateTime;
+
+class AdminTransactionQueriesImpl implements AdminTransactionQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ArchiveTiers archiveTiers;
+
+    AdminTransactionQueriesImpl(ArchiveTiers archiveTiers) {
+        this.archiveTiers = archiveTiers;
+    }
+
+    @Override
+    public Page<Transaction> filterAdminTransactions(String accountNumber,
+                                                     String userEmail,
+                                                     TransactionType type,
+                                                     TransactionStatus status,
+                                                     LocalDateTime fromDate,
+                                                     LocalDateTime toDate,
+                                                     Long minAmount,
+                                                     Long maxAmount,
+                                                     Pageable pageable) {
+        TierSplit split = archiveTiers.split(ArchivedTable.TRANSACTIONS, fromDate, toDate);
+        TieredPages.Tier<Transaction> hot = null;
+        TieredPages.Tier<Transaction> archive = null;
+        if (split.hot()) {
+            Specification<Transaction> spec = TransactionSpecifications.<Transaction>adminFilter(
+                            accountNumber, userEmail, type, status, fromDate, toDate, minAmount, maxAmount)
+                    .and(ArchiveTierSpecifications.hot(split.archivedBefore()));
+            hot = TieredPages.entities(entityManager, Transaction.class, spec, pageable.getSort());
+        }
+        if (split.archive()) {
+            Specification<ArchivedTransaction> spec = TransactionSpecifications.<ArchivedTransaction>adminFilter(
+                            accountNumber, userEmail, type, status, fromDate, toDate, minAmount, maxAmount)
+                    .and(ArchiveTierSpecifications.archived(split.archivedBefore()));
+            archive = TieredPages.entities(entityManager, ArchivedTransaction.class, spec, pageable.getSort())
+                    .map(ArchivedTransaction::toTransaction);
+        }
+        return TieredPages.page(pageable, hot, archive);
+    }
+}
@@ -0,0 +1,26 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import webapp.bankingsystemapi.archive.ArchivedTable;
+import webapp.bankingsystemapi.model.ArchiveBoundary;
+
+import java.time.LocalDateTime;
+
+public interface ArchiveBoundaryRepo extends JpaRepository<ArchiveBoundary, ArchivedTable> {
+
+    // Only moves a boundary still at :from, so two nodes running the job copy a month once.
+    @Modifying
+    @Query("""
+    UPDATE ArchiveBoundary b
+    SET b.archivedBefore = :to, b.advancedAt = :advancedAt
+    WHERE b.tableName = :table
+      AND b.archivedBefore = :from
+""")
+    int advance(@Param("table") ArchivedTable table,
+                @Param("from") LocalDateTime from,
+                @Param("to") LocalDateTime to,
+                @Param("advancedAt") LocalDateTime advancedAt);
+}
@@ -0,0 +1,8 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import webapp.bankingsystemapi.model.ArchivedTransaction;
+
+// Lookups by id for months archive.ColdPartitionArchiver has moved out of TRANSACTIONS.
+public interface ArchivedTransactionRepo extends JpaRepository<ArchivedTransaction, Long> {
+}
@@ -0,0 +1,23 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.model.AuditLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin audit search over AUDIT_LOGS and the months archived to AUDIT_LOGS_ARCHIVE,
+ * which come back as detached {@link AuditLog}s.
+ */
+public interface AuditLogQueries {
+
+    Page<AuditLog> filterAudits(String userEmail,
+                                AuditAction action,
+                                AuditEntityType entityType,
+                                LocalDateTime fromDate,
+                                LocalDateTime toDate,
+                                Pageable pageable);
+}
@@ -0,0 +1,56 @@
+package webapp.bankingsystemapi.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import webapp.bankingsystemapi.archive.ArchiveTiers;
+import webapp.bankingsystemapi.archive.ArchivedTable;
+import webapp.bankingsystemapi.archive.TierSplit;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.model.ArchivedAuditLog;
+import webapp.bankingsystemapi.model.AuditLog;
+import webapp.bankingsystemapi.repo.spec.ArchiveTierSpecifications;
+import webapp.bankingsystemapi.repo.spec.AuditLogSpecifications;
+
+import java.time.LocalDateTime;
+
+class AuditLogQueriesImpl implements AuditLogQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ArchiveTiers archiveTiers;
+
+    AuditLogQueriesImpl(ArchiveTiers archiveTiers) {
+        this.archiveTiers = archiveTiers;
+    }
+
+    @Override
+    public Page<AuditLog> filterAudits(String userEmail,
+                                       AuditAction action,
+                                       AuditEntityType entityType,
+                                       LocalDateTime fromDate,
+                                       LocalDateTime toDate,
+                                       Pageable pageable) {
+        TierSplit split = archiveTiers.split(ArchivedTable.AUDIT_LOGS, fromDate, toDate);
+        TieredPages.Tier<AuditLog> hot = null;
+        TieredPages.Tier<AuditLog> archive = null;
+        if (split.hot()) {
+            Specification<AuditLog> spec = AuditLogSpecifications.<AuditLog>adminFilter(
+                            userEmail, action, entityType, fromDate, toDate)
+                    .and(ArchiveTierSpecifications.hot(split.archivedBefore()));
+            hot = TieredPages.entities(entityManager, AuditLog.class, spec, pageable.getSort());
+        }
+        if (split.archive()) {
+            Specification<ArchivedAuditLog> spec = AuditLogSpecifications.<ArchivedAuditLog>adminFilter(
+                            userEmail, action, entityType, fromDate, toDate)
+                    .and(ArchiveTierSpecifications.archived(split.archivedBefore()));
+            archive = TieredPages.entities(entityManager, ArchivedAuditLog.class, spec, pageable.getSort())
+                    .map(ArchivedAuditLog::toAuditLog);
+        }
+        return TieredPages.page(pageable, hot, archive);
+    }
+}
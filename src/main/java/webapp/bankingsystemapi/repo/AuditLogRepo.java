@@ -1,35 +1,35 @@
 package webapp.bankingsystemapi.repo;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import webapp.bankingsystemapi.enums.AuditAction;
-import webapp.bankingsystemapi.enums.AuditEntityType;
 import webapp.bankingsystemapi.model.AuditLog;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
-public interface AuditLogRepo extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepo extends JpaRepository<AuditLog, Long>, JpaSpecificationExecutor<AuditLog>,
+        AuditLogQueries {
 
+    @Query("SELECT MIN(a.createdAt) FROM AuditLog a")
+    LocalDateTime findFirstCreatedAt();
 
-    @Query("""
-        SELECT a FROM AuditLog a
-        WHERE (:userEmail IS NULL OR a.performedBy = :userEmail)
-          AND (:action IS NULL OR a.audit = :action)
-          AND (:entityType IS NULL OR a.entityType = :entityType)
-          AND (:fromDate IS NULL OR a.createdAt >= :fromDate)
-          AND (:toDate IS NULL OR a.createdAt <= :toDate)
-    """)
-    Page<AuditLog> filterAudits(
-            @Param("userEmail") String userEmail,
-            @Param("action") AuditAction action,
-            @Param("entityType") AuditEntityType entityType,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            Pageable pageable
-    );
+    // One month to AUDIT_LOGS_ARCHIVE; APPEND makes it a direct-path, compressed insert on Oracle.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT /*+ APPEND */ INTO AUDIT_LOGS_ARCHIVE
+                (ID, AUDIT_ACTION, ENTITY_TYPE, ENTITY_ID, PERFORMED_BY, USER_ROLE, IP_ADDRESS,
+                 STATUS, DESCRIPTION, USER_AGENT, CREATED_AT)
+            SELECT ID, AUDIT_ACTION, ENTITY_TYPE, ENTITY_ID, PERFORMED_BY, USER_ROLE, IP_ADDRESS,
+                   STATUS, DESCRIPTION, USER_AGENT, CREATED_AT
+            FROM AUDIT_LOGS
+            WHERE CREATED_AT >= :from
+              AND CREATED_AT < :to
+            """)
+    int copyToArchive(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
+    @Modifying
+    @Query("DELETE FROM AuditLog a WHERE a.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
 }
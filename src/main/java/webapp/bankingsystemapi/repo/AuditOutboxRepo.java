@@ -0,0 +1,21 @@
+package webapp.bankingsystemapi.repo;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import webapp.bankingsystemapi.model.AuditOutboxEvent;
+
+import java.util.List;
+
+public interface AuditOutboxRepo extends JpaRepository<AuditOutboxEvent, Long> {
+
+    // lock.timeout -2 is SKIP LOCKED, so relays on several nodes take disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM AuditOutboxEvent e ORDER BY e.id")
+    List<AuditOutboxEvent> lockOldest(Pageable pageable);
+}
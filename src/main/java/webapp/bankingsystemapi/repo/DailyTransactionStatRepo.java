@@ -0,0 +1,44 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import webapp.bankingsystemapi.model.DailyTransactionStat;
+import webapp.bankingsystemapi.model.DailyTransactionStatId;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyTransactionStatRepo extends JpaRepository<DailyTransactionStat, DailyTransactionStatId> {
+
+    @Query("SELECT s FROM DailyTransactionStat s WHERE s.id.statDate >= :from AND s.id.statDate <= :to ORDER BY s.id.statDate")
+    List<DailyTransactionStat> findRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyTransactionStat s WHERE s.id.statDate = :day")
+    int deleteDay(@Param("day") LocalDate day);
+
+    // Adds to the day's row, creating it on first use; concurrent nodes only ever add. A day
+    // the rollup has settled is final, so a delta reaching it late is dropped.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            MERGE INTO DAILY_TRANSACTION_STATS s
+            USING (SELECT CAST(:day AS DATE) AS STAT_DATE, CAST(:type AS VARCHAR(255)) AS TYPE,
+                          CAST(:status AS VARCHAR(255)) AS STATUS FROM DUAL
+                   WHERE NOT EXISTS (SELECT 1 FROM ROLLUP_CHECKPOINTS c
+                                     WHERE c.ROLLUP_NAME = 'DAILY_TRANSACTION_STATS'
+                                       AND c.SETTLED_THROUGH >= CAST(:day AS DATE))) d
+            ON (s.STAT_DATE = d.STAT_DATE AND s.TYPE = d.TYPE AND s.STATUS = d.STATUS)
+            WHEN MATCHED THEN UPDATE SET TX_COUNT = s.TX_COUNT + :txCount, TOTAL_AMOUNT = s.TOTAL_AMOUNT + :amount
+            WHEN NOT MATCHED THEN INSERT (STAT_DATE, TYPE, STATUS, TX_COUNT, TOTAL_AMOUNT)
+                VALUES (d.STAT_DATE, d.TYPE, d.STATUS, :txCount, :amount)
+            """)
+    int add(@Param("day") LocalDate day,
+            @Param("type") String type,
+            @Param("status") String status,
+            @Param("txCount") long txCount,
+            @Param("amount") long amount);
+}
@@ -0,0 +1,55 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import webapp.bankingsystemapi.DTO.admin.account.LedgerDeltaView;
+import webapp.bankingsystemapi.model.JournalPosting;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JournalPostingRepo extends JpaRepository<JournalPosting, Long> {
+
+    List<JournalPosting> findByJournalReferenceOrderById(String journalReference);
+
+    @Query("""
+    SELECT COALESCE(SUM(CASE WHEN p.side = webapp.bankingsystemapi.enums.LedgerSide.CREDIT THEN p.amount ELSE -p.amount END), 0)
+    FROM JournalPosting p
+    WHERE p.account.id = :accountId
+""")
+    long sumForAccount(@Param("accountId") Long accountId);
+
+    @Query("""
+    SELECT COALESCE(SUM(CASE WHEN p.side = webapp.bankingsystemapi.enums.LedgerSide.CREDIT THEN p.amount ELSE -p.amount END), 0)
+    FROM JournalPosting p
+    WHERE p.account.id = :accountId
+      AND p.createdAt >= :from
+""")
+    long sumForAccountSince(@Param("accountId") Long accountId, @Param("from") LocalDateTime from);
+
+    @Query("""
+    SELECT p.account.id AS accountId,
+           SUM(CASE WHEN p.side = webapp.bankingsystemapi.enums.LedgerSide.CREDIT THEN p.amount ELSE -p.amount END) AS delta
+    FROM JournalPosting p
+    WHERE p.account IS NOT NULL
+      AND p.createdAt >= :start
+      AND p.createdAt < :end
+    GROUP BY p.account.id
+""")
+    List<LedgerDeltaView> sumByAccountBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Legs of one entry share CREATED_AT, so an entry is never split across two ranges.
+    @Query("""
+    SELECT p.journalReference
+    FROM JournalPosting p
+    WHERE p.createdAt >= :start
+      AND p.createdAt < :end
+    GROUP BY p.journalReference
+    HAVING SUM(CASE WHEN p.side = webapp.bankingsystemapi.enums.LedgerSide.CREDIT THEN p.amount ELSE -p.amount END) <> 0
+""")
+    List<String> findUnbalancedJournals(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT MIN(p.createdAt) FROM JournalPosting p")
+    LocalDateTime findFirstCreatedAt();
+}
@@ -0,0 +1,33 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import webapp.bankingsystemapi.model.LedgerCheckpoint;
+
+import java.time.LocalDateTime;
+
+public interface LedgerCheckpointRepo extends JpaRepository<LedgerCheckpoint, Long> {
+
+    @Query("SELECT MAX(c.asOf) FROM LedgerCheckpoint c")
+    LocalDateTime findLatestAsOf();
+
+    // Only moves a checkpoint still at :from, so two nodes running the job add a delta once.
+    @Modifying
+    @Query("""
+    UPDATE LedgerCheckpoint c
+    SET c.balance = c.balance + :delta, c.asOf = :to
+    WHERE c.accountId = :accountId
+      AND c.asOf = :from
+""")
+    int advance(@Param("accountId") Long accountId,
+                @Param("delta") long delta,
+                @Param("from") LocalDateTime from,
+                @Param("to") LocalDateTime to);
+
+    // Accounts without postings in the range keep their balance.
+    @Modifying
+    @Query("UPDATE LedgerCheckpoint c SET c.asOf = :to WHERE c.asOf = :from")
+    int advanceRest(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
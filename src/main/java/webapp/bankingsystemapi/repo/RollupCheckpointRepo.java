@@ -0,0 +1,26 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import webapp.bankingsystemapi.model.RollupCheckpoint;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface RollupCheckpointRepo extends JpaRepository<RollupCheckpoint, String> {
+
+    // Only moves a checkpoint still at :from, so two nodes running the job rebuild a day once.
+    @Modifying
+    @Query("""
+    UPDATE RollupCheckpoint c
+    SET c.settledThrough = :to, c.advancedAt = :advancedAt
+    WHERE c.rollupName = :rollup
+      AND c.settledThrough = :from
+""")
+    int advance(@Param("rollup") String rollup,
+                @Param("from") LocalDate from,
+                @Param("to") LocalDate to,
+                @Param("advancedAt") LocalDateTime advancedAt);
+}
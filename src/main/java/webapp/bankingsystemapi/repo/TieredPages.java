@@ -0,0 +1,192 @@
+package webapp.bankingsystemapi.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Pages over a history split between a hot table and its archive (archive.ArchiveTiers).
+ * Every archived row is older than every hot row, so a page sorted on createdAt is the
+ * newer tier's rows followed by the older tier's, and only the page's own rows are read
+ * from each. Any other sort reads the first offset + size rows of both tiers and merges
+ * them in memory, so deep pages cost more. Nulls count as the smallest value in that merge,
+ * which on Oracle is not where a single tier puts them. Unsorted, hot rows come first. A
+ * tier pruned by the date filters is passed as null and costs nothing; with the archive
+ * pruned, a page runs the same statements as {@code findAll(spec, pageable)}.
+ */
+final class TieredPages {
+
+    private TieredPages() {}
+
+    interface Tier<T> {
+
+        List<T> rows(long offset, int limit);
+
+        long count();
+
+        default <R> Tier<R> map(Function<T, R> mapper) {
+            Tier<T> tier = this;
+            return new Tier<>() {
+                @Override
+                public List<R> rows(long offset, int limit) {
+                    return tier.rows(offset, limit).stream().map(mapper).toList();
+                }
+
+                @Override
+                public long count() {
+                    return tier.count();
+                }
+            };
+        }
+    }
+
+    static <T> Page<T> page(Pageable pageable, Tier<T> hot, Tier<T> archive) {
+        if (archive == null || hot == null) {
+            Tier<T> tier = hot != null ? hot : archive;
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(tier.rows(0, Integer.MAX_VALUE));
+            }
+            return PageableExecutionUtils.getPage(
+                    tier.rows(pageable.getOffset(), pageable.getPageSize()), pageable, tier::count);
+        }
+        Sort.Order lead = pageable.getSort().stream().findFirst().orElse(null);
+        if (lead != null && !"createdAt".equals(lead.getProperty())) {
+            return merged(pageable, hot, archive);
+        }
+        boolean oldestFirst = lead != null && lead.isAscending() && "createdAt".equals(lead.getProperty());
+        Tier<T> first = oldestFirst ? archive : hot;
+        Tier<T> second = oldestFirst ? hot : archive;
+        if (pageable.isUnpaged()) {
+            List<T> rows = new ArrayList<>(first.rows(0, Integer.MAX_VALUE));
+            rows.addAll(second.rows(0, Integer.MAX_VALUE));
+            return new PageImpl<>(rows);
+        }
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        long firstCount = first.count();
+        List<T> rows = new ArrayList<>(size);
+        if (offset < firstCount) {
+            rows.addAll(first.rows(offset, size));
+        }
+        if (rows.size() < size) {
+            rows.addAll(second.rows(Math.max(0, offset - firstCount), size - rows.size()));
+        }
+        return PageableExecutionUtils.getPage(rows, pageable, () -> firstCount + second.count());
+    }
+
+    // Each tier is already in the requested order, so a stable sort of both merges them.
+    private static <T> Page<T> merged(Pageable pageable, Tier<T> hot, Tier<T> archive) {
+        Comparator<T> order = comparator(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            List<T> rows = new ArrayList<>(hot.rows(0, Integer.MAX_VALUE));
+            rows.addAll(archive.rows(0, Integer.MAX_VALUE));
+            rows.sort(order);
+            return new PageImpl<>(rows);
+        }
+        long offset = pageable.getOffset();
+        int wanted = Math.toIntExact(Math.min(Integer.MAX_VALUE, offset + pageable.getPageSize()));
+        List<T> rows = new ArrayList<>(hot.rows(0, wanted));
+        rows.addAll(archive.rows(0, wanted));
+        rows.sort(order);
+        List<T> page = rows.subList((int) Math.min(offset, rows.size()), Math.min(wanted, rows.size()));
+        return PageableExecutionUtils.getPage(new ArrayList<>(page), pageable, () -> hot.count() + archive.count());
+    }
+
+    private static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable<Object>> natural = Comparator.naturalOrder();
+            Comparator<Comparable<Object>> direction = order.isAscending() ? natural : natural.reversed();
+            Comparator<Comparable<Object>> values = switch (order.getNullHandling()) {
+                case NULLS_FIRST -> Comparator.nullsFirst(direction);
+                case NULLS_LAST -> Comparator.nullsLast(direction);
+                case NATIVE -> order.isAscending() ? Comparator.nullsFirst(direction) : Comparator.nullsLast(direction);
+            };
+            comparator = comparator.thenComparing(row -> sortValue(row, order), values);
+        }
+        return comparator;
+    }
+
+    // Compared the way the database orders the column: enums are stored by name.
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> sortValue(Object row, Sort.Order order) {
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Object value = bean.isReadableProperty(order.getProperty())
+                ? bean.getPropertyValue(order.getProperty())
+                : PropertyAccessorFactory.forDirectFieldAccess(row).getPropertyValue(order.getProperty()); // records
+        if (value instanceof Enum<?> constant) {
+            value = constant.name();
+        }
+        if (order.isIgnoreCase() && value instanceof String text) {
+            value = text.toLowerCase(Locale.ROOT);
+        }
+        return (Comparable<Object>) value;
+    }
+
+    /** The entities of {@code type} matching {@code spec}, as {@code SimpleJpaRepository} would query them. */
+    static <T> Tier<T> entities(EntityManager entityManager, Class<T> type, Specification<T> spec, Sort sort) {
+        return new Tier<>() {
+            @Override
+            public List<T> rows(long offset, int limit) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<T> criteria = cb.createQuery(type);
+                Root<T> root = criteria.from(type);
+                criteria.select(root);
+                where(criteria, spec.toPredicate(root, criteria, cb));
+                if (sort.isSorted()) {
+                    criteria.orderBy(QueryUtils.toOrders(sort, root, cb));
+                }
+                return limit(entityManager.createQuery(criteria), offset, limit).getResultList();
+            }
+
+            @Override
+            public long count() {
+                return TieredPages.count(entityManager, type, spec);
+            }
+        };
+    }
+
+    static <T> long count(EntityManager entityManager, Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<T> root = criteria.from(type);
+        criteria.select(cb.count(root));
+        where(criteria, spec.toPredicate(root, criteria, cb));
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    // A specification without filters has no predicate at all.
+    static void where(CriteriaQuery<?> criteria, Predicate predicate) {
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+    }
+
+    static <X> TypedQuery<X> limit(TypedQuery<X> query, long offset, int limit) {
+        if (offset > 0) {
+            query.setFirstResult(Math.toIntExact(offset));
+        }
+        if (limit < Integer.MAX_VALUE) {
+            query.setMaxResults(limit);
+        }
+        return query;
+    }
+}
@@ -2,64 +2,25 @@ package webapp.bankingsystemapi.repo;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import webapp.bankingsystemapi.enums.TransactionStatus;
-import webapp.bankingsystemapi.enums.TransactionType;
+import webapp.bankingsystemapi.DTO.admin.transaction.DailyTransactionTotalsView;
 import webapp.bankingsystemapi.model.Transaction;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
-public interface TransactionRepo extends JpaRepository<Transaction, Long> {
-
-
-    @Query("""
-    SELECT t FROM Transaction t
-    WHERE t.account.accountNumber = :accountNumber
-      AND (:fromDateTime IS NULL OR t.createdAt >= :fromDateTime)
-      AND (:toDateTime IS NULL OR t.createdAt <= :toDateTime)
-      AND (:minAmount IS NULL OR t.amount >= :minAmount)
-      AND (:maxAmount IS NULL OR t.amount <= :maxAmount)
-      ORDER BY t.createdAt DESC
-""")
-    Page<Transaction> filterStatements(
-            @Param("accountNumber") String accountNumber,
-            @Param("fromDateTime") LocalDateTime fromDateTime,
-            @Param("toDateTime") LocalDateTime toDateTime,
-            @Param("minAmount") Double minAmount,
-            @Param("maxAmount") Double maxAmount,
-            Pageable pageable
-    );
-
-    @Query("""
-    SELECT t FROM Transaction t
-    JOIN t.account a
-    JOIN a.user u
-    WHERE (:accountNumber IS NULL OR a.accountNumber = :accountNumber)
-      AND (:userEmail IS NULL OR u.email = :userEmail)
-      AND (:type IS NULL OR t.type = :type)
-      AND (:status IS NULL OR t.status = :status)
-      AND (:fromDate IS NULL OR t.createdAt >= :fromDate)
-      AND (:toDate IS NULL OR t.createdAt <= :toDate)
-      AND (:minAmount IS NULL OR t.amount >= :minAmount)
-      AND (:maxAmount IS NULL OR t.amount <= :maxAmount)
-""")
-    Page<Transaction> filterAdminTransactions(
-            String accountNumber,
-            String userEmail,
-            TransactionType type,
-            TransactionStatus status,
-            LocalDateTime fromDate,
-            LocalDateTime toDate,
-            Double minAmount,
-            Double maxAmount,
-            Pageable pageable
-    );
-
+public interface TransactionRepo extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionStatementQueries, AdminTransactionQueries {
 
+    // Accounts come with the page; the admin mapper shows their account number.
+    @EntityGraph(attributePaths = "account")
     @Query("SELECT t FROM Transaction t")
     Page<Transaction> getAllTransactions(Pageable pageable);
 
@@ -70,16 +31,34 @@ public interface TransactionRepo extends JpaRepository<Transaction, Long> {
 
 
     @Query("""
-    SELECT COUNT(t.id), COALESCE(SUM(t.amount), 0)
+    SELECT t.type AS type, t.status AS status, COUNT(t.id) AS txCount, COALESCE(SUM(t.amount), 0) AS totalAmount
     FROM Transaction t
-    WHERE t.status = 'SUCCESS'
-      AND t.createdAt >= :start
+    WHERE t.createdAt >= :start
       AND t.createdAt < :end
+    GROUP BY t.type, t.status
 """)
-    Object getTodayTransactionStats(
-            LocalDateTime start,
-            LocalDateTime end
-    );
+    List<DailyTransactionTotalsView> summarize(@Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end);
+
+    @Query("SELECT MIN(t.createdAt) FROM Transaction t")
+    LocalDateTime findFirstCreatedAt();
+
+    // One month to TRANSACTIONS_ARCHIVE; APPEND makes it a direct-path, compressed insert on Oracle.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT /*+ APPEND */ INTO TRANSACTIONS_ARCHIVE
+                (ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, DESCRIPTION, STATUS,
+                 REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT, TRANSFER_ID)
+            SELECT ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, DESCRIPTION, STATUS,
+                   REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT, TRANSFER_ID
+            FROM TRANSACTIONS
+            WHERE CREATED_AT >= :from
+              AND CREATED_AT < :to
+            """)
+    int copyToArchive(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
 
 }
@@ -0,0 +1,36 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import webapp.bankingsystemapi.DTO.transaction.StatementRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Customer statement reads, selected as {@link StatementRow}s rather than loaded as
+ * {@code Transaction} entities: nothing enters the persistence context, so there are no
+ * snapshots to keep or dirty-check and no account proxies to create per row.
+ */
+public interface TransactionStatementQueries {
+
+    Page<StatementRow> filterStatements(Long accountId,
+                                        LocalDateTime fromDateTime,
+                                        LocalDateTime toDateTime,
+                                        Long minAmount,
+                                        Long maxAmount,
+                                        Pageable pageable);
+
+    /**
+     * Keyset page: up to {@code limit} rows after {@code (afterCreatedAt, afterId)}, or from
+     * the newest row when no position is given. No OFFSET and no count query.
+     */
+    List<StatementRow> findStatementPage(Long accountId,
+                                         LocalDateTime afterCreatedAt,
+                                         Long afterId,
+                                         LocalDateTime fromDateTime,
+                                         LocalDateTime toDateTime,
+                                         Long minAmount,
+                                         Long maxAmount,
+                                         int limit);
+}
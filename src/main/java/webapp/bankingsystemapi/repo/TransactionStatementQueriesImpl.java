@@ -0,0 +1,140 @@
+package webapp.bankingsystemapi.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import webapp.bankingsystemapi.DTO.transaction.StatementRow;
+import webapp.bankingsystemapi.archive.ArchiveTiers;
+import webapp.bankingsystemapi.archive.ArchivedTable;
+import webapp.bankingsystemapi.archive.TierSplit;
+import webapp.bankingsystemapi.model.ArchivedTransaction;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.repo.spec.ArchiveTierSpecifications;
+import webapp.bankingsystemapi.repo.spec.TransactionSpecifications;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Same predicates and index order as before (TransactionSpecifications), only the select list changed.
+// Archived months are read from TRANSACTIONS_ARCHIVE, which has the same index, after the hot rows.
+class TransactionStatementQueriesImpl implements TransactionStatementQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ArchiveTiers archiveTiers;
+
+    TransactionStatementQueriesImpl(ArchiveTiers archiveTiers) {
+        this.archiveTiers = archiveTiers;
+    }
+
+    @Override
+    public Page<StatementRow> filterStatements(Long accountId,
+                                               LocalDateTime fromDateTime,
+                                               LocalDateTime toDateTime,
+                                               Long minAmount,
+                                               Long maxAmount,
+                                               Pageable pageable) {
+        TierSplit split = archiveTiers.split(ArchivedTable.TRANSACTIONS, fromDateTime, toDateTime);
+        TieredPages.Tier<StatementRow> hot = null;
+        TieredPages.Tier<StatementRow> archive = null;
+        if (split.hot()) {
+            hot = tier(Transaction.class, TransactionSpecifications.<Transaction>statement(
+                            accountId, fromDateTime, toDateTime, minAmount, maxAmount)
+                    .and(ArchiveTierSpecifications.hot(split.archivedBefore())), pageable.getSort());
+        }
+        if (split.archive()) {
+            archive = tier(ArchivedTransaction.class, TransactionSpecifications.<ArchivedTransaction>statement(
+                            accountId, fromDateTime, toDateTime, minAmount, maxAmount)
+                    .and(ArchiveTierSpecifications.archived(split.archivedBefore())), pageable.getSort());
+        }
+        return TieredPages.page(pageable, hot, archive);
+    }
+
+    @Override
+    public List<StatementRow> findStatementPage(Long accountId,
+                                                LocalDateTime afterCreatedAt,
+                                                Long afterId,
+                                                LocalDateTime fromDateTime,
+                                                LocalDateTime toDateTime,
+                                                Long minAmount,
+                                                Long maxAmount,
+                                                int limit) {
+        // Past a position in the archived months, the hot table has nothing left to give.
+        LocalDateTime upTo = afterCreatedAt != null && (toDateTime == null || afterCreatedAt.isBefore(toDateTime))
+                ? afterCreatedAt
+                : toDateTime;
+        TierSplit split = archiveTiers.split(ArchivedTable.TRANSACTIONS, fromDateTime, upTo);
+        List<StatementRow> rows = List.of();
+        if (split.hot()) {
+            rows = keyset(Transaction.class, ArchiveTierSpecifications.hot(split.archivedBefore()),
+                    accountId, afterCreatedAt, afterId, fromDateTime, toDateTime, minAmount, maxAmount, limit);
+        }
+        if (!split.archive() || rows.size() >= limit) {
+            return rows;
+        }
+        List<StatementRow> page = new ArrayList<>(rows);
+        page.addAll(keyset(ArchivedTransaction.class, ArchiveTierSpecifications.archived(split.archivedBefore()),
+                accountId, afterCreatedAt, afterId, fromDateTime, toDateTime, minAmount, maxAmount, limit - rows.size()));
+        return page;
+    }
+
+    private <T> List<StatementRow> keyset(Class<T> type,
+                                          Specification<T> tier,
+                                          Long accountId,
+                                          LocalDateTime afterCreatedAt,
+                                          Long afterId,
+                                          LocalDateTime fromDateTime,
+                                          LocalDateTime toDateTime,
+                                          Long minAmount,
+                                          Long maxAmount,
+                                          int limit) {
+        Specification<T> spec = TransactionSpecifications.<T>statement(
+                accountId, fromDateTime, toDateTime, minAmount, maxAmount).and(tier);
+        if (afterCreatedAt != null) {
+            spec = spec.and(TransactionSpecifications.before(afterCreatedAt, afterId));
+        }
+        CriteriaQuery<StatementRow> criteria = rows(type, spec.and(TransactionSpecifications.newestFirst()),
+                Sort.unsorted(), entityManager.getCriteriaBuilder());
+        return entityManager.createQuery(criteria).setMaxResults(limit).getResultList();
+    }
+
+    private <T> TieredPages.Tier<StatementRow> tier(Class<T> type, Specification<T> spec, Sort sort) {
+        return new TieredPages.Tier<>() {
+            @Override
+            public List<StatementRow> rows(long offset, int limit) {
+                CriteriaQuery<StatementRow> criteria = TransactionStatementQueriesImpl.rows(
+                        type, spec, sort, entityManager.getCriteriaBuilder());
+                return TieredPages.limit(entityManager.createQuery(criteria), offset, limit).getResultList();
+            }
+
+            @Override
+            public long count() {
+                return TieredPages.count(entityManager, type, spec);
+            }
+        };
+    }
+
+    private static <T> CriteriaQuery<StatementRow> rows(Class<T> type, Specification<T> spec, Sort sort, CriteriaBuilder cb) {
+        CriteriaQuery<StatementRow> criteria = cb.createQuery(StatementRow.class);
+        Root<T> t = criteria.from(type);
+        // Every newest-first sort key is selected, account id included: sort keys the
+        // select list lacks make H2 give up walking TRANSACTIONS_ACCOUNT_CREATED_IX in order.
+        criteria.select(cb.construct(StatementRow.class,
+                        t.get("id"), t.get("account").get("id"), t.get("referenceNumber"), t.get("type"), t.get("amount"), t.get("status"),
+                        t.get("beforeAmount"), t.get("remainingAmount"), t.get("description"), t.get("createdAt")))
+                .where(spec.toPredicate(t, criteria, cb));
+        if (sort.isSorted()) {
+            criteria.orderBy(QueryUtils.toOrders(sort, t, cb));
+        }
+        return criteria;
+    }
+}
@@ -1,49 +1,60 @@
 package webapp.bankingsystemapi.repo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import webapp.bankingsystemapi.DTO.user.UserSearchSourceView;
+import webapp.bankingsystemapi.DTO.user.UserSecurityVersionView;
 import webapp.bankingsystemapi.enums.Role;
 import webapp.bankingsystemapi.enums.UserStatus;
 import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.spec.UserSpecifications;
+import webapp.bankingsystemapi.search.UserSearchMode;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepo extends JpaRepository<User, Long> {
+public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 //    @Query(" Select u from User u where u.email = :email")
     Optional<User> findByEmail(String email);
 
     Boolean existsByEmail(String email);
 
-    @Query("""
-    SELECT u FROM User u
-    WHERE (:fullName IS NULL OR u.fullName LIKE %:fullName%)
-      AND (:email IS NULL OR u.email LIKE %:email%)
-      AND (:role IS NULL OR u.role = :role)
-      AND (:status IS NULL OR u.status = :status)
-      AND (:isActive IS NULL OR u.isActive = :isActive)
-      AND (:fromDate IS NULL OR u.createdAt >= :fromDate)
-      AND (:toDate IS NULL OR u.createdAt <= :toDate)
-""")
-    Page<User> filterUsers(
-            @Param("fullName") String fullName,
-            @Param("email") String email,
-            @Param("role") Role role,
-            @Param("status") UserStatus status,
-            @Param("isActive") Boolean isActive,
-            @Param("fromDate") LocalDateTime fromDate,
-            @Param("toDate") LocalDateTime toDate,
-            Pageable pageable
-    );
+    default Page<User> filterUsers(String fullName,
+                                   String email,
+                                   Role role,
+                                   UserStatus status,
+                                   Boolean isActive,
+                                   LocalDateTime fromDate,
+                                   LocalDateTime toDate,
+                                   UserSearchMode searchMode,
+                                   Pageable pageable) {
+        return findAll(UserSpecifications.adminFilter(
+                fullName, email, role, status, isActive, fromDate, toDate, searchMode), pageable);
+    }
 
     long count();
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.isActive = true")
     long countActiveUsers();
 
+    @Query("SELECT u.email AS email, u.securityVersion AS securityVersion, u.securityUpdatedAt AS securityUpdatedAt FROM User u WHERE u.securityVersion > 0")
+    List<UserSecurityVersionView> findRaisedSecurityVersions();
+
+    @Query("SELECT u.email AS email, u.securityVersion AS securityVersion, u.securityUpdatedAt AS securityUpdatedAt FROM User u WHERE u.securityUpdatedAt >= :since")
+    List<UserSecurityVersionView> findSecurityVersionsChangedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.securityVersion FROM User u WHERE u.email = :email")
+    Optional<Long> findSecurityVersionByEmail(@Param("email") String email);
+
+    @Query("SELECT u.id AS id, u.email AS email, u.fullName AS fullName FROM User u WHERE u.id > :afterId AND NOT EXISTS (SELECT t.id FROM UserSearchToken t WHERE t.userId = u.id) ORDER BY u.id")
+    List<UserSearchSourceView> findUsersWithoutSearchTokens(@Param("afterId") Long afterId, Limit limit);
+
 }
@@ -0,0 +1,16 @@
+package webapp.bankingsystemapi.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import webapp.bankingsystemapi.model.UserSearchToken;
+
+@Repository
+public interface UserSearchTokenRepo extends JpaRepository<UserSearchToken, Long> {
+
+    @Modifying
+    @Query("DELETE FROM UserSearchToken t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
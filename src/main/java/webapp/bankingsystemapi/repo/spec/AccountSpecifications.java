@@ -0,0 +1,55 @@
+package webapp.bankingsystemapi.repo.spec;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.UserSearchField;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.search.UserSearchMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Admin account search; predicates only for the filters that are set. */
+public final class AccountSpecifications {
+
+    private AccountSpecifications() {}
+
+    public static Specification<Account> adminFilter(String accountNumber,
+                                                     String userEmail,
+                                                     AccountStatus status,
+                                                     AccountType type,
+                                                     Long minBalance,
+                                                     Long maxBalance,
+                                                     UserSearchMode searchMode) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            // The page fetches the owner for its id and email; the count query joins USERS
+            // only for an email search that reads the column.
+            Join<Account, User> pageUser = SpecificationSupport.fetchForPage(root, query, "user", false);
+            if (accountNumber != null) {
+                predicates.add(cb.equal(root.get("accountNumber"), accountNumber));
+            }
+            if (userEmail != null) {
+                predicates.add(UserSearchPredicates.matches(root.get("user").get("id"), () -> (pageUser != null ? pageUser : root.join("user")).get("email"),
+                        UserSearchField.EMAIL, userEmail, searchMode, query, cb));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (type != null) {
+                predicates.add(cb.equal(root.get("type"), type));
+            }
+            if (minBalance != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("balance"), minBalance));
+            }
+            if (maxBalance != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("balance"), maxBalance));
+            }
+            return SpecificationSupport.allOf(cb, predicates);
+        };
+    }
+}
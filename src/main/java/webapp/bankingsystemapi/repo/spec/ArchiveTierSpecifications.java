@@ -0,0 +1,27 @@
+package webapp.bankingsystemapi.repo.spec;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Splits a history at its archive boundary (model.ArchiveBoundary). Each tier is read
+ * only for its own side, so a row copied to the archive but not yet deleted from the hot
+ * table is returned once. Both compare CREATED_AT directly, which is also what lets Oracle
+ * prune the monthly partitions.
+ */
+public final class ArchiveTierSpecifications {
+
+    private ArchiveTierSpecifications() {}
+
+    /** The hot table's side; everything when nothing has been archived. */
+    public static <T> Specification<T> hot(LocalDateTime archivedBefore) {
+        return (root, query, cb) -> archivedBefore == null
+                ? null
+                : cb.greaterThanOrEqualTo(root.get("createdAt"), archivedBefore);
+    }
+
+    public static <T> Specification<T> archived(LocalDateTime archivedBefore) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), archivedBefore);
+    }
+}
@@ -0,0 +1,42 @@
+package webapp.bankingsystemapi.repo.spec;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Admin audit search on AuditLog or ArchivedAuditLog; predicates only for the filters that are set. */
+public final class AuditLogSpecifications {
+
+    private AuditLogSpecifications() {}
+
+    public static <T> Specification<T> adminFilter(String userEmail,
+                                                      AuditAction action,
+                                                      AuditEntityType entityType,
+                                                      LocalDateTime fromDate,
+                                                      LocalDateTime toDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (userEmail != null) {
+                predicates.add(cb.equal(root.get("performedBy"), userEmail));
+            }
+            if (action != null) {
+                predicates.add(cb.equal(root.get("audit"), action));
+            }
+            if (entityType != null) {
+                predicates.add(cb.equal(root.get("entityType"), entityType));
+            }
+            if (fromDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), fromDate));
+            }
+            if (toDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), toDate));
+            }
+            return SpecificationSupport.allOf(cb, predicates);
+        };
+    }
+}
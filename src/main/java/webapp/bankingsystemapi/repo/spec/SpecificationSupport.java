@@ -0,0 +1,38 @@
+package webapp.bankingsystemapi.repo.spec;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.List;
+
+final class SpecificationSupport {
+
+    private SpecificationSupport() {}
+
+    // No filters set means no WHERE clause at all, rather than "where 1=1".
+    static Predicate allOf(CriteriaBuilder cb, List<Predicate> predicates) {
+        return predicates.isEmpty() ? null : cb.and(predicates.toArray(Predicate[]::new));
+    }
+
+    /**
+     * Joins {@code attribute} for filtering, fetching it with the rows when the query is the
+     * page itself, so the mapper does not load it one row at a time. A page's count query
+     * selects no entity to fetch into and only gets the join, or nothing when
+     * {@code needed} is false.
+     */
+    @SuppressWarnings("unchecked")
+    static <X, Y> Join<X, Y> fetchForPage(Root<X> root, CriteriaQuery<?> query, String attribute, boolean needed) {
+        if (!isCount(query)) {
+            // Hibernate's fetches are joins too, so filters can use the same one
+            return (Join<X, Y>) root.<X, Y>fetch(attribute);
+        }
+        return needed ? root.join(attribute) : null;
+    }
+
+    private static boolean isCount(CriteriaQuery<?> query) {
+        return query.getResultType() == Long.class || query.getResultType() == long.class;
+    }
+}
@@ -0,0 +1,52 @@
+package webapp.bankingsystemapi.repo.spec;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import webapp.bankingsystemapi.enums.UserSearchField;
+import webapp.bankingsystemapi.model.UserSearchToken;
+import webapp.bankingsystemapi.search.UserSearchMode;
+import webapp.bankingsystemapi.search.UserSearchTokens;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Email and full name filters shared by the user and account searches.
+ *
+ * In TOKEN mode every word of the term must prefix one of the user's words for that field;
+ * each word becomes {@code user_id IN (SELECT ... WHERE FIELD = ? AND TOKEN LIKE 'word%')},
+ * a range scan of USER_SEARCH_TOKENS_PREFIX_IX. The column itself is only read in
+ * CONTAINS mode, or for a term with no words at all (only punctuation).
+ */
+final class UserSearchPredicates {
+
+    private UserSearchPredicates() {}
+
+    static Predicate matches(Expression<Long> userId,
+                             Supplier<Expression<String>> column,
+                             UserSearchField field,
+                             String term,
+                             UserSearchMode mode,
+                             CriteriaQuery<?> query,
+                             CriteriaBuilder cb) {
+        List<String> words = mode == UserSearchMode.TOKEN ? UserSearchTokens.tokenize(term) : List.of();
+        if (words.isEmpty()) {
+            return cb.like(column.get(), "%" + term + "%");
+        }
+        List<Predicate> predicates = new ArrayList<>(words.size());
+        for (String word : words) {
+            Subquery<Long> tokens = query.subquery(Long.class);
+            Root<UserSearchToken> token = tokens.from(UserSearchToken.class);
+            tokens.select(token.get("userId")).where(
+                    cb.equal(token.get("field"), field),
+                    cb.like(token.get("token"), word + "%"));
+            predicates.add(userId.in(tokens));
+        }
+        return SpecificationSupport.allOf(cb, predicates);
+    }
+}
@@ -0,0 +1,56 @@
+package webapp.bankingsystemapi.repo.spec;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserSearchField;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.search.UserSearchMode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Admin user search; predicates only for the filters that are set. */
+public final class UserSpecifications {
+
+    private UserSpecifications() {}
+
+    public static Specification<User> adminFilter(String fullName,
+                                                  String email,
+                                                  Role role,
+                                                  UserStatus status,
+                                                  Boolean isActive,
+                                                  LocalDateTime fromDate,
+                                                  LocalDateTime toDate,
+                                                  UserSearchMode searchMode) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (fullName != null) {
+                predicates.add(UserSearchPredicates.matches(root.get("id"), () -> root.get("fullName"),
+                        UserSearchField.FULL_NAME, fullName, searchMode, query, cb));
+            }
+            if (email != null) {
+                predicates.add(UserSearchPredicates.matches(root.get("id"), () -> root.get("email"),
+                        UserSearchField.EMAIL, email, searchMode, query, cb));
+            }
+            if (role != null) {
+                predicates.add(cb.equal(root.get("role"), role));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (isActive != null) {
+                predicates.add(cb.equal(root.get("isActive"), isActive));
+            }
+            if (fromDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), fromDate));
+            }
+            if (toDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), toDate));
+            }
+            return SpecificationSupport.allOf(cb, predicates);
+        };
+    }
+}
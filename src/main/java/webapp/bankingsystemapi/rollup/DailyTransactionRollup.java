@@ -0,0 +1,335 @@
+package webapp.bankingsystemapi.rollup;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.DTO.admin.transaction.DailyTransactionTotalsView;
+import webapp.bankingsystemapi.model.DailyTransactionStat;
+import webapp.bankingsystemapi.model.DailyTransactionStatId;
+import webapp.bankingsystemapi.model.RollupCheckpoint;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.repo.DailyTransactionStatRepo;
+import webapp.bankingsystemapi.repo.RollupCheckpointRepo;
+import webapp.bankingsystemapi.repo.TransactionRepo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintains DAILY_TRANSACTION_STATS, one row per day, type and status.
+ *
+ * Committed postings add their legs to in-memory deltas, which a background job
+ * merges into the table every {@code banking.rollup.flush-millis}; postings never touch
+ * the shared rollup rows themselves, so they do not queue on them. A day closes
+ * {@code banking.rollup.close-grace-minutes} after its midnight, once postings created
+ * on it have committed: from then on its deltas are dropped, on every node. Another grace
+ * period later, when no flush of the day can still be running, the batch job (once the
+ * application is ready, then every {@code banking.rollup.recompute-millis}) rebuilds the day once from TRANSACTIONS and
+ * moves the ROLLUP_CHECKPOINTS row past it, so empty days are settled too and deltas
+ * lost with a node that went down before flushing them are repaired. Open days hold
+ * what was flushed. Reads see the table plus this node's unflushed deltas; they wait for
+ * a flush or for the one day being rebuilt, never for a whole backfill.
+ */
+@Slf4j
+@Component
+public class DailyTransactionRollup {
+
+    private static final String ROLLUP = "DAILY_TRANSACTION_STATS";
+
+    private final DailyTransactionStatRepo statRepo;
+    private final TransactionRepo transactionRepo;
+    private final RollupCheckpointRepo checkpointRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final long flushMillis;
+    private final long recomputeMillis;
+    private final long graceMinutes;
+    private volatile ScheduledFuture<?> flusher;
+    private volatile ScheduledFuture<?> backfiller;
+    private final Map<DailyTransactionStatId, Delta> pending = new ConcurrentHashMap<>();
+    // held while deltas are between pending and the table: a flush, or one day's rebuild
+    private final Object moving = new Object();
+    // bumped as each of those starts
+    private final AtomicLong moves = new AtomicLong();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DailyTransactionRollup(DailyTransactionStatRepo statRepo,
+                                  TransactionRepo transactionRepo,
+                                  RollupCheckpointRepo checkpointRepo,
+                                  PlatformTransactionManager transactionManager,
+                                  TaskScheduler taskScheduler,
+                                  @Value("${banking.rollup.flush-millis:1000}") long flushMillis,
+                                  @Value("${banking.rollup.recompute-millis:3600000}") long recomputeMillis,
+                                  @Value("${banking.rollup.close-grace-minutes:10}") long graceMinutes) {
+        this.statRepo = statRepo;
+        this.transactionRepo = transactionRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskScheduler = taskScheduler;
+        this.flushMillis = Math.max(1, flushMillis);
+        this.recomputeMillis = Math.max(1, recomputeMillis);
+        this.graceMinutes = Math.max(0, graceMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Duration flushEvery = Duration.ofMillis(flushMillis);
+        flusher = taskScheduler.scheduleWithFixedDelay(quietly("flush", this::flush),
+                Instant.now().plus(flushEvery), flushEvery);
+        backfiller = taskScheduler.scheduleWithFixedDelay(quietly("backfill", this::backfill),
+                Duration.ofMillis(recomputeMillis));
+    }
+
+    /** Counts the legs once the surrounding transaction (if any) commits. */
+    public void record(Transaction... transactions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(transactions);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(transactions);
+            }
+        });
+    }
+
+    // Legs of a closed day are left to the batch job, which counts them from TRANSACTIONS.
+    private void add(Transaction... transactions) {
+        LocalDate firstOpen = firstOpenDay();
+        for (Transaction transaction : transactions) {
+            LocalDate day = transaction.getCreatedAt() != null
+                    ? transaction.getCreatedAt().toLocalDate()
+                    : LocalDate.now();
+            if (day.isBefore(firstOpen)) {
+                continue;
+            }
+            pending.merge(new DailyTransactionStatId(day, transaction.getType(), transaction.getStatus()),
+                    new Delta(1, transaction.getAmount()), Delta::plus);
+        }
+    }
+
+    /**
+     * Rows for {@code from..to}, oldest first, including deltas not yet flushed. Waits for a
+     * running flush or day rebuild, whose deltas are in neither place until it commits.
+     */
+    public List<DailyTransactionStat> range(LocalDate from, LocalDate to) {
+        Map<DailyTransactionStatId, DailyTransactionStat> rows = new LinkedHashMap<>();
+        synchronized (moving) {
+            addStored(rows, from, to);
+            addPending(rows, from, to);
+        }
+        return sorted(rows);
+    }
+
+    /**
+     * The table's rows for {@code from..to}, without this node's unflushed deltas, which
+     * {@link #unflushed} adds. Waits for a running flush or day rebuild.
+     */
+    public Stored stored(LocalDate from, LocalDate to) {
+        Map<DailyTransactionStatId, DailyTransactionStat> rows = new LinkedHashMap<>();
+        synchronized (moving) {
+            addStored(rows, from, to);
+            return new Stored(sorted(rows), moves.get());
+        }
+    }
+
+    /**
+     * This node's unflushed deltas for {@code from..to} as rows, or null if a flush or day
+     * rebuild started since {@code stored} was read, as it may have moved some of them into
+     * the table. Never waits, so it can run while commits are held back.
+     */
+    public List<DailyTransactionStat> unflushed(LocalDate from, LocalDate to, Stored stored) {
+        if (moves.get() != stored.moves()) {
+            return null;
+        }
+        Map<DailyTransactionStatId, DailyTransactionStat> rows = new LinkedHashMap<>();
+        addPending(rows, from, to);
+        // a move takes deltas out of pending only after bumping the count
+        return moves.get() == stored.moves() ? sorted(rows) : null;
+    }
+
+    /**
+     * Merges the pending deltas of open days into the table; on failure they are kept for
+     * the next run. Deltas of days that closed meanwhile are dropped.
+     */
+    public void flush() {
+        synchronized (moving) {
+            moves.incrementAndGet();
+            LocalDate firstOpen = firstOpenDay();
+            Map<DailyTransactionStatId, Delta> taken = new LinkedHashMap<>();
+            for (DailyTransactionStatId id : pending.keySet()) {
+                Delta delta = pending.remove(id);
+                if (delta != null && !id.getStatDate().isBefore(firstOpen)) {
+                    taken.put(id, delta);
+                }
+            }
+            if (taken.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> taken.forEach((id, delta) ->
+                        statRepo.add(id.getStatDate(), id.getType().name(), id.getStatus().name(), delta.count, delta.amount)));
+            } catch (RuntimeException e) {
+                taken.forEach((id, delta) -> pending.merge(id, delta, Delta::plus));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * The batch job: rebuilds, oldest first, every day after the checkpoint that closed at
+     * least a grace period ago, and returns how many it settled. Each day is rebuilt and
+     * its checkpoint moved on its own, so reads and flushes wait for one day at most.
+     */
+    public int backfill() {
+        LocalDate settleBefore = LocalDateTime.now().minusMinutes(2 * graceMinutes).toLocalDate();
+        LocalDate from = checkpointRepo.findById(ROLLUP)
+                .map(checkpoint -> checkpoint.getSettledThrough().plusDays(1))
+                .orElse(null);
+        boolean first = from == null;
+        if (first) {
+            LocalDateTime oldest = transactionRepo.findFirstCreatedAt();
+            if (oldest == null) {
+                return 0;
+            }
+            from = oldest.toLocalDate();
+        }
+        int settled = 0;
+        for (LocalDate day = from; day.isBefore(settleBefore); day = day.plusDays(1)) {
+            LocalDate settling = day;
+            boolean created = first && settled == 0;
+            // The checkpoint row is moved first, so a node (or a second run on this one)
+            // running the job at the same time rebuilds nothing and rolls back.
+            Boolean moved;
+            synchronized (moving) {
+                moved = transactionTemplate.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    if (created) {
+                        if (checkpointRepo.existsById(ROLLUP)) {
+                            return false;
+                        }
+                        checkpointRepo.saveAndFlush(new RollupCheckpoint(ROLLUP, settling, now));
+                    } else if (checkpointRepo.advance(ROLLUP, settling.minusDays(1), settling, now) != 1) {
+                        return false;
+                    }
+                    replaceDay(settling);
+                    return true;
+                });
+            }
+            if (!Boolean.TRUE.equals(moved)) {
+                log.info("Daily transaction rollup checkpoint moved by another node");
+                break;
+            }
+            settled++;
+        }
+        return settled;
+    }
+
+    /**
+     * Rebuilds a closed day from TRANSACTIONS, for repairs; the batch job settles days on
+     * its own. Open days are refused, their postings may still be adding to them.
+     */
+    public void recompute(LocalDate day) {
+        if (!day.isBefore(firstOpenDay())) {
+            throw new IllegalArgumentException(day + " is still open");
+        }
+        synchronized (moving) {
+            transactionTemplate.executeWithoutResult(status -> replaceDay(day));
+        }
+    }
+
+    // This node's unflushed deltas of a closed day are already in the count.
+    private void replaceDay(LocalDate day) {
+        moves.incrementAndGet();
+        pending.keySet().removeIf(id -> id.getStatDate().equals(day));
+        statRepo.deleteDay(day);
+        LocalDateTime start = day.atStartOfDay();
+        for (DailyTransactionTotalsView totals : transactionRepo.summarize(start, start.plusDays(1))) {
+            entityManager.persist(new DailyTransactionStat(
+                    new DailyTransactionStatId(day, totals.getType(), totals.getStatus()),
+                    totals.getTxCount(), totals.getTotalAmount()));
+        }
+    }
+
+    private void addStored(Map<DailyTransactionStatId, DailyTransactionStat> rows, LocalDate from, LocalDate to) {
+        for (DailyTransactionStat stored : statRepo.findRange(from, to)) {
+            rows.put(stored.getId(), new DailyTransactionStat(stored.getId(), stored.getTxCount(), stored.getTotalAmount()));
+        }
+    }
+
+    private void addPending(Map<DailyTransactionStatId, DailyTransactionStat> rows, LocalDate from, LocalDate to) {
+        pending.forEach((id, delta) -> {
+            if (!id.getStatDate().isBefore(from) && !id.getStatDate().isAfter(to)) {
+                DailyTransactionStat row = rows.computeIfAbsent(id, key -> new DailyTransactionStat(key, 0, 0));
+                row.setTxCount(row.getTxCount() + delta.count);
+                row.setTotalAmount(row.getTotalAmount() + delta.amount);
+            }
+        });
+    }
+
+    private static List<DailyTransactionStat> sorted(Map<DailyTransactionStatId, DailyTransactionStat> rows) {
+        List<DailyTransactionStat> result = new ArrayList<>(rows.values());
+        result.sort((a, b) -> a.getId().getStatDate().compareTo(b.getId().getStatDate()));
+        return result;
+    }
+
+    // Days before this one are closed: their postings have committed.
+    private LocalDate firstOpenDay() {
+        return LocalDateTime.now().minusMinutes(graceMinutes).toLocalDate();
+    }
+
+    private static Runnable quietly(String task, Runnable runnable) {
+        return () -> {
+            try {
+                runnable.run();
+            } catch (RuntimeException e) {
+                log.warn("Daily transaction rollup {} failed, will retry", task, e);
+            }
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ScheduledFuture<?> job : new ScheduledFuture<?>[] {flusher, backfiller}) {
+            if (job != null) {
+                job.cancel(false);
+            }
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Daily transaction rollup lost {} unflushed deltas on shutdown; recomputing their day restores them", pending.size(), e);
+        }
+    }
+
+    /** Table rows as of the {@code moves}-th flush or day rebuild. */
+    public record Stored(List<DailyTransactionStat> rows, long moves) {}
+
+    private record Delta(long count, long amount) {
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, amount + other.amount);
+        }
+    }
+}
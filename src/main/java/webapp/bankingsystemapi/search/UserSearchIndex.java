@@ -0,0 +1,138 @@
+package webapp.bankingsystemapi.search;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.DTO.user.UserSearchSourceView;
+import webapp.bankingsystemapi.enums.UserSearchField;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.model.UserSearchToken;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.repo.UserSearchTokenRepo;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps USER_SEARCH_TOKENS in step with the users' email and full name.
+ *
+ * Code that saves a user's searchable fields calls {@link #index} in the same transaction,
+ * so tokens and user commit together. On startup a background pass indexes every user
+ * that has no tokens yet (users loaded before this table existed, or by scripts); until it
+ * finishes, {@link #searchMode()} answers CONTAINS so no user is missed.
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    static final int BACKFILL_BATCH_SIZE = 1_000;
+
+    private final UserRepo userRepo;
+    private final UserSearchTokenRepo tokenRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSearchMode mode;
+    private final ExecutorService backfiller;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean ready;
+
+    public UserSearchIndex(UserRepo userRepo,
+                           UserSearchTokenRepo tokenRepo,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${banking.user-search.mode:token}") UserSearchMode mode) {
+        this.userRepo = userRepo;
+        this.tokenRepo = tokenRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = mode;
+        this.backfiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-search-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Mode the searches should run in right now. */
+    public UserSearchMode searchMode() {
+        return mode == UserSearchMode.TOKEN && ready ? UserSearchMode.TOKEN : UserSearchMode.CONTAINS;
+    }
+
+    /** Replaces the user's tokens; joins the caller's transaction. */
+    @Transactional
+    public void index(User user) {
+        tokenRepo.deleteByUserId(user.getId());
+        persistTokens(user.getId(), user.getEmail(), user.getFullName());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (mode == UserSearchMode.TOKEN) {
+            backfiller.execute(() -> {
+                try {
+                    long indexed = backfill();
+                    ready = true;
+                    log.info("User search index ready, {} users backfilled", indexed);
+                } catch (RuntimeException e) {
+                    log.error("User search backfill failed, searches stay in CONTAINS mode", e);
+                }
+            });
+        }
+    }
+
+    /** Indexes every user without tokens, {@link #BACKFILL_BATCH_SIZE} users per transaction. */
+    public long backfill() {
+        long indexed = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<UserSearchSourceView> users = transactionTemplate.execute(status -> {
+                List<UserSearchSourceView> batch =
+                        userRepo.findUsersWithoutSearchTokens(from, Limit.of(BACKFILL_BATCH_SIZE));
+                entityManager.unwrap(Session.class).setJdbcBatchSize(BACKFILL_BATCH_SIZE);
+                for (UserSearchSourceView user : batch) {
+                    persistTokens(user.getId(), user.getEmail(), user.getFullName());
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return batch;
+            });
+            if (users == null || users.isEmpty()) {
+                return indexed;
+            }
+            indexed += users.size();
+            afterId = users.get(users.size() - 1).getId();
+        }
+    }
+
+    private void persistTokens(Long userId, String email, String fullName) {
+        persistTokens(userId, UserSearchField.EMAIL, email);
+        persistTokens(userId, UserSearchField.FULL_NAME, fullName);
+    }
+
+    private void persistTokens(Long userId, UserSearchField field, String text) {
+        for (String token : UserSearchTokens.tokenize(text)) {
+            entityManager.persist(UserSearchToken.builder()
+                    .userId(userId)
+                    .field(field)
+                    .token(token)
+                    .build());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backfiller.shutdownNow();
+    }
+}
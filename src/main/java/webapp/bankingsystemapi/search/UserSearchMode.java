@@ -0,0 +1,12 @@
+package webapp.bankingsystemapi.search;
+
+/**
+ * How admin user and account searches match email and full name filters
+ * ({@code banking.user-search.mode}).
+ */
+public enum UserSearchMode {
+    /** Query words must prefix a word of the field; resolved through USER_SEARCH_TOKENS. */
+    TOKEN,
+    /** The original {@code LIKE '%term%'} over the column; scans every user. */
+    CONTAINS
+}
@@ -0,0 +1,38 @@
+package webapp.bankingsystemapi.search;
+
+import webapp.bankingsystemapi.model.UserSearchToken;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits emails and names into the words stored in USER_SEARCH_TOKENS. The same split is
+ * applied to search terms, so {@code "Jane Doe"} finds {@code "Doe, Jane"} and
+ * {@code "jane.doe@"} finds {@code "jane.doe@example.com"}.
+ */
+public final class UserSearchTokens {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private UserSearchTokens() {}
+
+    /** Distinct lowercased words of {@code text}, in order of first appearance. */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                tokens.add(word.length() > UserSearchToken.MAX_TOKEN_LENGTH
+                        ? word.substring(0, UserSearchToken.MAX_TOKEN_LENGTH)
+                        : word);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+}
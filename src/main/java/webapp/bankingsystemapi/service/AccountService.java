@@ -4,8 +4,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import webapp.bankingsystemapi.DTO.account.AccountCreateRequest;
 import webapp.bankingsystemapi.DTO.account.AccountView;
+import webapp.bankingsystemapi.DTO.admin.account.AccountCacheResponse;
 import webapp.bankingsystemapi.DTO.admin.account.AdminAccountFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.account.AdminAccountResponse;
+import webapp.bankingsystemapi.DTO.admin.account.LedgerBalanceResponse;
 import webapp.bankingsystemapi.enums.AccountStatus;
 
 import java.util.List;
@@ -16,6 +18,8 @@ public interface AccountService {
 
     AccountView createAccount(AccountCreateRequest request, String email);
 
+    List<AccountView> createAccounts(List<AccountCreateRequest> requests, String email);
+
     List<AccountView> getAccountByUser(String email);
 
     AccountView getAccountById(Long accountId);
@@ -25,4 +29,8 @@ public interface AccountService {
     Page<AdminAccountResponse> getAllAccounts(Pageable pageable);
 
     void changeStatus(Long id, AccountStatus status);
+
+    LedgerBalanceResponse getLedgerBalance(String accountNumber);
+
+    AccountCacheResponse getCacheMetrics();
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package webapp.bankingsystemapi.service;
 
+import webapp.bankingsystemapi.DTO.admin.ReplicaStatusResponse;
 import webapp.bankingsystemapi.DTO.admin.SystemOverviewResponse;
+import webapp.bankingsystemapi.DTO.admin.transaction.DailyTransactionStatsResponse;
+
+import java.util.List;
 
 
 public interface AdminAggregateService {
     SystemOverviewResponse getSystemOverview();
+    List<DailyTransactionStatsResponse> getDailyTransactionStats(int days);
+    ReplicaStatusResponse getReplicaStatus();
 }
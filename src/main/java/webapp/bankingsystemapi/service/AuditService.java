@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import webapp.bankingsystemapi.DTO.admin.audit.AuditFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.audit.AuditLogResponse;
+import webapp.bankingsystemapi.DTO.admin.audit.AuditPipelineResponse;
 import webapp.bankingsystemapi.enums.AuditAction;
 import webapp.bankingsystemapi.enums.AuditEntityType;
 
@@ -15,6 +16,8 @@ public interface AuditService {
     Page<AuditLogResponse> getAllAudits(Pageable pageable);
     Page<AuditLogResponse> filterAudits(AuditFilterRequest request, Pageable pageable);
 
+    AuditPipelineResponse getPipelineMetrics();
+
 
 
 }
@@ -4,9 +4,11 @@ package webapp.bankingsystemapi.service;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import webapp.bankingsystemapi.DTO.admin.transaction.AdminTransactionFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.transaction.AdminTransactionResponse;
 import webapp.bankingsystemapi.DTO.transaction.*;
+import webapp.bankingsystemapi.export.StatementExportFormat;
 
 import java.util.List;
 
@@ -15,8 +17,16 @@ public interface TransactionService {
     TransactionResponse deposit(DepositRequest depositRequest,String email);
     TransactionResponse withdraw(WithdrawRequest withdrawRequest, String email);
     TransferResponse transfer(TransferRequest transferRequest, String email);
+    // Same postings, answered once per idempotency key (null runs them unconditionally)
+    TransactionResponse deposit(DepositRequest depositRequest, String email, String idempotencyKey);
+    TransactionResponse withdraw(WithdrawRequest withdrawRequest, String email, String idempotencyKey);
+    TransferResponse transfer(TransferRequest transferRequest, String email, String idempotencyKey);
+    BatchPostingResponse postBatch(BatchPostingRequest request, String email);
+    JournalResponse postJournal(JournalRequest request, String email);
     AdminTransactionResponse getTransaction(Long transactionId);
     Page<TransactionResponse> getStatement(StatementRequest request, String email, Pageable pageable );
+    StatementPageResponse getStatementPage(StatementRequest request, String cursor, int size, String email);
+    StreamingResponseBody exportStatement(StatementRequest request, StatementExportFormat format, String email);
     Page<AdminTransactionResponse> filterAdminTransactions(AdminTransactionFilterRequest request, Pageable pageable);
     Page<AdminTransactionResponse> getAllTransactions(Pageable pageable);
 }
@@ -1,7 +1,7 @@
 package webapp.bankingsystemapi.service.impl;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.config.PageableHandlerMethodArgumentResolverCustomizer;
@@ -10,26 +10,39 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import webapp.bankingsystemapi.DTO.account.AccountCreateRequest;
 import webapp.bankingsystemapi.DTO.account.AccountResponse;
 import webapp.bankingsystemapi.DTO.account.AccountView;
+import webapp.bankingsystemapi.DTO.admin.account.AccountCacheResponse;
 import webapp.bankingsystemapi.DTO.admin.account.AdminAccountFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.account.AdminAccountResponse;
+import webapp.bankingsystemapi.DTO.admin.account.LedgerBalanceResponse;
+import webapp.bankingsystemapi.cache.AccountSnapshot;
+import webapp.bankingsystemapi.cache.AccountSnapshotCache;
 import webapp.bankingsystemapi.enums.AccountStatus;
 import webapp.bankingsystemapi.enums.AuditAction;
 import webapp.bankingsystemapi.enums.AuditEntityType;
 import webapp.bankingsystemapi.exception.AccessDeniedException;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.metrics.DashboardCounters;
 import webapp.bankingsystemapi.exception.ResourceNotFoundException;
+import webapp.bankingsystemapi.ledger.LedgerCheckpoints;
 import webapp.bankingsystemapi.model.Account;
 import webapp.bankingsystemapi.model.User;
 import webapp.bankingsystemapi.repo.AccountRepo;
 import webapp.bankingsystemapi.repo.TransactionRepo;
 import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.search.UserSearchIndex;
 import webapp.bankingsystemapi.service.AccountService;
 import webapp.bankingsystemapi.service.AuditService;
 import webapp.bankingsystemapi.util.AccountNumberGenerator;
+import webapp.bankingsystemapi.util.Money;
 import webapp.bankingsystemapi.validation.UserValidator;
 
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -42,9 +55,17 @@ public class AccountServiceImpl implements AccountService {
     private final UserRepo userRepo;
     private final AuditService auditService;
     private final UserValidator userValidator;
+    private final UserSearchIndex userSearchIndex;
+    private final DashboardCounters dashboardCounters;
+    private final LedgerCheckpoints ledgerCheckpoints;
+    private final AccountSnapshotCache accountCache;
+
+    @Value("${banking.account.create.max-items:100}")
+    private int createMaxItems;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public Page<AdminAccountResponse> filterAccounts(AdminAccountFilterRequest request, Pageable pageable) {
 
             return accountRepo.filterAccounts(
@@ -52,8 +73,9 @@ public class AccountServiceImpl implements AccountService {
                     request.getUserEmail(),
                     request.getStatus(),
                     request.getType(),
-                    request.getMinBalance(),
-                    request.getMaxBalance(),
+                    Money.toMinor(request.getMinBalance(), RoundingMode.CEILING),
+                    Money.toMinor(request.getMaxBalance(), RoundingMode.FLOOR),
+                    userSearchIndex.searchMode(),
                     pageable
             ).map(this::mapToAdminResponse);
     }
@@ -69,11 +91,13 @@ public class AccountServiceImpl implements AccountService {
                 .accountNumber(accountNumberGenerator.generate())
                 .type(request.getType())
                 .status(AccountStatus.OPEN)
-                .balance(0.0)
+                .balance(0)
                 .user(user)
                 .build();
 
         accountRepo.save(account);
+        accountCache.evictOwner(user.getEmail());
+        dashboardCounters.accountsCreated(1, account.getStatus());
 
         auditService.logSuccess(AuditAction.ACCOUNT_CREATED, AuditEntityType.ACCOUNT, account.getId(), String.format("Created account %s for user %s", account.getAccountNumber(), user.getEmail()));
 
@@ -85,19 +109,65 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<AccountView> createAccounts(List<AccountCreateRequest> requests, String email) {
+        if (requests == null || requests.isEmpty() || requests.size() > createMaxItems)
+            throw new BadRequestException("A request must create between 1 and " + createMaxItems + " accounts");
+        if (requests.stream().anyMatch(r -> r == null || r.getType() == null))
+            throw new BadRequestException("Every account needs an account type.");
+
+        User user = findByEmail(email);
+        userValidator.validateActive(user);
+
+        List<String> accountNumbers = accountNumberGenerator.generate(requests.size());
+        List<Account> accounts = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            accounts.add(Account.builder()
+                    .accountNumber(accountNumbers.get(i))
+                    .type(requests.get(i).getType())
+                    .status(AccountStatus.OPEN)
+                    .balance(0)
+                    .user(user)
+                    .build());
+        }
+
+        accountRepo.saveAll(accounts);
+        accountCache.evictOwner(user.getEmail());
+        dashboardCounters.accountsCreated(accounts.size(), AccountStatus.OPEN);
+
+        for (Account account : accounts) {
+            auditService.logSuccess(AuditAction.ACCOUNT_CREATED, AuditEntityType.ACCOUNT, account.getId(), String.format("Created account %s for user %s", account.getAccountNumber(), user.getEmail()));
+        }
+
+        return accounts.stream()
+                .map(this::mapToAdminResponse)
+                .map(a -> (AccountView) a)
+                .toList();
+    }
+
+    // Served from the snapshot cache when it can be, without a database connection.
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public List<AccountView> getAccountByUser(String email) {
-        User user = findByEmail(email);
-        List<Account> account = accountRepo.getAccountsByUserId(user.getId());
+        List<AccountSnapshot> accounts = accountCache.getOwned(email);
+        if (accounts == null) {
+            long token = accountCache.readToken();
+            User user = findByEmail(email);
+            accounts = accountRepo.getAccountsByUserId(user.getId()).stream()
+                    .map(account -> AccountSnapshot.of(account, user))
+                    .toList();
+            accountCache.fillOwned(email, accounts, token);
+        }
 
         if(hasAdminRole()){
-            return account.stream()
+            return accounts.stream()
                     .map(this::mapToAdminResponse)
                     .map(a -> (AccountView) a)
                     .toList();
         }
         
-        return account
+        return accounts
                 .stream()
                 .map(this::mapToResponse)
                 .map(a -> (AccountView) a)
@@ -114,10 +184,17 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public AccountView getAccountByAccountNumber(String accountNumber, String email) {
-        Account account = accountRepo.getAccountByAccountNumber(accountNumber)
-                .orElseThrow(()-> new ResourceNotFoundException("Account not found with accountNumber: " + accountNumber));
+        AccountSnapshot account = accountCache.get(accountNumber);
+        if (account == null) {
+            long token = accountCache.readToken();
+            Account loaded = accountRepo.findWithUserByAccountNumber(accountNumber)
+                    .orElseThrow(()-> new ResourceNotFoundException("Account not found with accountNumber: " + accountNumber));
+            account = AccountSnapshot.of(loaded, loaded.getUser());
+            accountCache.fill(account, token);
+        }
 
         if (!hasAdminRole()) {
             validateAccountOwnership(account, email);
@@ -128,10 +205,33 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public Page<AdminAccountResponse> getAllAccounts(Pageable pageable) {
         return accountRepo.getAllAccounts(pageable).map(this::mapToAdminResponse);
     }
 
+    // Compares the stored balance with the one the journal postings add up to.
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public LedgerBalanceResponse getLedgerBalance(String accountNumber) {
+        Account account = accountRepo.findByAccountNumber(accountNumber)
+                .orElseThrow(()-> new ResourceNotFoundException("Account not found with accountNumber: " + accountNumber));
+        long derived = ledgerCheckpoints.derivedBalance(account.getId());
+
+        return LedgerBalanceResponse.builder()
+                .accountNumber(account.getAccountNumber())
+                .balance(Money.toMajor(account.getBalance()))
+                .derivedBalance(Money.toMajor(derived))
+                .consistent(derived == account.getBalance())
+                .build();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public AccountCacheResponse getCacheMetrics() {
+        return accountCache.metrics();
+    }
+
 //    @Override
 //    @PreAuthorize("hasRole('ADMIN')")
 //    public List<Account> getAccountsByUserId(Long userId) {
@@ -168,32 +268,41 @@ public class AccountServiceImpl implements AccountService {
                 .anyMatch(authority -> authority.equals("ROLE_ADMIN"));
     }
 
-    private void validateAccountOwnership(Account account, String email) {
-        if (email == null ||!email.equals(account.getUser().getEmail())) {
+    private void validateAccountOwnership(AccountSnapshot account, String email) {
+        if (email == null ||!email.equals(account.ownerEmail())) {
             throw new AccessDeniedException("You are not allowed to access this account");
         }
     }
 
 
     private AccountResponse mapToResponse(Account account) {
+        return mapToResponse(AccountSnapshot.of(account, account.getUser()));
+    }
+
+    private AccountResponse mapToResponse(AccountSnapshot account) {
         return AccountResponse.builder()
-                .accountNumber(account.getAccountNumber())
-                .type(account.getType().name())
-                .balance(account.getBalance())
-                .createdAt(account.getCreatedAt())
+                .accountNumber(account.accountNumber())
+                .type(account.type().name())
+                .balance(Money.toMajor(account.balance()))
+                .createdAt(account.createdAt())
                 .build();
     }
+
     private AdminAccountResponse mapToAdminResponse(Account account){
+        return mapToAdminResponse(AccountSnapshot.of(account, account.getUser()));
+    }
+
+    private AdminAccountResponse mapToAdminResponse(AccountSnapshot account){
         return AdminAccountResponse.builder()
-                .id(account.getId())
-                .accountNumber(account.getAccountNumber())
-                .type(account.getType())
-                .status(account.getStatus())
-                .balance(account.getBalance())
-                .userId(account.getUser().getId())
-                .email(account.getUser().getEmail())
+                .id(account.id())
+                .accountNumber(account.accountNumber())
+                .type(account.type())
+                .status(account.status())
+                .balance(Money.toMajor(account.balance()))
+                .userId(account.userId())
+                .email(account.ownerEmail())
 //                .transactionCount(transactionRepo.countByAccountId(account.getId()))
-                .createdAt(account.getCreatedAt())
+                .createdAt(account.createdAt())
                 .build();
     }
 
@@ -203,8 +312,11 @@ public class AccountServiceImpl implements AccountService {
     public void changeStatus(Long id, AccountStatus status){
         Account account = accountRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
+        AccountStatus previous = account.getStatus();
         account.setStatus(status);
         accountRepo.save(account);
+        accountCache.evict(account.getAccountNumber());
+        dashboardCounters.accountStatusChanged(previous, status);
         auditService.logSuccess(AuditAction.ACCOUNT_UPDATED, AuditEntityType.ACCOUNT, id, String.format("Changed status of account %s to %s", account.getAccountNumber(), status));
     }
 
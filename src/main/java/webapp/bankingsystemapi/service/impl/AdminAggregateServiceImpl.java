@@ -1,45 +1,61 @@
 package webapp.bankingsystemapi.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import webapp.bankingsystemapi.DTO.admin.ReplicaStatusResponse;
 import webapp.bankingsystemapi.DTO.admin.SystemOverviewResponse;
-import webapp.bankingsystemapi.repo.AccountRepo;
-import webapp.bankingsystemapi.repo.TransactionRepo;
-import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.DTO.admin.transaction.DailyTransactionStatsResponse;
+import webapp.bankingsystemapi.datasource.ReplicaLagMonitor;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.metrics.DashboardCounters;
+import webapp.bankingsystemapi.model.DailyTransactionStat;
+import webapp.bankingsystemapi.rollup.DailyTransactionRollup;
 import webapp.bankingsystemapi.service.AdminAggregateService;
+import webapp.bankingsystemapi.util.Money;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class AdminAggregateServiceImpl implements AdminAggregateService {
 
-        private final UserRepo userRepo;
-        private final AccountRepo accountRepo;
-        private final TransactionRepo transactionRepo;
+        private static final int MAX_STATS_DAYS = 366;
 
-        public SystemOverviewResponse getSystemOverview() {
-
-            LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-            LocalDateTime endOfDay = startOfDay.plusDays(1);
+        private final DashboardCounters dashboardCounters;
+        private final DailyTransactionRollup transactionRollup;
+        private final ObjectProvider<ReplicaLagMonitor> replicaLag;
 
-            Object[] txStats = (Object[]) transactionRepo.getTodayTransactionStats(startOfDay, endOfDay);
+        public SystemOverviewResponse getSystemOverview() {
+            return dashboardCounters.overview();
+        }
 
-            Number txCountNumber = (Number) txStats[0];
-            Number txAmountNumber = (Number) txStats[1];
+        // Today plus the days - 1 before it, read from the rollup rather than TRANSACTIONS.
+        @Transactional(readOnly = true)
+        public List<DailyTransactionStatsResponse> getDailyTransactionStats(int days) {
+            if (days < 1 || days > MAX_STATS_DAYS) {
+                throw new BadRequestException("Days must be between 1 and " + MAX_STATS_DAYS);
+            }
+            LocalDate today = LocalDate.now();
+            return transactionRollup.range(today.minusDays(days - 1L), today).stream()
+                    .map(this::mapToResponse)
+                    .toList();
+        }
 
-            long txCount = txCountNumber.longValue();
-            BigDecimal txAmount = (txAmountNumber instanceof BigDecimal ? (BigDecimal) txAmountNumber : BigDecimal.valueOf(txAmountNumber.doubleValue()));
+        public ReplicaStatusResponse getReplicaStatus() {
+            ReplicaLagMonitor monitor = replicaLag.getIfAvailable();
+            return monitor != null ? monitor.status() : ReplicaStatusResponse.builder().build();
+        }
 
-            return SystemOverviewResponse.builder()
-                    .totalUsers(userRepo.count())
-                    .activeUsers(userRepo.countActiveUsers())
-                    .totalAccounts(accountRepo.count())
-                    .activeAccounts(accountRepo.countActiveAccounts())
-                    .todayTransactionCount(txCount)
-                    .todayTransactionAmount(txAmount)
+        private DailyTransactionStatsResponse mapToResponse(DailyTransactionStat stat) {
+            return DailyTransactionStatsResponse.builder()
+                    .date(stat.getId().getStatDate())
+                    .type(stat.getId().getType())
+                    .status(stat.getId().getStatus())
+                    .transactionCount(stat.getTxCount())
+                    .transactionAmount(Money.toDecimal(stat.getTotalAmount()))
                     .build();
         }
 
@@ -1,6 +1,5 @@
 package webapp.bankingsystemapi.service.impl;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -8,6 +7,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import webapp.bankingsystemapi.DTO.auth.AuthResponse;
 import webapp.bankingsystemapi.DTO.auth.LoginRequest;
 import webapp.bankingsystemapi.DTO.auth.RegisterRequest;
@@ -17,8 +17,10 @@ import webapp.bankingsystemapi.enums.AuditEntityType;
 import webapp.bankingsystemapi.enums.Role;
 import webapp.bankingsystemapi.enums.UserStatus;
 import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.metrics.DashboardCounters;
 import webapp.bankingsystemapi.model.User;
 import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.search.UserSearchIndex;
 import webapp.bankingsystemapi.service.AuditService;
 import webapp.bankingsystemapi.service.AuthService;
 import webapp.bankingsystemapi.validation.UserValidator;
@@ -35,9 +37,12 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final AuditService auditService;
     private final UserValidator userValidator;
+    private final UserSearchIndex userSearchIndex;
+    private final DashboardCounters dashboardCounters;
 
 
     @Override
+    @Transactional
     public AuthResponse register(RegisterRequest request) {
         if (userRepo.existsByEmail(request.getEmail())) {
             throw new BadRequestException("Email already registered: "+ request.getEmail());
@@ -57,6 +62,8 @@ public class AuthServiceImpl implements AuthService {
                 .build();
 
         userRepo.save(user);
+        userSearchIndex.index(user);
+        dashboardCounters.userCreated(user.isActive());
 
         auditService.logSuccess(AuditAction.REGISTER, AuditEntityType.USER, user.getId(), String.format("Registered with email %s", user.getEmail()));
       return mapToResponse(user);
@@ -91,7 +98,7 @@ public class AuthServiceImpl implements AuthService {
 
 
     private AuthResponse mapToResponse(User user){
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getSecurityVersion());
         return AuthResponse.builder()
                 .token(token)
                 .email(user.getEmail())
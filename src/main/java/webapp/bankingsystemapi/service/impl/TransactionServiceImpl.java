@@ -1,52 +1,167 @@
 package webapp.bankingsystemapi.service.impl;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import webapp.bankingsystemapi.DTO.admin.transaction.AdminTransactionFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.transaction.AdminTransactionResponse;
 import webapp.bankingsystemapi.DTO.transaction.*;
 import webapp.bankingsystemapi.enums.AuditAction;
 import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.enums.LedgerAccount;
+import webapp.bankingsystemapi.enums.LedgerSide;
+import webapp.bankingsystemapi.enums.PostingType;
 import webapp.bankingsystemapi.enums.TransactionStatus;
 import webapp.bankingsystemapi.enums.TransactionType;
 import webapp.bankingsystemapi.exception.AccessDeniedException;
+import webapp.bankingsystemapi.export.StatementExportFormat;
+import webapp.bankingsystemapi.idempotency.IdempotencyStore;
+import webapp.bankingsystemapi.ledger.JournalInvariants;
+import webapp.bankingsystemapi.ledger.JournalLeg;
+import webapp.bankingsystemapi.ledger.Ledger;
+import webapp.bankingsystemapi.export.StatementExporter;
 import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.metrics.DashboardCounters;
 import webapp.bankingsystemapi.exception.ResourceNotFoundException;
 import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.ArchivedTransaction;
+import webapp.bankingsystemapi.model.JournalPosting;
 import webapp.bankingsystemapi.model.Transaction;
 import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.posting.PostingExecutor;
+import webapp.bankingsystemapi.posting.PostingFailureRecorder;
 import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.ArchivedTransactionRepo;
 import webapp.bankingsystemapi.repo.TransactionRepo;
+import webapp.bankingsystemapi.rollup.DailyTransactionRollup;
 import webapp.bankingsystemapi.service.AuditService;
 import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.Money;
+import webapp.bankingsystemapi.util.StatementCursor;
 import webapp.bankingsystemapi.validation.AccountValidator;
 import webapp.bankingsystemapi.validation.UserValidator;
 
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
+    private static final int MAX_STATEMENT_PAGE_SIZE = 100;
+    private static final int MAX_JOURNAL_LEGS = 100;
+    // Shown for batch items that failed for a reason other than a rejection, as GlobalExceptionHandler does
+    private static final String BATCH_ITEM_ERROR = "Something went wrong";
+
     private final AccountRepo accountRepo;
     private final TransactionRepo transactionRepo;
+    private final ArchivedTransactionRepo archivedTransactionRepo;
     private final AuditService auditService;
     private final UserValidator userValidator;
     private final AccountValidator accountValidator;
+    private final PostingExecutor postingExecutor;
+    private final PostingFailureRecorder failureRecorder;
+    private final StatementExporter statementExporter;
+    private final DashboardCounters dashboardCounters;
+    private final DailyTransactionRollup transactionRollup;
+    private final IdempotencyStore idempotencyStore;
+    private final Ledger ledger;
+
+    @Value("${banking.posting.batch.chunk-size:500}")
+    private int batchChunkSize;
+    @Value("${banking.posting.batch.max-items:10000}")
+    private int batchMaxItems;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
 
     @Override
     @Transactional(readOnly = true)
     public Page<TransactionResponse> getStatement(StatementRequest request, String email, Pageable pageable){
-        Account account = findByAccountNumber(request.getAccountNumber());
+        Account account = statementAccount(request, email);
+
+        return transactionRepo
+                .filterStatements(
+                        account.getId(),
+                        statementFrom(request),
+                        statementTo(request),
+                        Money.toMinor(request.getMinAmount(), RoundingMode.CEILING),
+                        Money.toMinor(request.getMaxAmount(), RoundingMode.FLOOR), pageable)
+                .map(this::mapToResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatementPageResponse getStatementPage(StatementRequest request, String cursor, int size, String email) {
+        if (size < 1 || size > MAX_STATEMENT_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_STATEMENT_PAGE_SIZE);
+        }
+        Account account = statementAccount(request, email);
+
+        // One extra row tells us whether another page exists without a count query.
+        StatementCursor after = cursor == null || cursor.isBlank() ? null : StatementCursor.decode(cursor);
+        List<StatementRow> rows = transactionRepo.findStatementPage(account.getId(),
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                statementFrom(request), statementTo(request),
+                Money.toMinor(request.getMinAmount(), RoundingMode.CEILING), Money.toMinor(request.getMaxAmount(), RoundingMode.FLOOR), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<StatementRow> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            StatementRow last = page.get(page.size() - 1);
+            nextCursor = new StatementCursor(last.createdAt(), last.id()).encode();
+        }
+        return StatementPageResponse.builder()
+                .content(page.stream().map(this::mapToResponse).toList())
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportStatement(StatementRequest request, StatementExportFormat format, String email) {
+        // Ownership and dates are checked here, on the request thread, so a refusal is an
+        // ordinary error response; the rows are streamed later on the async thread.
+        Account account = statementAccount(request, email);
+        Long accountId = account.getId();
+        LocalDateTime fromDateTime = statementFrom(request);
+        LocalDateTime toDateTime = statementTo(request);
+
+        return out -> statementExporter.write(accountId, fromDateTime, toDateTime,
+                Money.toMinor(request.getMinAmount(), RoundingMode.CEILING), Money.toMinor(request.getMaxAmount(), RoundingMode.FLOOR), format, out);
+    }
+
+    private Account statementAccount(StatementRequest request, String email) {
+        Account account = accountRepo.findByAccountNumber(request.getAccountNumber())
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
 
         if (!hasAdminRole()) {
             validateAccountOwnership(account, email);
@@ -54,142 +169,165 @@ public class TransactionServiceImpl implements TransactionService {
         if (request.getFromDate() != null && request.getToDate() != null && request.getFromDate().isAfter(request.getToDate())) {
             throw new BadRequestException("From date cannot be after To date");
         }
-        LocalDateTime fromDateTime = request.getFromDate() != null 
-            ? request.getFromDate().atStartOfDay() 
-            : null;
-        LocalDateTime toDateTime = request.getToDate() != null 
-            ? request.getToDate().atTime(23, 59, 59) 
+        return account;
+    }
+
+    private static LocalDateTime statementFrom(StatementRequest request) {
+        return request.getFromDate() != null
+            ? request.getFromDate().atStartOfDay()
             : null;
+    }
 
-        return transactionRepo
-                .filterStatements(
-                        request.getAccountNumber(),
-                        fromDateTime,
-                        toDateTime,
-                        request.getMinAmount(),
-                        request.getMaxAmount(), pageable)
-                .map(this::mapToResponse);
+    private static LocalDateTime statementTo(StatementRequest request) {
+        return request.getToDate() != null
+            ? request.getToDate().atTime(23, 59, 59)
+            : null;
     }
 
     @Override
-    @Transactional
     public TransactionResponse deposit(DepositRequest request,String email) {
+        return deposit(request, email, null);
+    }
+
+    @Override
+    public TransactionResponse deposit(DepositRequest request, String email, String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, email, PostingType.DEPOSIT, request, TransactionResponse.class,
+                remember -> postingExecutor.execute(request.getAccountNumber(),
+                        () -> remember.apply(applyDeposit(request, email))));
+    }
+
+    @Override
+    public TransactionResponse withdraw(WithdrawRequest withdrawRequest, String email) {
+        return withdraw(withdrawRequest, email, null);
+    }
+
+    @Override
+    public TransactionResponse withdraw(WithdrawRequest withdrawRequest, String email, String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, email, PostingType.WITHDRAW, withdrawRequest, TransactionResponse.class,
+                remember -> postingExecutor.execute(withdrawRequest.getAccountNumber(),
+                        () -> remember.apply(applyWithdraw(withdrawRequest, email))));
+    }
+
+    private TransactionResponse applyDeposit(DepositRequest request,String email) {
         Account account = findByAccountNumber(request.getAccountNumber());
 
         if (!hasAdminRole()) {
             validateAccountOwnership(account, email);
         }
 
-        if (request.getAmount() <= 0)
+        long amount = Money.toMinor(request.getAmount());
+        if (amount <= 0)
             throw new BadRequestException("Deposit amount must be greater than zero.");
 
 
+        long beforeAmount = account.getBalance();
         Transaction transaction = Transaction.builder()
-                    .account(account)
-                    .amount(request.getAmount())
-                    .beforeAmount(account.getBalance())
-                    .remainingAmount(account.getBalance())
-                    .description(request.getDescription())
-                    .status(TransactionStatus.INITIATED)
-                    .referenceNumber(UUID.randomUUID().toString())
-                    .type(TransactionType.DEPOSIT)
-                    .build();
-
-            transactionRepo.save(transaction);
-            try {
-
-                Double beforeAmount = account.getBalance();
-                account.setBalance(beforeAmount + request.getAmount());
+                .account(account)
+                .amount(amount)
+                .beforeAmount(beforeAmount)
+                .remainingAmount(beforeAmount + amount)
+                .description(request.getDescription())
+                .status(TransactionStatus.SUCCESS)
+                .referenceNumber(UUID.randomUUID().toString())
+                .type(TransactionType.DEPOSIT)
+                .build();
 
-                transaction.setRemainingAmount(account.getBalance());
-                transaction.setStatus(TransactionStatus.SUCCESS);
-                transactionRepo.save(transaction);
+        try {
+            ledger.post(transaction.getReferenceNumber(), request.getDescription(),
+                    List.of(JournalLeg.credit(account, amount), JournalLeg.debit(LedgerAccount.CASH, amount)));
+            transactionRepo.saveAndFlush(transaction);
+            dashboardCounters.posted(transaction);
+            transactionRollup.record(transaction);
 
-                auditService.logSuccess(AuditAction.DEPOSIT, AuditEntityType.TRANSACTION, transaction.getId(),
-                        String.format("Deposited %.2f to account %s", request.getAmount(), account.getAccountNumber()));
-//                  accountRepo.save(account);  // account loaded from db so no need to save but we need to save transaction.
+            auditService.logSuccess(AuditAction.DEPOSIT, AuditEntityType.TRANSACTION, transaction.getId(),
+                    String.format("Deposited %s to account %s", Money.format(amount), account.getAccountNumber()));
 
-                return mapToResponse(transaction);
-            }catch(Exception e) {
-                transaction.setStatus(TransactionStatus.FAILED);
-                transactionRepo.save(transaction);
-                auditService.logFailure(AuditAction.DEPOSIT, AuditEntityType.TRANSACTION, transaction.getId(), e.getMessage());
-                throw e;
-            }
+            return mapToResponse(transaction);
+        } catch (OptimisticLockingFailureException conflict) {
+            throw conflict; // retried by the posting executor, nothing to record
+        } catch (RuntimeException e) {
+            failureRecorder.recordFailure(AuditAction.DEPOSIT, List.of(transaction), e.getMessage());
+            throw e;
+        }
     }
 
-    @Override
-    @Transactional
-    public TransactionResponse withdraw(WithdrawRequest withdrawRequest, String email) {
+    private TransactionResponse applyWithdraw(WithdrawRequest withdrawRequest, String email) {
         Account account = findByAccountNumber(withdrawRequest.getAccountNumber());
 
         if (!hasAdminRole()) {
             validateAccountOwnership(account, email);
         }
 
-        if (withdrawRequest.getAmount() <= 0)
+        long amount = Money.toMinor(withdrawRequest.getAmount());
+        if (amount <= 0)
             throw new BadRequestException("Withdraw amount must be greater than zero.");
 
-        if (account.getBalance() < withdrawRequest.getAmount())
+        if (account.getBalance() < amount)
             throw new BadRequestException("Insufficient balance.");
 
 
+        long beforeAmount = account.getBalance();
         Transaction transaction = Transaction.builder()
-                    .account(account)
-                    .amount(withdrawRequest.getAmount())
-                    .beforeAmount(account.getBalance())
-                    .remainingAmount(account.getBalance())
-                    .description(withdrawRequest.getDescription())
-                    .status(TransactionStatus.INITIATED)
-                    .referenceNumber(UUID.randomUUID().toString())
-                    .type(TransactionType.WITHDRAW)
-                    .build();
-//        accountRepo.save(account);
-            transactionRepo.save(transaction);
+                .account(account)
+                .amount(amount)
+                .beforeAmount(beforeAmount)
+                .remainingAmount(beforeAmount - amount)
+                .description(withdrawRequest.getDescription())
+                .status(TransactionStatus.SUCCESS)
+                .referenceNumber(UUID.randomUUID().toString())
+                .type(TransactionType.WITHDRAW)
+                .build();
 
         try {
-
-            Double beforeAmount = account.getBalance();
-            account.setBalance(beforeAmount - withdrawRequest.getAmount());
-
-            transaction.setRemainingAmount(account.getBalance());
-            transaction.setStatus(TransactionStatus.SUCCESS);
-            transactionRepo.save(transaction);
+            ledger.post(transaction.getReferenceNumber(), withdrawRequest.getDescription(),
+                    List.of(JournalLeg.debit(account, amount), JournalLeg.credit(LedgerAccount.CASH, amount)));
+            transactionRepo.saveAndFlush(transaction);
+            dashboardCounters.posted(transaction);
+            transactionRollup.record(transaction);
 
             auditService.logSuccess(AuditAction.WITHDRAW, AuditEntityType.TRANSACTION, transaction.getId(),
-                    String.format("Withdrawn %.2f from account %s", withdrawRequest.getAmount(), account.getAccountNumber()));
+                    String.format("Withdrawn %s from account %s", Money.format(amount), account.getAccountNumber()));
 
             return mapToResponse(transaction);
-
-        }catch(Exception e) {
-            transaction.setStatus(TransactionStatus.FAILED);
-            transactionRepo.save(transaction);
-
-            auditService.logFailure(AuditAction.WITHDRAW, AuditEntityType.TRANSACTION, transaction.getId(), e.getMessage());
+        } catch (OptimisticLockingFailureException conflict) {
+            throw conflict; // retried by the posting executor, nothing to record
+        } catch (RuntimeException e) {
+            failureRecorder.recordFailure(AuditAction.WITHDRAW, List.of(transaction), e.getMessage());
             throw e;
         }
     }
 
     @Override
-    @Transactional(isolation = Isolation.READ_COMMITTED)
     public TransferResponse transfer(TransferRequest transferRequest, String email) {
+        return transfer(transferRequest, email, null);
+    }
+
+    @Override
+    public TransferResponse transfer(TransferRequest transferRequest, String email, String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, email, PostingType.TRANSFER, transferRequest, TransferResponse.class,
+                remember -> postingExecutor.execute(() -> remember.apply(applyTransfer(transferRequest, email))));
+    }
+
+    private TransferResponse applyTransfer(TransferRequest transferRequest, String email) {
         String fromAccountNumber= transferRequest.getFromAccountNumber();
         String toAccountNumber= transferRequest.getToAccountNumber();
 
-        Account fromAccount = findByAccountNumber(fromAccountNumber);
-        Account toAccount = findByAccountNumber(toAccountNumber);
+        Map<String, Account> accounts = lockInOrder(fromAccountNumber, toAccountNumber);
+        Account fromAccount = accounts.get(fromAccountNumber);
+        Account toAccount = accounts.get(toAccountNumber);
 
         if (!hasAdminRole()) {  //also validated user and account
             validateAccountOwnership(fromAccount, email);
         }
 
-        if (transferRequest.getAmount() <= 0)
+        long amount = Money.toMinor(transferRequest.getAmount());
+        if (amount <= 0)
             throw new BadRequestException("Transfer amount must be greater than zero.");
 
         if (fromAccountNumber.equals(toAccountNumber))
             throw new BadRequestException("Transfer between the same account is not allowed.");
 
-        if (fromAccount.getBalance() < transferRequest.getAmount())
+        if (fromAccount.getBalance() < amount)
             throw new BadRequestException("Insufficient Balance.");
 
         String transferId = "TRF-"  + System.currentTimeMillis() + "-" + UUID.randomUUID();
@@ -197,60 +335,44 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction debitTransaction = Transaction.builder()
                 .account(fromAccount)
                 .beforeAmount(fromAccount.getBalance())
-                .remainingAmount(fromAccount.getBalance())
-                .amount(transferRequest.getAmount())
+                .remainingAmount(fromAccount.getBalance() - amount)
+                .amount(amount)
                 .description(transferRequest.getDescription())
                 .referenceNumber(UUID.randomUUID().toString())
                 .transferId(transferId)
-                .status(TransactionStatus.INITIATED)
+                .status(TransactionStatus.SUCCESS)
                 .type(TransactionType.TRANSFER_DEBIT)
                 .build();
 
         Transaction creditTransaction = Transaction.builder()
                 .account(toAccount)
-                .amount(transferRequest.getAmount())
+                .amount(amount)
                 .beforeAmount(toAccount.getBalance())
-                .remainingAmount(toAccount.getBalance())
+                .remainingAmount(toAccount.getBalance() + amount)
                 .description(transferRequest.getDescription())
                 .referenceNumber(UUID.randomUUID().toString())
                 .transferId(transferId)
-                .status(TransactionStatus.INITIATED)
+                .status(TransactionStatus.SUCCESS)
                 .type(TransactionType.TRANSFER_CREDIT)
                 .build();
 
-//        accountRepo.save(fromAccount);
-//        accountRepo.save(toAccount);
-        transactionRepo.save(debitTransaction);
-        transactionRepo.save(creditTransaction);
-
         try {
-
-            //Pending
-            debitTransaction.setStatus(TransactionStatus.PENDING);
-            creditTransaction.setStatus(TransactionStatus.PENDING);
-            transactionRepo.save(debitTransaction);
-            transactionRepo.save(creditTransaction);
-
-            fromAccount.setBalance(fromAccount.getBalance() - transferRequest.getAmount());
-            toAccount.setBalance(toAccount.getBalance() + transferRequest.getAmount());
-
-            //Success
-            debitTransaction.setRemainingAmount(fromAccount.getBalance());
-            creditTransaction.setRemainingAmount(toAccount.getBalance());
-            debitTransaction.setStatus(TransactionStatus.SUCCESS);
-            creditTransaction.setStatus(TransactionStatus.SUCCESS);
-            transactionRepo.save(debitTransaction);
-            transactionRepo.save(creditTransaction);
+            ledger.post(transferId, transferRequest.getDescription(),
+                    List.of(JournalLeg.debit(fromAccount, amount), JournalLeg.credit(toAccount, amount)));
+            transactionRepo.saveAll(List.of(debitTransaction, creditTransaction));
+            transactionRepo.flush();
+            dashboardCounters.posted(debitTransaction, creditTransaction);
+            transactionRollup.record(debitTransaction, creditTransaction);
 
             auditService.logSuccess(AuditAction.TRANSFER, AuditEntityType.TRANSACTION,debitTransaction.getId(),
-                    String.format("Transfer %.2f amount from account %s to %s account", transferRequest.getAmount(), fromAccount.getAccountNumber(), toAccount.getAccountNumber()));
+                    String.format("Transfer %s amount from account %s to %s account", Money.format(amount), fromAccount.getAccountNumber(), toAccount.getAccountNumber()));
 
             return TransferResponse.builder()
                     .fromAccountNumber(fromAccountNumber)
                     .toAccountNumber(toAccountNumber)
-                    .beforeAmount(debitTransaction.getBeforeAmount())
-                    .remainingAmount(debitTransaction.getRemainingAmount())
-                    .amount(transferRequest.getAmount())
+                    .beforeAmount(Money.toMajor(debitTransaction.getBeforeAmount()))
+                    .remainingAmount(Money.toMajor(debitTransaction.getRemainingAmount()))
+                    .amount(Money.toMajor(amount))
                     .description(transferRequest.getDescription())
                     .createdAt(debitTransaction.getCreatedAt())
                     .creditReferenceNumber(creditTransaction.getReferenceNumber())
@@ -258,23 +380,388 @@ public class TransactionServiceImpl implements TransactionService {
                     .status(TransactionStatus.SUCCESS)
                     .build();
 
-        }catch (Exception ex) {
-            debitTransaction.setStatus(TransactionStatus.FAILED);
-            creditTransaction.setStatus(TransactionStatus.FAILED);
-            transactionRepo.save(debitTransaction);
-            transactionRepo.save(creditTransaction);
-
-            auditService.logFailure(AuditAction.TRANSFER,AuditEntityType.TRANSACTION, debitTransaction.getId(),ex.getMessage());
+        } catch (OptimisticLockingFailureException conflict) {
+            throw conflict; // retried by the posting executor, nothing to record
+        }catch (RuntimeException ex) {
+            failureRecorder.recordFailure(AuditAction.TRANSFER, List.of(debitTransaction, creditTransaction), ex.getMessage());
             throw ex;
         }
     }
 
+    /**
+     * Posts several legs as one journal entry, e.g. a transfer with its fee or a payment
+     * split over accounts. Every customer leg also gets its statement row. Customers may
+     * only debit their own accounts; the bank's ledger accounts are debited by admins only.
+     */
+    @Override
+    public JournalResponse postJournal(JournalRequest request, String email) {
+        List<JournalLegRequest> legs = request.getLegs();
+        if (legs == null || legs.size() < 2 || legs.size() > MAX_JOURNAL_LEGS) {
+            throw new BadRequestException("A journal must have between 2 and " + MAX_JOURNAL_LEGS + " legs");
+        }
+        boolean admin = hasAdminRole();
+        return postingExecutor.execute(() -> applyJournal(request, email, admin));
+    }
+
+    private JournalResponse applyJournal(JournalRequest request, String email, boolean admin) {
+        TreeSet<String> accountNumbers = new TreeSet<>();
+        for (JournalLegRequest leg : request.getLegs()) {
+            if ((leg.getAccountNumber() == null) == (leg.getLedgerAccount() == null)) {
+                throw new BadRequestException("Each leg names either an accountNumber or a ledgerAccount");
+            }
+            if (leg.getAccountNumber() != null) {
+                accountNumbers.add(leg.getAccountNumber());
+            }
+        }
+        Map<String, Account> accounts = accountNumbers.isEmpty()
+                ? Map.of()
+                : lockInOrder(accountNumbers.toArray(String[]::new));
+
+        List<JournalLeg> journalLegs = new ArrayList<>(request.getLegs().size());
+        for (JournalLegRequest leg : request.getLegs()) {
+            if (leg.getSide() == null || leg.getAmount() == null) {
+                throw new BadRequestException("Each leg needs a side and an amount");
+            }
+            Account account = leg.getAccountNumber() != null ? accounts.get(leg.getAccountNumber()) : null;
+            if (!admin && leg.getSide() == LedgerSide.DEBIT) {
+                if (account == null) {
+                    throw new AccessDeniedException("Only administrators can debit bank ledger accounts");
+                }
+                validateAccountOwnership(account, email);
+            }
+            journalLegs.add(new JournalLeg(account, leg.getLedgerAccount(), leg.getSide(), Money.toMinor(leg.getAmount())));
+        }
+        String problem = JournalInvariants.problem(journalLegs);
+        if (problem != null) {
+            throw new BadRequestException(problem);
+        }
+
+        String reference = "JRN-" + System.currentTimeMillis() + "-" + UUID.randomUUID();
+        List<JournalPosting> postings = ledger.post(reference, request.getDescription(), journalLegs);
+
+        List<Transaction> rows = new ArrayList<>();
+        for (JournalPosting posting : postings) {
+            if (posting.getAccount() != null) {
+                rows.add(journalRow(posting));
+            }
+        }
+        try {
+            transactionRepo.saveAll(rows);
+            transactionRepo.flush();
+            Transaction[] committed = rows.toArray(Transaction[]::new);
+            dashboardCounters.posted(committed);
+            transactionRollup.record(committed);
+
+            long total = journalLegs.stream()
+                    .filter(leg -> leg.side() == LedgerSide.DEBIT)
+                    .mapToLong(JournalLeg::amount)
+                    .sum();
+            auditService.logSuccess(AuditAction.TRANSFER, AuditEntityType.TRANSACTION,
+                    rows.isEmpty() ? null : rows.get(0).getId(),
+                    String.format("Journal %s moved %s over %d legs", reference, Money.format(total), postings.size()));
+
+            return JournalResponse.builder()
+                    .reference(reference)
+                    .description(request.getDescription())
+                    .amount(Money.toMajor(total))
+                    .status(TransactionStatus.SUCCESS)
+                    .createdAt(postings.get(0).getCreatedAt())
+                    .legs(journalLegResponses(postings, rows, admin))
+                    .build();
+        } catch (OptimisticLockingFailureException conflict) {
+            throw conflict; // retried by the posting executor, nothing to record
+        } catch (RuntimeException e) {
+            if (!rows.isEmpty()) {
+                failureRecorder.recordFailure(AuditAction.TRANSFER, rows, e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    // Statement row for a customer leg of a journal; it reads like one side of a transfer.
+    private static Transaction journalRow(JournalPosting posting) {
+        boolean debit = posting.getSide() == LedgerSide.DEBIT;
+        long after = posting.getBalanceAfter();
+        return Transaction.builder()
+                .account(posting.getAccount())
+                .type(debit ? TransactionType.TRANSFER_DEBIT : TransactionType.TRANSFER_CREDIT)
+                .amount(posting.getAmount())
+                .beforeAmount(debit ? after + posting.getAmount() : after - posting.getAmount())
+                .remainingAmount(after)
+                .description(posting.getDescription())
+                .referenceNumber(UUID.randomUUID().toString())
+                .transferId(posting.getJournalReference())
+                .status(TransactionStatus.SUCCESS)
+                .build();
+    }
+
+    // Balances are shown for debited accounts (the caller's own) and, to admins, for all.
+    private static List<JournalLegResponse> journalLegResponses(List<JournalPosting> postings, List<Transaction> rows, boolean admin) {
+        List<JournalLegResponse> legs = new ArrayList<>(postings.size());
+        int row = 0;
+        for (JournalPosting posting : postings) {
+            boolean customer = posting.getAccount() != null;
+            boolean showBalance = customer && (admin || posting.getSide() == LedgerSide.DEBIT);
+            legs.add(JournalLegResponse.builder()
+                    .accountNumber(customer ? posting.getAccount().getAccountNumber() : null)
+                    .ledgerAccount(posting.getLedgerAccount())
+                    .side(posting.getSide())
+                    .amount(Money.toMajor(posting.getAmount()))
+                    .balanceAfter(showBalance ? Money.toMajor(posting.getBalanceAfter()) : null)
+                    .referenceNumber(customer ? rows.get(row++).getReferenceNumber() : null)
+                    .build());
+        }
+        return legs;
+    }
+
+    /**
+     * Applies a list of postings, {@code banking.posting.batch.chunk-size} per transaction.
+     *
+     * Items are checked up front and again against the running balances while their chunk
+     * is applied; an item that fails either check is reported on its own and the rest go
+     * ahead. Each chunk locks every account it touches with one ordered SELECT ... FOR UPDATE
+     * (the same order single transfers use), inserts its legs and audit rows as JDBC batches
+     * and commits once. If the commit itself fails, every item of that chunk is reported failed,
+     * with a generic error unless the chunk was rejected; the cause is logged.
+     */
+    @Override
+    public BatchPostingResponse postBatch(BatchPostingRequest request, String email) {
+        List<BatchPostingItem> items = request.getItems();
+        if (items == null || items.isEmpty() || items.size() > batchMaxItems) {
+            throw new BadRequestException("A batch must hold between 1 and " + batchMaxItems + " postings");
+        }
+
+        BatchPostingResult[] results = new BatchPostingResult[items.size()];
+        List<Integer> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String problem = checkBatchItem(items.get(i));
+            if (problem != null) {
+                results[i] = failedItem(i, items.get(i), problem);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        boolean admin = hasAdminRole();
+        int chunkSize = Math.max(1, batchChunkSize);
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            List<Integer> chunk = accepted.subList(start, Math.min(start + chunkSize, accepted.size()));
+            Map<Integer, BatchPostingResult> outcomes = new HashMap<>();
+            try {
+                postingExecutor.execute(() -> {
+                    outcomes.clear();
+                    applyBatchChunk(items, chunk, outcomes, email, admin);
+                    return null;
+                });
+                outcomes.forEach((index, result) -> results[index] = result);
+            } catch (RuntimeException e) {
+                String error = e.getMessage();
+                if (!PostingExecutor.isRejection(e)) {
+                    log.error("Batch postings {} to {} failed to commit", chunk.get(0), chunk.get(chunk.size() - 1), e);
+                    error = BATCH_ITEM_ERROR;
+                }
+                for (int index : chunk) {
+                    BatchPostingResult rejected = outcomes.get(index);
+                    results[index] = rejected != null && rejected.getStatus() == TransactionStatus.FAILED
+                            ? rejected
+                            : failedItem(index, items.get(index), error);
+                }
+            }
+        }
+
+        int succeeded = (int) Arrays.stream(results).filter(r -> r.getStatus() == TransactionStatus.SUCCESS).count();
+        return BatchPostingResponse.builder()
+                .total(results.length)
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(List.of(results))
+                .build();
+    }
+
+    private static String checkBatchItem(BatchPostingItem item) {
+        if (item == null || item.getType() == null) {
+            return "Posting type is required";
+        }
+        if (item.getAccountNumber() == null) {
+            return "Account number is required";
+        }
+        if (item.getAmount() == null || item.getAmount() <= 0) {
+            return "Amount must be greater than zero.";
+        }
+        if (item.getType() == PostingType.TRANSFER) {
+            if (item.getToAccountNumber() == null) {
+                return "Destination account number is required";
+            }
+            if (item.getAccountNumber().equals(item.getToAccountNumber())) {
+                return "Transfer between the same account is not allowed.";
+            }
+        }
+        return null;
+    }
+
+    // Runs inside one posting transaction; may run again if the executor retries it. The
+    // outcomes only count once that transaction has committed.
+    private void applyBatchChunk(List<BatchPostingItem> items, List<Integer> chunk,
+                                 Map<Integer, BatchPostingResult> outcomes, String email, boolean admin) {
+        TreeSet<String> accountNumbers = new TreeSet<>();
+        for (int index : chunk) {
+            accountNumbers.add(items.get(index).getAccountNumber());
+            if (items.get(index).getType() == PostingType.TRANSFER) {
+                accountNumbers.add(items.get(index).getToAccountNumber());
+            }
+        }
+        Map<String, Account> accounts = findForPosting(accountNumbers);
+        entityManager.unwrap(Session.class).setJdbcBatchSize(Math.min(2 * chunk.size(), 1000));
+
+        Map<Integer, List<Transaction>> legsByItem = new LinkedHashMap<>();
+        for (int index : chunk) {
+            BatchPostingItem item = items.get(index);
+            try {
+                legsByItem.put(index, batchLegs(item, accounts, email, admin));
+            } catch (RuntimeException e) {
+                if (!PostingExecutor.isRejection(e)) {
+                    throw e;
+                }
+                outcomes.put(index, failedItem(index, item, e.getMessage()));
+            }
+        }
+
+        List<Transaction> legs = legsByItem.values().stream().flatMap(List::stream).toList();
+        try {
+            transactionRepo.saveAll(legs);
+            legsByItem.forEach((index, itemLegs) -> {
+                BatchPostingItem item = items.get(index);
+                auditBatchItem(item, itemLegs);
+                outcomes.put(index, succeededItem(index, item, itemLegs));
+            });
+            transactionRepo.flush();
+            Transaction[] committed = legs.toArray(Transaction[]::new);
+            dashboardCounters.posted(committed);
+            transactionRollup.record(committed);
+        } catch (OptimisticLockingFailureException conflict) {
+            throw conflict; // retried by the posting executor, nothing to record
+        } catch (RuntimeException e) {
+            legsByItem.forEach((index, itemLegs) ->
+                    failureRecorder.recordFailure(auditAction(items.get(index).getType()), itemLegs, e.getMessage()));
+            throw e;
+        }
+    }
+
+    // Same checks as the single-posting paths, against balances already moved by earlier items.
+    private List<Transaction> batchLegs(BatchPostingItem item, Map<String, Account> accounts, String email, boolean admin) {
+        Account account = accounts.get(item.getAccountNumber());
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+        if (!admin) {
+            validateAccountOwnership(account, email);
+        }
+        long amount = Money.toMinor(item.getAmount());
+
+        switch (item.getType()) {
+            case DEPOSIT -> {
+                Transaction deposit = successLeg(account, TransactionType.DEPOSIT, amount,
+                        account.getBalance() + amount, item.getDescription(), null);
+                ledger.post(deposit.getReferenceNumber(), item.getDescription(),
+                        List.of(JournalLeg.credit(account, amount), JournalLeg.debit(LedgerAccount.CASH, amount)));
+                return List.of(deposit);
+            }
+            case WITHDRAW -> {
+                if (account.getBalance() < amount)
+                    throw new BadRequestException("Insufficient balance.");
+                Transaction withdrawal = successLeg(account, TransactionType.WITHDRAW, amount,
+                        account.getBalance() - amount, item.getDescription(), null);
+                ledger.post(withdrawal.getReferenceNumber(), item.getDescription(),
+                        List.of(JournalLeg.debit(account, amount), JournalLeg.credit(LedgerAccount.CASH, amount)));
+                return List.of(withdrawal);
+            }
+            default -> {
+                Account toAccount = accounts.get(item.getToAccountNumber());
+                if (toAccount == null) {
+                    throw new ResourceNotFoundException("Account not found");
+                }
+                if (account.getBalance() < amount)
+                    throw new BadRequestException("Insufficient Balance.");
+                String transferId = "TRF-" + System.currentTimeMillis() + "-" + UUID.randomUUID();
+                Transaction debit = successLeg(account, TransactionType.TRANSFER_DEBIT, amount,
+                        account.getBalance() - amount, item.getDescription(), transferId);
+                Transaction credit = successLeg(toAccount, TransactionType.TRANSFER_CREDIT, amount,
+                        toAccount.getBalance() + amount, item.getDescription(), transferId);
+                ledger.post(transferId, item.getDescription(),
+                        List.of(JournalLeg.debit(account, amount), JournalLeg.credit(toAccount, amount)));
+                return List.of(debit, credit);
+            }
+        }
+    }
+
+    private void auditBatchItem(BatchPostingItem item, List<Transaction> legs) {
+        Transaction first = legs.get(0);
+        String amount = Money.format(first.getAmount());
+        String description = switch (item.getType()) {
+            case DEPOSIT -> String.format("Deposited %s to account %s", amount, item.getAccountNumber());
+            case WITHDRAW -> String.format("Withdrawn %s from account %s", amount, item.getAccountNumber());
+            case TRANSFER -> String.format("Transfer %s amount from account %s to %s account",
+                    amount, item.getAccountNumber(), item.getToAccountNumber());
+        };
+        auditService.logSuccess(auditAction(item.getType()), AuditEntityType.TRANSACTION, first.getId(), description);
+    }
+
+    private static AuditAction auditAction(PostingType type) {
+        return switch (type) {
+            case DEPOSIT -> AuditAction.DEPOSIT;
+            case WITHDRAW -> AuditAction.WITHDRAW;
+            case TRANSFER -> AuditAction.TRANSFER;
+        };
+    }
+
+    private static BatchPostingResult succeededItem(int index, BatchPostingItem item, List<Transaction> legs) {
+        Transaction first = legs.get(0);
+        return BatchPostingResult.builder()
+                .index(index)
+                .type(item.getType())
+                .status(TransactionStatus.SUCCESS)
+                .referenceNumber(first.getReferenceNumber())
+                .creditReferenceNumber(legs.size() > 1 ? legs.get(1).getReferenceNumber() : null)
+                .amount(Money.toMajor(first.getAmount()))
+                .beforeBalance(Money.toMajor(first.getBeforeAmount()))
+                .afterBalance(Money.toMajor(first.getRemainingAmount()))
+                .build();
+    }
+
+    private static BatchPostingResult failedItem(int index, BatchPostingItem item, String error) {
+        return BatchPostingResult.builder()
+                .index(index)
+                .type(item != null ? item.getType() : null)
+                .status(TransactionStatus.FAILED)
+                .amount(item != null ? item.getAmount() : null)
+                .error(error)
+                .build();
+    }
+
+    private static Transaction successLeg(Account account, TransactionType type, long amount,
+                                          long remainingAmount, String description, String transferId) {
+        return Transaction.builder()
+                .account(account)
+                .type(type)
+                .amount(amount)
+                .beforeAmount(account.getBalance())
+                .remainingAmount(remainingAmount)
+                .description(description)
+                .referenceNumber(UUID.randomUUID().toString())
+                .transferId(transferId)
+                .status(TransactionStatus.SUCCESS)
+                .build();
+    }
+
 //    Helper Methods
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public AdminTransactionResponse getTransaction(Long transactionId) {
+        // Rows of archived months are only in TRANSACTIONS_ARCHIVE once their hot copy is purged
         Transaction transaction = transactionRepo.findById(transactionId)
+                .or(() -> archivedTransactionRepo.findById(transactionId).map(ArchivedTransaction::toTransaction))
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id " + transactionId));
         return mapToAdminResponse(transaction);
     }
@@ -294,8 +781,8 @@ public class TransactionServiceImpl implements TransactionService {
                         request.getStatus(),
                         request.getFromDate(),
                         request.getToDate(),
-                        request.getMinAmount(),
-                        request.getMaxAmount(),
+                        Money.toMinor(request.getMinAmount(), RoundingMode.CEILING),
+                        Money.toMinor(request.getMaxAmount(), RoundingMode.FLOOR),
                         pageable
                 );
 
@@ -306,17 +793,42 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public Page<AdminTransactionResponse> getAllTransactions(Pageable pageable) {
         return transactionRepo.getAllTransactions(pageable).map(this::mapToAdminResponse);
     }
 
 
+    // Postings lock the account row unless the executor runs them optimistically.
     private Account findByAccountNumber(String accountNumber) {
-        return accountRepo
-                .getAccountByAccountNumber(accountNumber)
+        return (postingExecutor.isOptimistic()
+                    ? accountRepo.findByAccountNumber(accountNumber)
+                    : accountRepo.getAccountByAccountNumber(accountNumber))
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
 
     }
+    // One SELECT ... FOR UPDATE over both rows, taken in account number order, so opposing
+    // transfers (A to B against B to A) queue up instead of deadlocking. In optimistic mode
+    // nothing is locked; the version check on update settles conflicts.
+    private Map<String, Account> lockInOrder(String... accountNumbers) {
+        Map<String, Account> accounts = findForPosting(Arrays.stream(accountNumbers).distinct().toList());
+        for (String accountNumber : accountNumbers) {
+            if (!accounts.containsKey(accountNumber)) {
+                throw new ResourceNotFoundException("Account not found");
+            }
+        }
+        return accounts;
+    }
+
+    // Accounts that exist among the given numbers, locked in account number order unless optimistic.
+    private Map<String, Account> findForPosting(Collection<String> accountNumbers) {
+        List<Account> found = postingExecutor.isOptimistic()
+                ? accountRepo.findAccountsByAccountNumbers(accountNumbers)
+                : accountRepo.lockAccountsInOrder(accountNumbers);
+        return found.stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+    }
+
     private boolean hasAdminRole() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null) {
@@ -343,24 +855,37 @@ public class TransactionServiceImpl implements TransactionService {
 //                .id(transaction.getId())
 //                .accountId(transaction.getAccount().getId())
                 .type(transaction.getType())
-                .amount(transaction.getAmount())
+                .amount(Money.toMajor(transaction.getAmount()))
                 .status(transaction.getStatus())
-                .beforeBalance(transaction.getBeforeAmount())
-                .afterBalance(transaction.getRemainingAmount())
+                .beforeBalance(Money.toMajor(transaction.getBeforeAmount()))
+                .afterBalance(Money.toMajor(transaction.getRemainingAmount()))
                 .referenceNumber(transaction.getReferenceNumber())
                 .description(transaction.getDescription())
                 .createdAt(transaction.getCreatedAt())
                 .build();
     }
+    private TransactionResponse mapToResponse(StatementRow row) {
+        return TransactionResponse.builder()
+                .type(row.type())
+                .amount(Money.toMajor(row.amount()))
+                .status(row.status())
+                .beforeBalance(Money.toMajor(row.beforeAmount()))
+                .afterBalance(Money.toMajor(row.remainingAmount()))
+                .referenceNumber(row.referenceNumber())
+                .description(row.description())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
     private AdminTransactionResponse mapToAdminResponse(Transaction transaction) {
         return AdminTransactionResponse.builder()
                 .id(transaction.getId())
                 .accountNumber(transaction.getAccount().getAccountNumber())
                 .type(transaction.getType())
-                .amount(transaction.getAmount())
+                .amount(Money.toMajor(transaction.getAmount()))
                 .status(transaction.getStatus())
-                .beforeBalance(transaction.getBeforeAmount())
-                .afterBalance(transaction.getRemainingAmount())
+                .beforeBalance(Money.toMajor(transaction.getBeforeAmount()))
+                .afterBalance(Money.toMajor(transaction.getRemainingAmount()))
                 .referenceNumber(transaction.getReferenceNumber())
                 .description(transaction.getDescription())
                 .createdAt(transaction.getCreatedAt())
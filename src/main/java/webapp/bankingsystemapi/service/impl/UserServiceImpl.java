@@ -1,30 +1,36 @@
 package webapp.bankingsystemapi.service.impl;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import webapp.bankingsystemapi.DTO.admin.user.AdminUserFilterRequest;
 import webapp.bankingsystemapi.DTO.admin.user.AdminUserResponse;
 import webapp.bankingsystemapi.DTO.admin.user.ResetPasswordRequest;
 import webapp.bankingsystemapi.DTO.auth.RegisterRequest;
 import webapp.bankingsystemapi.DTO.user.UserResponse;
+import webapp.bankingsystemapi.config.JWTTokenCache;
+import webapp.bankingsystemapi.config.UserSecurityVersions;
 import webapp.bankingsystemapi.enums.AuditAction;
 import webapp.bankingsystemapi.enums.AuditEntityType;
 import webapp.bankingsystemapi.enums.Role;
 import webapp.bankingsystemapi.enums.UserStatus;
 import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.metrics.DashboardCounters;
 import webapp.bankingsystemapi.exception.ResourceNotFoundException;
 import webapp.bankingsystemapi.model.User;
 import webapp.bankingsystemapi.repo.AccountRepo;
 import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.search.UserSearchIndex;
 import webapp.bankingsystemapi.service.AuditService;
 import webapp.bankingsystemapi.service.UserService;
 import webapp.bankingsystemapi.validation.UserValidator;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
@@ -32,9 +38,14 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder encoder;
     private final AuditService auditService;
     private final UserValidator userValidator;
+    private final JWTTokenCache tokenCache;
+    private final UserSecurityVersions securityVersions;
+    private final UserSearchIndex userSearchIndex;
+    private final DashboardCounters dashboardCounters;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public AdminUserResponse registerUser(RegisterRequest request) {
         if (userRepo.existsByEmail(request.getEmail())) {
             throw new BadRequestException(
@@ -54,6 +65,8 @@ public class UserServiceImpl implements UserService {
                 .status(UserStatus.ACTIVE)
                 .build();
         userRepo.save(user);
+        userSearchIndex.index(user);
+        dashboardCounters.userCreated(user.isActive());
         return mapToAdminResponse(user);
     }
 
@@ -85,6 +98,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public Page<AdminUserResponse> getAllUsers(Pageable pageable) {
         return userRepo.findAll(pageable).map(this::mapToAdminResponse);
 //        List<UserResponse> userResponses = new ArrayList<>();
@@ -94,6 +108,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
     public Page<AdminUserResponse> filterUsers(AdminUserFilterRequest request, Pageable pageable) {
         return userRepo.filterUsers(
                 request.getFullName(),
@@ -103,6 +118,7 @@ public class UserServiceImpl implements UserService {
                 request.getIsActive(),
                 request.getFromDate(),
                 request.getToDate(),
+                userSearchIndex.searchMode(),
                 pageable).map(this::mapToAdminResponse);
     }
 
@@ -124,8 +140,10 @@ public class UserServiceImpl implements UserService {
     public void disableUser( Long id){
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User is not found with id: " + id));
+        dashboardCounters.userActiveChanged(user.isActive(), false);
         user.setActive(false);
         user.setStatus(UserStatus.SUSPENDED);
+        revokeTokens(user);
     }
     @Override
     @Transactional
@@ -133,8 +151,10 @@ public class UserServiceImpl implements UserService {
     public void enableUser( Long id){
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User is not found with id: " + id));
+        dashboardCounters.userActiveChanged(user.isActive(), true);
         user.setActive(true);
         user.setStatus(UserStatus.ACTIVE);
+        revokeTokens(user);
     }
 
     @Override
@@ -147,10 +167,20 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Passwords do not match");
         }
         user.setPassword(encoder.encode(request.getPassword()));
+        revokeTokens(user);
         auditService.logSuccess(AuditAction.PASSWORD_RESET, AuditEntityType.USER, user.getId(), String.format("Password reset of email : %s successfully", user.getEmail()));
     }
 
 
+    // Every token issued before this change stops working: here at once, on other nodes
+    // within the security version refresh interval.
+    private void revokeTokens(User user) {
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        user.setSecurityUpdatedAt(LocalDateTime.now());
+        securityVersions.update(user.getEmail(), user.getSecurityVersion());
+        tokenCache.evictUser(user.getEmail());
+    }
+
     private UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
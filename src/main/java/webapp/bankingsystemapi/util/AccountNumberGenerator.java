@@ -5,22 +5,107 @@ import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Component;
 
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Hands out {@code ACC-<year>-<seq>} account numbers from blocks reserved in memory.
+ *
+ * One {@code ACCOUNT_NUMBER_SEQ.NEXTVAL} reserves the block
+ * {@code [value * BLOCK_SIZE, (value + 1) * BLOCK_SIZE)}. Sequence values are never
+ * handed out twice, so blocks never overlap, whichever node fetched them, and the
+ * sequence itself needs no change. Numbers inside a block are claimed with a CAS;
+ * only the thread that finds the block used up goes back to the database.
+ */
 @Component
 public class AccountNumberGenerator {
+
+    static final int BLOCK_SIZE = 100;
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EXHAUSTED);
+    private final Object refillLock = new Object();
+
     public String generate() {
+        return format(next(), Year.now().getValue());
+    }
+
+    public List<String> generate(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        int year = Year.now().getValue();
+        List<String> numbers = new ArrayList<>(count);
+        while (numbers.size() < count) {
+            Block block = current.get();
+            long start = block.claim(count - numbers.size());
+            long end = Math.min(start + count - numbers.size(), block.end);
+            for (long seq = start; seq < end; seq++) {
+                numbers.add(format(seq, year));
+            }
+            if (numbers.size() < count) {
+                refill(block);
+            }
+        }
+        return numbers;
+    }
+
+    private long next() {
+        while (true) {
+            Block block = current.get();
+            long seq = block.claim(1);
+            if (seq < block.end) {
+                return seq;
+            }
+            refill(block);
+        }
+    }
 
+    // Only one thread fetches a new block; the others retry against whatever it installed.
+    private void refill(Block exhausted) {
+        synchronized (refillLock) {
+            if (current.get() == exhausted) {
+                long start = nextBlockValue() * BLOCK_SIZE;
+                current.set(new Block(start, start + BLOCK_SIZE));
+            }
+        }
+    }
+
+    long nextBlockValue() {
         Number seqValue = (Number) entityManager
                 .createNativeQuery("SELECT ACCOUNT_NUMBER_SEQ.NEXTVAL FROM DUAL")
                 .getSingleResult();
+        return seqValue.longValue();
+    }
 
-        int year = Year.now().getValue();
-        String formattedSeq = String.format("%06d", seqValue.longValue());
+    static String format(long seq, int year) {
+        String digits = Long.toString(seq);
+        StringBuilder number = new StringBuilder(15 + digits.length())
+                .append("ACC-").append(year).append('-');
+        for (int i = digits.length(); i < 6; i++) {
+            number.append('0');
+        }
+        return number.append(digits).toString();
+    }
 
-        return "ACC-" + year + "-" + formattedSeq;
+    private static final class Block {
+        private static final Block EXHAUSTED = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        // First claimed value; anything at or past end belongs to no one.
+        private long claim(int count) {
+            return next.getAndAdd(count);
+        }
     }
 }
-
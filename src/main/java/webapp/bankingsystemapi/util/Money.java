@@ -0,0 +1,73 @@
+package webapp.bankingsystemapi.util;
+
+import webapp.bankingsystemapi.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between the API's decimal amounts and the {@code long} minor units (cents)
+ * that balances and transaction amounts are stored and computed in.
+ *
+ * Postings add and compare plain {@code long}s, so arithmetic is exact and nothing is
+ * boxed; decimals only exist at the edges, when a request is read or a response written.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    private static final double MINOR_PER_MAJOR = 100.0;
+
+    private Money() {}
+
+    /** An amount sent by a client; more than {@value #SCALE} decimal places is refused. */
+    public static long toMinor(double major) {
+        BigDecimal minor = minorUnits(major);
+        if (minor.stripTrailingZeros().scale() > 0) {
+            throw new BadRequestException("Amounts can have at most " + SCALE + " decimal places");
+        }
+        return exact(minor);
+    }
+
+    /** A filter bound, rounded the way that keeps the filter's meaning; null stays null. */
+    public static Long toMinor(Double major, RoundingMode rounding) {
+        if (major == null) {
+            return null;
+        }
+        return exact(minorUnits(major).setScale(0, rounding));
+    }
+
+    private static BigDecimal minorUnits(double major) {
+        try {
+            return BigDecimal.valueOf(major).movePointRight(SCALE);
+        } catch (NumberFormatException ex) {
+            // NaN and the infinities
+            throw outOfRange();
+        }
+    }
+
+    private static long exact(BigDecimal minor) {
+        try {
+            return minor.longValueExact();
+        } catch (ArithmeticException ex) {
+            throw outOfRange();
+        }
+    }
+
+    private static BadRequestException outOfRange() {
+        return new BadRequestException("Amounts must be between -" + format(Long.MAX_VALUE) + " and " + format(Long.MAX_VALUE));
+    }
+
+    // One correctly rounded division gives the double nearest to the exact decimal.
+    public static double toMajor(long minor) {
+        return minor / MINOR_PER_MAJOR;
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /** Two-decimal text for audit descriptions, as {@code %.2f} printed the old doubles. */
+    public static String format(long minor) {
+        return toDecimal(minor).toPlainString();
+    }
+}
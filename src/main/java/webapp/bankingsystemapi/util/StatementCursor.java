@@ -0,0 +1,38 @@
+package webapp.bankingsystemapi.util;
+
+import webapp.bankingsystemapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a statement ordered by {@code (createdAt DESC, id DESC)}: the key of the
+ * last row a client has seen. Travels as an opaque URL-safe token so clients cannot
+ * come to depend on its layout.
+ */
+public record StatementCursor(LocalDateTime createdAt, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StatementCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new BadRequestException("Invalid statement cursor");
+            }
+            return new StatementCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid statement cursor");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Adds the optimistic-locking version column mapped by model.Account.version.
+-- Run once before deploying a build with @Version on Account; existing rows start at 0.
+--
+-- The column is maintained in both locking modes, so it can be added while
+-- banking.posting.optimistic.enabled is still false.
+
+ALTER TABLE ACCOUNTS ADD (VERSION NUMBER(19) DEFAULT 0 NOT NULL);
@@ -0,0 +1,11 @@
+-- Outbox table for banking.audit.durability=outbox (model.AuditOutboxEvent).
+-- Rows live only until the relay copies them into AUDIT_LOGS, so the table stays small
+-- and carries no index beyond its primary key.
+
+CREATE SEQUENCE AUDIT_OUTBOX_SEQUENCE START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE AUDIT_OUTBOX (
+    ID      NUMBER(19)     NOT NULL,
+    PAYLOAD VARCHAR2(4000) NOT NULL,
+    CONSTRAINT AUDIT_OUTBOX_PK PRIMARY KEY (ID)
+);
@@ -0,0 +1,24 @@
+-- Daily rollup of TRANSACTIONS (model.DailyTransactionStat, rollup.DailyTransactionRollup).
+-- One row per day, type and status; nodes add their committed postings with MERGE, and
+-- the batch job rebuilds each day once from TRANSACTIONS after it closed, recording in
+-- ROLLUP_CHECKPOINTS (model.RollupCheckpoint) the last day it settled. The first run after
+-- creating the tables backfills every day since the oldest transaction, one
+-- TRANSACTIONS_CREATED_IX range per day. TOTAL_AMOUNT is in minor units (cents), like
+-- TRANSACTIONS.AMOUNT. Deployments that already have DAILY_TRANSACTION_STATS only need
+-- ROLLUP_CHECKPOINTS; the next run rebuilds the closed days once.
+
+CREATE TABLE DAILY_TRANSACTION_STATS (
+    STAT_DATE    DATE          NOT NULL,
+    TYPE         VARCHAR2(255) NOT NULL,
+    STATUS       VARCHAR2(255) NOT NULL,
+    TX_COUNT     NUMBER(19)    NOT NULL,
+    TOTAL_AMOUNT NUMBER(19)    NOT NULL,
+    CONSTRAINT DAILY_TRANSACTION_STATS_PK PRIMARY KEY (STAT_DATE, TYPE, STATUS)
+);
+
+CREATE TABLE ROLLUP_CHECKPOINTS (
+    ROLLUP_NAME     VARCHAR2(30) NOT NULL,
+    SETTLED_THROUGH DATE         NOT NULL,
+    ADVANCED_AT     TIMESTAMP    NOT NULL,
+    CONSTRAINT ROLLUP_CHECKPOINTS_PK PRIMARY KEY (ROLLUP_NAME)
+);
@@ -0,0 +1,20 @@
+-- Index set behind the admin and statement filters (repo.spec.*Specifications),
+-- declared on the entities with the same names. README, "Index Set", maps each filter
+-- combination to the index it uses.
+--
+-- Oracle does not index foreign keys on its own, so ACCOUNTS_USER_IX is also what
+-- keeps email filters from scanning ACCOUNTS. There is deliberately no index on
+-- ACCOUNTS.BALANCE: every posting updates it.
+
+CREATE INDEX TRANSACTIONS_STATUS_CREATED_IX ON TRANSACTIONS (STATUS, CREATED_AT) ONLINE;
+CREATE INDEX TRANSACTIONS_CREATED_IX ON TRANSACTIONS (CREATED_AT) ONLINE;
+
+CREATE INDEX ACCOUNTS_USER_IX ON ACCOUNTS (USER_ID) ONLINE;
+CREATE INDEX ACCOUNTS_STATUS_TYPE_IX ON ACCOUNTS (STATUS, TYPE) ONLINE;
+
+CREATE INDEX USERS_STATUS_CREATED_IX ON USERS (STATUS, CREATED_AT) ONLINE;
+CREATE INDEX USERS_CREATED_IX ON USERS (CREATED_AT) ONLINE;
+
+CREATE INDEX AUDIT_LOGS_PERFORMER_CREATED_IX ON AUDIT_LOGS (PERFORMED_BY, CREATED_AT) ONLINE;
+CREATE INDEX AUDIT_LOGS_ACTION_CREATED_IX ON AUDIT_LOGS (AUDIT_ACTION, CREATED_AT) ONLINE;
+CREATE INDEX AUDIT_LOGS_CREATED_IX ON AUDIT_LOGS (CREATED_AT) ONLINE;
@@ -0,0 +1,20 @@
+-- Responses of postings sent with an Idempotency-Key header (model.IdempotencyRecord).
+-- The row is inserted in the posting's own transaction; IDEMPOTENCY_KEYS_UK lets only one
+-- of two racing requests with the same key commit. Rows older than
+-- banking.idempotency.retention-hours are deleted through IDEMPOTENCY_KEYS_CREATED_IX.
+
+CREATE SEQUENCE IDEMPOTENCY_KEY_SEQUENCE START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IDEMPOTENCY_KEYS (
+    ID              NUMBER(19)     NOT NULL,
+    OWNER           VARCHAR2(255)  NOT NULL,
+    IDEMPOTENCY_KEY VARCHAR2(100)  NOT NULL,
+    OPERATION       VARCHAR2(20)   NOT NULL,
+    REQUEST_HASH    VARCHAR2(64)   NOT NULL,
+    RESPONSE        VARCHAR2(4000) NOT NULL,
+    CREATED_AT      TIMESTAMP      NOT NULL,
+    CONSTRAINT IDEMPOTENCY_KEYS_PK PRIMARY KEY (ID),
+    CONSTRAINT IDEMPOTENCY_KEYS_UK UNIQUE (OWNER, IDEMPOTENCY_KEY)
+);
+
+CREATE INDEX IDEMPOTENCY_KEYS_CREATED_IX ON IDEMPOTENCY_KEYS (CREATED_AT);
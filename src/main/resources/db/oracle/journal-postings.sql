@@ -0,0 +1,49 @@
+-- Double-entry journal (model.JournalPosting, ledger.Ledger) and the derived-balance
+-- checkpoints (model.LedgerCheckpoint, ledger.LedgerCheckpoints). Run after
+-- money-minor-units.sql, with the application stopped, before upgrading.
+--
+-- A journal entry is the set of rows sharing JOURNAL_REFERENCE; its debits equal its
+-- credits. Rows are only ever inserted.
+
+CREATE SEQUENCE JOURNAL_POSTING_SEQUENCE START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE JOURNAL_POSTINGS (
+    ID                NUMBER(19)    NOT NULL,
+    JOURNAL_REFERENCE VARCHAR2(100) NOT NULL,
+    ACCOUNT_ID        NUMBER(19),
+    LEDGER_ACCOUNT    VARCHAR2(30),
+    SIDE              VARCHAR2(6)   NOT NULL,
+    AMOUNT            NUMBER(19)    NOT NULL,
+    BALANCE_AFTER     NUMBER(19),
+    DESCRIPTION       VARCHAR2(255),
+    CREATED_AT        TIMESTAMP     NOT NULL,
+    CONSTRAINT JOURNAL_POSTINGS_PK PRIMARY KEY (ID),
+    CONSTRAINT JOURNAL_POSTINGS_ACCOUNT_FK FOREIGN KEY (ACCOUNT_ID) REFERENCES ACCOUNTS (ID),
+    CONSTRAINT JOURNAL_POSTINGS_ONE_ACCOUNT_CK
+        CHECK ((ACCOUNT_ID IS NULL AND LEDGER_ACCOUNT IS NOT NULL) OR (ACCOUNT_ID IS NOT NULL AND LEDGER_ACCOUNT IS NULL)),
+    CONSTRAINT JOURNAL_POSTINGS_AMOUNT_CK CHECK (AMOUNT > 0)
+);
+
+CREATE INDEX JOURNAL_POSTINGS_REFERENCE_IX ON JOURNAL_POSTINGS (JOURNAL_REFERENCE);
+CREATE INDEX JOURNAL_POSTINGS_ACCOUNT_CREATED_IX ON JOURNAL_POSTINGS (ACCOUNT_ID, CREATED_AT);
+CREATE INDEX JOURNAL_POSTINGS_CREATED_IX ON JOURNAL_POSTINGS (CREATED_AT);
+
+CREATE TABLE LEDGER_CHECKPOINTS (
+    ACCOUNT_ID NUMBER(19) NOT NULL,
+    BALANCE    NUMBER(19) NOT NULL,
+    AS_OF      TIMESTAMP  NOT NULL,
+    CONSTRAINT LEDGER_CHECKPOINTS_PK PRIMARY KEY (ACCOUNT_ID)
+);
+
+-- Existing balances become opening entries against the OPENING_BALANCE ledger account,
+-- so derived balances match from the start. Negative ids stay clear of the sequence.
+INSERT ALL
+    INTO JOURNAL_POSTINGS (ID, JOURNAL_REFERENCE, ACCOUNT_ID, LEDGER_ACCOUNT, SIDE, AMOUNT, BALANCE_AFTER, DESCRIPTION, CREATED_AT)
+        VALUES (-2 * ID, 'OPEN-' || ACCOUNT_NUMBER, ID, NULL, 'CREDIT', BALANCE, BALANCE, 'Opening balance', NOW)
+    INTO JOURNAL_POSTINGS (ID, JOURNAL_REFERENCE, ACCOUNT_ID, LEDGER_ACCOUNT, SIDE, AMOUNT, BALANCE_AFTER, DESCRIPTION, CREATED_AT)
+        VALUES (-2 * ID - 1, 'OPEN-' || ACCOUNT_NUMBER, NULL, 'OPENING_BALANCE', 'DEBIT', BALANCE, NULL, 'Opening balance', NOW)
+SELECT ID, ACCOUNT_NUMBER, BALANCE, CAST(SYSTIMESTAMP AS TIMESTAMP) AS NOW
+FROM ACCOUNTS
+WHERE BALANCE > 0;
+
+COMMIT;
@@ -0,0 +1,39 @@
+-- Moves balances and amounts from FLOAT to NUMBER(19) minor units (cents), the unit of
+-- model.Account.balance and the Transaction amounts (see util.Money). Run once, with the
+-- application stopped, before deploying a build that maps them as long; the API still
+-- takes and returns decimal amounts.
+--
+-- Each column is copied, rounded to the nearest cent, into a new column that then takes
+-- the old one's name, so the conversion fails loudly instead of truncating in place.
+
+ALTER TABLE ACCOUNTS ADD (BALANCE_MINOR NUMBER(19));
+UPDATE ACCOUNTS SET BALANCE_MINOR = ROUND(BALANCE * 100);
+ALTER TABLE ACCOUNTS MODIFY (BALANCE_MINOR NOT NULL);
+ALTER TABLE ACCOUNTS DROP COLUMN BALANCE;
+ALTER TABLE ACCOUNTS RENAME COLUMN BALANCE_MINOR TO BALANCE;
+
+ALTER TABLE TRANSACTIONS ADD (
+    AMOUNT_MINOR           NUMBER(19),
+    BEFORE_AMOUNT_MINOR    NUMBER(19),
+    REMAINING_AMOUNT_MINOR NUMBER(19)
+);
+UPDATE TRANSACTIONS
+   SET AMOUNT_MINOR           = ROUND(AMOUNT * 100),
+       BEFORE_AMOUNT_MINOR    = ROUND(BEFORE_AMOUNT * 100),
+       REMAINING_AMOUNT_MINOR = ROUND(REMAINING_AMOUNT * 100);
+ALTER TABLE TRANSACTIONS MODIFY (
+    AMOUNT_MINOR           NOT NULL,
+    BEFORE_AMOUNT_MINOR    NOT NULL,
+    REMAINING_AMOUNT_MINOR NOT NULL
+);
+ALTER TABLE TRANSACTIONS DROP (AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT);
+ALTER TABLE TRANSACTIONS RENAME COLUMN AMOUNT_MINOR TO AMOUNT;
+ALTER TABLE TRANSACTIONS RENAME COLUMN BEFORE_AMOUNT_MINOR TO BEFORE_AMOUNT;
+ALTER TABLE TRANSACTIONS RENAME COLUMN REMAINING_AMOUNT_MINOR TO REMAINING_AMOUNT;
+
+-- The rollup is derived data: empty it, and the batch job rebuilds every day from
+-- TRANSACTIONS on the next start. Skip this part if DAILY_TRANSACTION_STATS does not exist yet.
+DELETE FROM DAILY_TRANSACTION_STATS;
+ALTER TABLE DAILY_TRANSACTION_STATS MODIFY (TOTAL_AMOUNT NUMBER(19));
+
+COMMIT;
@@ -0,0 +1,94 @@
+-- Monthly partitions for TRANSACTIONS and AUDIT_LOGS, and the archive tier behind
+-- banking.archive.hot-months (archive.ColdPartitionArchiver, model.ArchivedTransaction,
+-- model.ArchivedAuditLog, model.ArchiveBoundary). Run after filter-indexes.sql; the online
+-- conversion needs Oracle 12.2 or later and leaves the tables writable.
+--
+-- CREATED_AT is the partition key, so the date filters of the statements and of the admin
+-- transaction and audit searches only visit the months they cover. The indexes that carry
+-- CREATED_AT become LOCAL; the primary keys and REFERENCE_NUMBER stay global, since they
+-- do not contain the partition key. Months are created on first insert (INTERVAL).
+
+ALTER TABLE TRANSACTIONS MODIFY
+    PARTITION BY RANGE (CREATED_AT) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+    (PARTITION TRANSACTIONS_P0 VALUES LESS THAN (TIMESTAMP '2000-01-01 00:00:00'))
+    ONLINE
+    UPDATE INDEXES (
+        TRANSACTIONS_ACCOUNT_CREATED_IX LOCAL,
+        TRANSACTIONS_STATUS_CREATED_IX LOCAL,
+        TRANSACTIONS_CREATED_IX LOCAL);
+
+ALTER TABLE AUDIT_LOGS MODIFY
+    PARTITION BY RANGE (CREATED_AT) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+    (PARTITION AUDIT_LOGS_P0 VALUES LESS THAN (TIMESTAMP '2000-01-01 00:00:00'))
+    ONLINE
+    UPDATE INDEXES (
+        AUDIT_LOGS_PERFORMER_CREATED_IX LOCAL,
+        AUDIT_LOGS_ACTION_CREATED_IX LOCAL,
+        AUDIT_LOGS_CREATED_IX LOCAL);
+
+-- Archive tables: same columns, partitions and indexes, compressed. The archiver copies a
+-- month with INSERT /*+ APPEND */ ... SELECT, a direct-path insert, which is what BASIC
+-- compression applies to. Rows are never updated afterwards.
+
+CREATE TABLE TRANSACTIONS_ARCHIVE (
+    ID               NUMBER(19)    NOT NULL,
+    TYPE             VARCHAR2(255) NOT NULL,
+    AMOUNT           NUMBER(19)    NOT NULL,
+    BEFORE_AMOUNT    NUMBER(19)    NOT NULL,
+    REMAINING_AMOUNT NUMBER(19)    NOT NULL,
+    DESCRIPTION      VARCHAR2(255),
+    STATUS           VARCHAR2(255) NOT NULL,
+    REFERENCE_NUMBER VARCHAR2(255),
+    ACCOUNT_ID       NUMBER(19)    NOT NULL,
+    CREATED_AT       TIMESTAMP     NOT NULL,
+    TRANSFER_ID      VARCHAR2(255),
+    CONSTRAINT TRANSACTIONS_ARCHIVE_PK PRIMARY KEY (ID),
+    CONSTRAINT TRANSACTIONS_ARCHIVE_ACCOUNT_FK FOREIGN KEY (ACCOUNT_ID) REFERENCES ACCOUNTS (ID)
+)
+ROW STORE COMPRESS BASIC
+PARTITION BY RANGE (CREATED_AT) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+    (PARTITION TRANSACTIONS_ARCHIVE_P0 VALUES LESS THAN (TIMESTAMP '2000-01-01 00:00:00'));
+
+CREATE INDEX TRANSACTIONS_ARCHIVE_ACCOUNT_CREATED_IX
+    ON TRANSACTIONS_ARCHIVE (ACCOUNT_ID, CREATED_AT DESC, ID DESC) LOCAL COMPRESS 1;
+CREATE INDEX TRANSACTIONS_ARCHIVE_STATUS_CREATED_IX
+    ON TRANSACTIONS_ARCHIVE (STATUS, CREATED_AT) LOCAL COMPRESS 1;
+CREATE INDEX TRANSACTIONS_ARCHIVE_CREATED_IX ON TRANSACTIONS_ARCHIVE (CREATED_AT) LOCAL;
+
+CREATE TABLE AUDIT_LOGS_ARCHIVE (
+    ID           NUMBER(19)    NOT NULL,
+    AUDIT_ACTION VARCHAR2(255) NOT NULL,
+    ENTITY_TYPE  VARCHAR2(255) NOT NULL,
+    ENTITY_ID    NUMBER(19),
+    PERFORMED_BY VARCHAR2(255) NOT NULL,
+    USER_ROLE    VARCHAR2(255) NOT NULL,
+    IP_ADDRESS   VARCHAR2(255),
+    STATUS       VARCHAR2(255) NOT NULL,
+    DESCRIPTION  VARCHAR2(500),
+    USER_AGENT   VARCHAR2(500),
+    CREATED_AT   TIMESTAMP     NOT NULL,
+    CONSTRAINT AUDIT_LOGS_ARCHIVE_PK PRIMARY KEY (ID)
+)
+ROW STORE COMPRESS BASIC
+PARTITION BY RANGE (CREATED_AT) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+    (PARTITION AUDIT_LOGS_ARCHIVE_P0 VALUES LESS THAN (TIMESTAMP '2000-01-01 00:00:00'));
+
+CREATE INDEX AUDIT_LOGS_ARCHIVE_PERFORMER_CREATED_IX
+    ON AUDIT_LOGS_ARCHIVE (PERFORMED_BY, CREATED_AT) LOCAL COMPRESS 1;
+CREATE INDEX AUDIT_LOGS_ARCHIVE_ACTION_CREATED_IX
+    ON AUDIT_LOGS_ARCHIVE (AUDIT_ACTION, CREATED_AT) LOCAL COMPRESS 1;
+CREATE INDEX AUDIT_LOGS_ARCHIVE_CREATED_IX ON AUDIT_LOGS_ARCHIVE (CREATED_AT) LOCAL;
+
+-- Per table, the first instant still read from the hot table.
+CREATE TABLE ARCHIVE_BOUNDARIES (
+    TABLE_NAME      VARCHAR2(30) NOT NULL,
+    ARCHIVED_BEFORE TIMESTAMP    NOT NULL,
+    ADVANCED_AT     TIMESTAMP    NOT NULL,
+    CONSTRAINT ARCHIVE_BOUNDARIES_PK PRIMARY KEY (TABLE_NAME)
+);
+
+-- The archiver's delete empties the hot partitions behind the boundary but leaves them in
+-- place. Once empty they can be dropped during a quiet period, for example:
+--
+--   ALTER TABLE TRANSACTIONS DROP PARTITION FOR (TIMESTAMP '2024-01-01 00:00:00') UPDATE GLOBAL INDEXES;
+--   ALTER TABLE AUDIT_LOGS DROP PARTITION FOR (TIMESTAMP '2024-01-01 00:00:00') UPDATE GLOBAL INDEXES;
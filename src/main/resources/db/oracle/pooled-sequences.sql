@@ -0,0 +1,18 @@
+-- Moves the entity id sequences from one id per NEXTVAL to blocks of 50
+-- (model.IdAllocation.SIZE). Run once, with the application stopped, before
+-- deploying a build that uses pooled id allocation.
+--
+-- Existing ids stay valid: after the change the next NEXTVAL returns
+-- <current value> + 50, and both the pooled and pooled-lo optimizers only hand out
+-- ids above the current value from there on.
+--
+-- Hibernate compares these increments with the mapped allocation size at startup
+-- and refuses to start on a mismatch (hibernate.id.sequence.increment_size_mismatch_strategy
+-- defaults to EXCEPTION), so a forgotten migration fails fast instead of reusing ids.
+
+ALTER SEQUENCE ACCOUNT_SEQUENCE INCREMENT BY 50;
+ALTER SEQUENCE TRANSACTION_SEQUENCE INCREMENT BY 50;
+ALTER SEQUENCE USER_SEQUENCE INCREMENT BY 50;
+ALTER SEQUENCE AUDIT_LOG_SEQUENCE INCREMENT BY 50;
+
+-- Rolling back to allocationSize = 1 is the same statement with INCREMENT BY 1.
@@ -0,0 +1,10 @@
+-- Heartbeat behind read-replica mode (banking.datasource.replica.url, model.ReplicaHeartbeat).
+-- The application stamps the single row on the primary every
+-- banking.datasource.replica.heartbeat-millis and reads it back from the replica to
+-- measure replication lag, so the table must be part of what is replicated.
+
+CREATE TABLE REPLICA_HEARTBEAT (
+    ID          NUMBER(19) NOT NULL,
+    BEAT_MILLIS NUMBER(19) NOT NULL,
+    CONSTRAINT REPLICA_HEARTBEAT_PK PRIMARY KEY (ID)
+);
@@ -0,0 +1,9 @@
+-- Index behind the keyset statement endpoint (POST /api/transaction/statement/keyset),
+-- declared on model.Transaction as TRANSACTIONS_ACCOUNT_CREATED_IX.
+-- The seek predicate (CREATED_AT, ID) < cursor becomes a range on this index and the
+-- ORDER BY is read straight off it, so a page stops after size + 1 rows at any depth.
+--
+-- ONLINE keeps TRANSACTIONS writable while the index builds.
+
+CREATE INDEX TRANSACTIONS_ACCOUNT_CREATED_IX
+    ON TRANSACTIONS (ACCOUNT_ID, CREATED_AT DESC, ID DESC) ONLINE;
@@ -0,0 +1,18 @@
+-- Word-prefix index behind banking.user-search.mode=token (model.UserSearchToken).
+-- One row per lowercased word of a user's email and full name. A search word is a range
+-- scan of USER_SEARCH_TOKENS_PREFIX_IX (FIELD, TOKEN LIKE 'word%'), which also carries
+-- USER_ID so the scan never visits the table. Existing users are indexed by the backfill
+-- that runs on startup; searches stay in contains mode until it has finished.
+
+CREATE SEQUENCE USER_SEARCH_TOKEN_SEQUENCE START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE USER_SEARCH_TOKENS (
+    ID      NUMBER(19)    NOT NULL,
+    USER_ID NUMBER(19)    NOT NULL,
+    FIELD   VARCHAR2(20)  NOT NULL,
+    TOKEN   VARCHAR2(100) NOT NULL,
+    CONSTRAINT USER_SEARCH_TOKENS_PK PRIMARY KEY (ID)
+);
+
+CREATE INDEX USER_SEARCH_TOKENS_PREFIX_IX ON USER_SEARCH_TOKENS (FIELD, TOKEN, USER_ID);
+CREATE INDEX USER_SEARCH_TOKENS_USER_IX ON USER_SEARCH_TOKENS (USER_ID);
@@ -0,0 +1,12 @@
+-- Columns behind the JWT security version claim (model.User.securityVersion).
+-- Run once before deploying a build that issues tokens with role and sv claims.
+--
+-- UserSecurityVersions polls SECURITY_UPDATED_AT every jwt.revocation.refresh-millis,
+-- hence the index.
+
+ALTER TABLE USERS ADD (
+    SECURITY_VERSION    NUMBER(19) DEFAULT 0 NOT NULL,
+    SECURITY_UPDATED_AT TIMESTAMP
+);
+
+CREATE INDEX USERS_SECURITY_UPDATED_AT_IX ON USERS (SECURITY_UPDATED_AT);
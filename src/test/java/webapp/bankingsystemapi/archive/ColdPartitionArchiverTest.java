@@ -0,0 +1,247 @@
+package webapp.bankingsystemapi.archive;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.admin.transaction.AdminTransactionResponse;
+import webapp.bankingsystemapi.DTO.transaction.StatementRow;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.enums.AuditStatus;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.export.StatementExportFormat;
+import webapp.bankingsystemapi.export.StatementExporter;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.AuditLog;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.AuditLogRepo;
+import webapp.bankingsystemapi.repo.TransactionRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Archives the months before last and checks that statements, the admin transaction
+ * search and the audit search still return them, each row once, in order across tiers.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "banking.archive.refresh-millis=3600000",
+        "banking.rollup.flush-millis=3600000",
+        "banking.dashboard.reconcile-millis=3600000",
+        "banking.ledger.checkpoint-millis=3600000",
+        "jwt.revocation.refresh-millis=3600000"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ColdPartitionArchiverTest {
+
+    private static final YearMonth CURRENT = YearMonth.now();
+    private static final LocalDateTime BOUNDARY = CURRENT.minusMonths(1).atDay(1).atStartOfDay();
+
+    @Autowired
+    private ColdPartitionArchiver archiver;
+    @Autowired
+    private TransactionRepo transactionRepo;
+    @Autowired
+    private AuditLogRepo auditLogRepo;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private StatementExporter statementExporter;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Account account;
+    private String performer;
+    private Long archivedId;
+
+    // Three months back: two rows, two months back: one, this month: two. The amounts
+    // alternate between the tiers when sorted.
+    @BeforeAll
+    void archiveOldMonths() {
+        User owner = userRepo.save(User.builder()
+                .fullName("Archive Owner")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        account = accountRepo.save(Account.builder()
+                .accountNumber("ARC-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(owner)
+                .build());
+        performer = owner.getEmail();
+        LocalDateTime threeBack = CURRENT.minusMonths(3).atDay(10).atTime(12, 0);
+        LocalDateTime twoBack = CURRENT.minusMonths(2).atDay(20).atTime(12, 0);
+        List<LocalDateTime> archived = List.of(threeBack, threeBack.plusDays(1), twoBack);
+        List<Long> archivedAmounts = List.of(300L, 100L, 500L);
+        for (int i = 0; i < archived.size(); i++) {
+            archivedId = transaction(archived.get(i), archivedAmounts.get(i));
+            audit(archived.get(i));
+        }
+        transaction(null, 200);
+        transaction(null, 400);
+        audit(LocalDateTime.now());
+
+        assertTrue(archiver.archive(CURRENT.minusMonths(1)) >= 2);
+    }
+
+    @Test
+    void archivedMonthsStaySearchableThroughTheSameQueries() throws IOException {
+        // copied but not purged yet: each row is read from one tier only
+        assertEquals(5, statement(PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(5, transactionRepo.countByAccountId(account.getId()));
+
+        archiver.purge(LocalDateTime.now().plusSeconds(1));
+        assertEquals(2, transactionRepo.countByAccountId(account.getId()), "archived rows left the hot table");
+
+        Page<StatementRow> page = statement(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "createdAt")));
+        assertEquals(5, page.getTotalElements());
+        assertNewestFirst(page.getContent());
+        assertFalse(page.getContent().get(1).createdAt().isBefore(BOUNDARY));
+        assertTrue(page.getContent().get(2).createdAt().isBefore(BOUNDARY), "the page continues into the archive");
+        Page<StatementRow> next = statement(PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "createdAt")));
+        assertEquals(2, next.getContent().size());
+        assertTrue(next.getContent().get(0).createdAt().isBefore(page.getContent().get(2).createdAt()));
+
+        List<StatementRow> keyset = transactionRepo.findStatementPage(account.getId(), null, null, null, null, null, null, 3);
+        assertEquals(3, keyset.size());
+        StatementRow last = keyset.get(2);
+        assertEquals(2, transactionRepo.findStatementPage(account.getId(), last.createdAt(), last.id(),
+                null, null, null, null, 3).size());
+
+        Page<Transaction> admin = transactionRepo.filterAdminTransactions(account.getAccountNumber(), null, null, null,
+                null, BOUNDARY.minusNanos(1), null, null, PageRequest.of(0, 10));
+        assertEquals(3, admin.getTotalElements());
+        assertEquals(account.getAccountNumber(), admin.getContent().get(0).getAccount().getAccountNumber());
+
+        Page<AuditLog> audits = auditLogRepo.filterAudits(performer, null, null, null, null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "createdAt")));
+        assertEquals(4, audits.getTotalElements());
+        assertTrue(audits.getContent().get(0).getCreatedAt().isBefore(audits.getContent().get(3).getCreatedAt()),
+                "oldest first starts in the archive");
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        try {
+            AdminTransactionResponse byId = transactionService.getTransaction(archivedId);
+            assertEquals(account.getAccountNumber(), byId.getAccountNumber(), "looked up by id in the archive");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(5, statementExporter.write(account.getId(), null, null, null, null, StatementExportFormat.CSV, out));
+    }
+
+    @Test
+    void sortsOtherThanCreatedAtAreMergedAcrossTiers() {
+        List<Long> amounts = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            transactionRepo.filterAdminTransactions(account.getAccountNumber(), null, null, null, null, null, null, null,
+                            PageRequest.of(page, 2, Sort.by(Sort.Direction.DESC, "amount")))
+                    .forEach(transaction -> amounts.add(transaction.getAmount()));
+        }
+        assertEquals(List.of(500L, 400L, 300L, 200L, 100L), amounts);
+
+        Page<StatementRow> cheapest = statement(PageRequest.of(0, 2, Sort.by("amount")));
+        assertEquals(5, cheapest.getTotalElements());
+        assertEquals(List.of(100L, 200L), cheapest.getContent().stream().map(StatementRow::amount).toList());
+    }
+
+    @Test
+    void dateRangesAfterTheBoundaryNeverReadTheArchive() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<StatementRow> page = transactionRepo.filterStatements(account.getId(), CURRENT.atDay(1).atStartOfDay(),
+                null, null, null, PageRequest.of(0, 10));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1, statistics.getPrepareStatementCount(), "one page query on the hot table, no count needed");
+    }
+
+    private Page<StatementRow> statement(PageRequest pageable) {
+        return transactionRepo.filterStatements(account.getId(), null, null, null, null, pageable);
+    }
+
+    private Long transaction(LocalDateTime createdAt, long amount) {
+        Transaction saved = transactionRepo.save(Transaction.builder()
+                .type(TransactionType.DEPOSIT)
+                .amount(amount)
+                .beforeAmount(0)
+                .remainingAmount(amount)
+                .status(TransactionStatus.SUCCESS)
+                .referenceNumber("ARC-" + UUID.randomUUID())
+                .account(account)
+                .build());
+        if (createdAt != null) {
+            // CREATED_AT is stamped on insert
+            jdbcTemplate.update("update TRANSACTIONS set CREATED_AT = ? where ID = ?", createdAt, saved.getId());
+        }
+        return saved.getId();
+    }
+
+    private void audit(LocalDateTime createdAt) {
+        auditLogRepo.save(AuditLog.builder()
+                .audit(AuditAction.DEPOSIT)
+                .entityType(AuditEntityType.TRANSACTION)
+                .performedBy(performer)
+                .role("USER")
+                .status(AuditStatus.SUCCESS)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private static void assertNewestFirst(List<StatementRow> rows) {
+        for (int i = 1; i < rows.size(); i++) {
+            assertNotNull(rows.get(i).createdAt());
+            assertFalse(rows.get(i).createdAt().isAfter(rows.get(i - 1).createdAt()));
+        }
+    }
+}
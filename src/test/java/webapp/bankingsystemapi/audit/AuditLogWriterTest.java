@@ -0,0 +1,84 @@
+package webapp.bankingsystemapi.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.enums.AuditStatus;
+import webapp.bankingsystemapi.model.AuditLog;
+import webapp.bankingsystemapi.repo.AuditLogRepo;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditLogWriterTest {
+
+    @Autowired
+    private AuditLogRepo repo;
+    @Autowired
+    private AuditOutbox outbox;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Test
+    void afterCommitWritesOnlyCommittedRowsAndDrainsOnShutdown() throws Exception {
+        AuditLogWriter writer = new AuditLogWriter(repo, outbox, transactionManager, AuditDurability.AFTER_COMMIT, 4, 3, 50, 30000);
+        beanFactory.autowireBean(writer);
+        String marker = UUID.randomUUID().toString();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        for (int i = 0; i < 20; i++) {
+            tx.executeWithoutResult(status -> writer.write(log(marker)));
+        }
+        tx.executeWithoutResult(status -> {
+            writer.write(log(marker));
+            status.setRollbackOnly();
+        });
+        writer.shutdown();
+
+        assertEquals(20, countWith(marker));
+        assertEquals(20, writer.metrics().getEnqueued() + writer.metrics().getWrittenByCaller());
+        assertEquals(0, writer.metrics().getQueueDepth());
+    }
+
+    @Test
+    void fireAndForgetDropsWhenQueueIsFull() throws Exception {
+        AuditLogWriter writer = new AuditLogWriter(repo, outbox, transactionManager, AuditDurability.FIRE_AND_FORGET, 1, 1, 0, 30000);
+        beanFactory.autowireBean(writer);
+        String marker = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 200; i++) {
+            writer.write(log(marker));
+        }
+        writer.shutdown();
+
+        assertEquals(200, countWith(marker) + writer.metrics().getDropped());
+    }
+
+    private long countWith(String marker) {
+        return repo.findAll().stream().filter(a -> marker.equals(a.getDescription())).count();
+    }
+
+    private static AuditLog log(String marker) {
+        return AuditLog.builder()
+                .audit(AuditAction.DEPOSIT)
+                .entityType(AuditEntityType.TRANSACTION)
+                .performedBy("writer@bank.test")
+                .role("ROLE_ADMIN")
+                .status(AuditStatus.SUCCESS)
+                .description(marker)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
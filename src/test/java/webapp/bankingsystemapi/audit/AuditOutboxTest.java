@@ -0,0 +1,69 @@
+package webapp.bankingsystemapi.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.enums.AuditStatus;
+import webapp.bankingsystemapi.model.AuditLog;
+import webapp.bankingsystemapi.repo.AuditLogRepo;
+import webapp.bankingsystemapi.repo.AuditOutboxRepo;
+import webapp.bankingsystemapi.service.AuditService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The relay thread is parked for the whole run; the test moves events itself.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:audit-outbox;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.audit.durability=outbox",
+        "banking.audit.outbox.poll-millis=3600000"
+})
+@ActiveProfiles("test")
+class AuditOutboxTest {
+
+    @Autowired
+    private AuditService auditService;
+    @Autowired
+    private AuditOutbox outbox;
+    @Autowired
+    private AuditOutboxRepo outboxRepo;
+    @Autowired
+    private AuditLogRepo auditLogRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void failureAuditSurvivesRollbackAndSuccessAuditDoesNot() {
+        String marker = UUID.randomUUID().toString();
+        TransactionTemplate posting = new TransactionTemplate(transactionManager);
+
+        posting.executeWithoutResult(status -> {
+            auditService.logSuccess(AuditAction.DEPOSIT, AuditEntityType.TRANSACTION, 1L, "rolled back " + marker);
+            auditService.logFailure(AuditAction.DEPOSIT, AuditEntityType.TRANSACTION, 1L, "failed " + marker);
+            status.setRollbackOnly();
+        });
+        posting.executeWithoutResult(status ->
+                auditService.logSuccess(AuditAction.DEPOSIT, AuditEntityType.TRANSACTION, 2L, "committed " + marker));
+
+        assertEquals(2, outboxRepo.count());
+        while (outbox.relayBatch() > 0) {
+            // move everything the postings left behind
+        }
+
+        List<AuditLog> logs = auditLogRepo.findAll().stream()
+                .filter(a -> a.getDescription().endsWith(marker))
+                .toList();
+        assertEquals(2, logs.size());
+        assertEquals(AuditStatus.FAILED, logs.stream()
+                .filter(a -> a.getDescription().startsWith("failed")).findFirst().orElseThrow().getStatus());
+        assertEquals(1, logs.stream().filter(a -> a.getDescription().startsWith("committed")).count());
+        assertEquals(0, outboxRepo.count());
+    }
+}
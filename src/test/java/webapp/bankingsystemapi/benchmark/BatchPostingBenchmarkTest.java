@@ -0,0 +1,79 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingItem;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingRequest;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingResponse;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.enums.PostingType;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Transfer throughput, one call per posting versus the batch endpoint's service path.
+ * Run with {@code mvn test -Dtest=BatchPostingBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BatchPostingBenchmarkTest {
+
+    private static final int ACCOUNTS = 100;
+    private static final int POSTINGS = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void compareSingleCallsAndBatches() throws Exception {
+        List<Account> accounts = BenchmarkSupport.createAccounts(
+                accountRepo, BenchmarkSupport.createUser(userRepo), ACCOUNTS, 1_000_000.0);
+
+        double single = BenchmarkSupport.opsPerSecond(1, POSTINGS, (thread, i) ->
+                transactionService.transfer(TransferRequest.builder()
+                        .fromAccountNumber(accounts.get(i % ACCOUNTS).getAccountNumber())
+                        .toAccountNumber(accounts.get((i + 1) % ACCOUNTS).getAccountNumber())
+                        .amount(1.0)
+                        .build(), BenchmarkSupport.ADMIN_EMAIL));
+
+        double batches = BenchmarkSupport.opsPerSecond(1, POSTINGS / BATCH_SIZE, (thread, i) -> {
+            List<BatchPostingItem> items = IntStream.range(0, BATCH_SIZE)
+                    .mapToObj(n -> BatchPostingItem.builder()
+                            .type(PostingType.TRANSFER)
+                            .accountNumber(accounts.get(n % ACCOUNTS).getAccountNumber())
+                            .toAccountNumber(accounts.get((n + 1) % ACCOUNTS).getAccountNumber())
+                            .amount(1.0)
+                            .build())
+                    .toList();
+            BatchPostingResponse response = transactionService.postBatch(
+                    new BatchPostingRequest(items), BenchmarkSupport.ADMIN_EMAIL);
+            assertEquals(BATCH_SIZE, response.getSucceeded());
+        });
+        double batched = batches * BATCH_SIZE;
+
+        double total = accounts.stream()
+                .mapToDouble(a -> Money.toMajor(accountRepo.findById(a.getId()).orElseThrow().getBalance()))
+                .sum();
+        assertEquals(ACCOUNTS * 1_000_000.0, total, 0.0001);
+
+        System.out.printf("transfer throughput: single=%.0f ops/s, batch=%.0f ops/s (x%.2f)%n",
+                single, batched, batched / single);
+    }
+}
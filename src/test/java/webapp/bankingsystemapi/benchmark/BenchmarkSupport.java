@@ -0,0 +1,119 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.util.Money;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Shared fixtures for the opt-in benchmarks (run with -Dbenchmark=true).
+final class BenchmarkSupport {
+
+    static final String ADMIN_EMAIL = "bench-admin@bank.test";
+
+    private BenchmarkSupport() {}
+
+    interface Task {
+        void run(int thread, int iteration) throws Exception;
+    }
+
+    static void runAsAdmin() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(ADMIN_EMAIL, null,
+                        List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    static User createUser(UserRepo userRepo) {
+        return userRepo.save(User.builder()
+                .fullName("Benchmark User")
+                .email("bench-" + UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+    }
+
+    static List<Account> createAccounts(AccountRepo accountRepo, User user, int count, double balance) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(accountRepo.save(Account.builder()
+                    .accountNumber("BENCH-" + UUID.randomUUID())
+                    .type(AccountType.SAVING)
+                    .status(AccountStatus.OPEN)
+                    .balance(Money.toMinor(balance))
+                    .user(user)
+                    .build()));
+        }
+        return accounts;
+    }
+
+    /**
+     * Bulk-loads {@code count} successful deposits for one account straight through JDBC,
+     * one second apart going back from {@code newest}. Ids start at {@code firstId}, well
+     * clear of the pooled sequences.
+     */
+    static void insertTransactions(JdbcTemplate jdbcTemplate, Account account, long firstId,
+                                   int count, LocalDateTime newest) {
+        int batch = 5_000;
+        for (int from = 0; from < count; from += batch) {
+            List<Object[]> rows = new ArrayList<>(batch);
+            for (int i = from; i < Math.min(from + batch, count); i++) {
+                rows.add(new Object[] {firstId + i, "DEPOSIT", 100L, i * 100L, (i + 1) * 100L, "SUCCESS",
+                        "BENCH-" + (firstId + i), account.getId(),
+                        Timestamp.valueOf(newest.minusSeconds(count - 1 - i))});
+            }
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO TRANSACTIONS (ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, STATUS,
+                                              REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, rows);
+        }
+    }
+
+    /** Runs {@code task} on {@code threads} admin threads and returns operations per second. */
+    static double opsPerSecond(int threads, int iterations, Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                runAsAdmin();
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    task.run(thread, i);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        return threads * (double) iterations / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,77 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.posting.PostingExecutor;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Deposit throughput against a few hot accounts, one transaction per posting
+ * versus group commit. Run with {@code mvn test -Dtest=GroupCommitBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GroupCommitBenchmarkTest {
+
+    private static final int THREADS = 32;
+    private static final int DEPOSITS_PER_THREAD = 200;
+    private static final int HOT_ACCOUNTS = 4;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void compareSingleAndGroupCommit() throws Exception {
+        double single = run(new PostingExecutor(transactionManager, false, 64, 64, 2, false, 5, 2));
+        double grouped = run(new PostingExecutor(transactionManager, true, 64, 64, 2, false, 5, 2));
+
+        System.out.printf("deposit throughput: single=%.0f ops/s, group-commit=%.0f ops/s (x%.2f)%n",
+                single, grouped, grouped / single);
+    }
+
+    private double run(PostingExecutor executor) throws Exception {
+        Object target = AopTestUtils.getTargetObject(transactionService);
+        Object original = ReflectionTestUtils.getField(target, "postingExecutor");
+        ReflectionTestUtils.setField(target, "postingExecutor", executor);
+
+        List<Account> accounts = BenchmarkSupport.createAccounts(
+                accountRepo, BenchmarkSupport.createUser(userRepo), HOT_ACCOUNTS, 0.0);
+        try {
+            double opsPerSecond = BenchmarkSupport.opsPerSecond(THREADS, DEPOSITS_PER_THREAD, (thread, i) ->
+                    transactionService.deposit(DepositRequest.builder()
+                            .accountNumber(accounts.get((thread + i) % HOT_ACCOUNTS).getAccountNumber())
+                            .amount(1.0)
+                            .build(), BenchmarkSupport.ADMIN_EMAIL));
+
+            double total = accounts.stream()
+                    .mapToDouble(a -> Money.toMajor(accountRepo.findById(a.getId()).orElseThrow().getBalance()))
+                    .sum();
+            assertEquals(THREADS * DEPOSITS_PER_THREAD, total, 0.0001);
+            return opsPerSecond;
+        } finally {
+            ReflectionTestUtils.setField(target, "postingExecutor", original);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.config.JWTFilter;
+import webapp.bankingsystemapi.config.JWTTokenCache;
+import webapp.bankingsystemapi.config.JWTUtil;
+import webapp.bankingsystemapi.config.UserSecurityVersions;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cost of {@link JWTFilter} per authenticated request, with and without the verified
+ * token cache. Run with {@code mvn test -Dtest=JWTFilterBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JWTFilterBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 20_000;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private UserSecurityVersions securityVersions;
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void compareFilterCostPerRequest() throws Exception {
+        User user = BenchmarkSupport.createUser(userRepo);
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getSecurityVersion());
+
+        double uncached = microsPerRequest(new JWTFilter(jwtUtil, userDetailsService, new JWTTokenCache(0), securityVersions, userRepo), token);
+        double cached = microsPerRequest(new JWTFilter(jwtUtil, userDetailsService, new JWTTokenCache(10_000), securityVersions, userRepo), token);
+
+        System.out.printf("JWT filter: uncached=%.1f us/request, cached=%.1f us/request (x%.1f)%n",
+                uncached, cached, uncached / cached);
+    }
+
+    private double microsPerRequest(JWTFilter filter, String token) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            filterOnce(filter, token);
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            filterOnce(filter, token);
+        }
+        return (System.nanoTime() - begin) / 1_000.0 / REQUESTS;
+    }
+
+    private static void filterOnce(JWTFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/account/user");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
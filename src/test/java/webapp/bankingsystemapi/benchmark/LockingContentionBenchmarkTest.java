@@ -0,0 +1,91 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.posting.PostingExecutor;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Deposit throughput with pessimistic row locks versus optimistic version checks, on a
+ * couple of hot accounts shared by every thread and on cold accounts (one per thread).
+ * Run with {@code mvn test -Dtest=LockingContentionBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LockingContentionBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int DEPOSITS_PER_THREAD = 200;
+    private static final int HOT_ACCOUNTS = 2;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void comparePessimisticAndOptimistic() throws Exception {
+        for (int accounts : new int[] {HOT_ACCOUNTS, THREADS}) {
+            String label = accounts == HOT_ACCOUNTS ? "hot" : "cold";
+            for (boolean optimistic : new boolean[] {false, true}) {
+                run(label, accounts, new PostingExecutor(transactionManager, false, 64, 64, 2, optimistic, 5, 2));
+            }
+        }
+    }
+
+    private void run(String label, int accountCount, PostingExecutor executor) throws Exception {
+        Object target = AopTestUtils.getTargetObject(transactionService);
+        Object original = ReflectionTestUtils.getField(target, "postingExecutor");
+        ReflectionTestUtils.setField(target, "postingExecutor", executor);
+
+        List<Account> accounts = BenchmarkSupport.createAccounts(
+                accountRepo, BenchmarkSupport.createUser(userRepo), accountCount, 0.0);
+        AtomicInteger conflicts = new AtomicInteger();
+        try {
+            double opsPerSecond = BenchmarkSupport.opsPerSecond(THREADS, DEPOSITS_PER_THREAD, (thread, i) -> {
+                try {
+                    transactionService.deposit(DepositRequest.builder()
+                            .accountNumber(accounts.get((thread + i) % accountCount).getAccountNumber())
+                            .amount(1.0)
+                            .build(), BenchmarkSupport.ADMIN_EMAIL);
+                } catch (OptimisticLockingFailureException ex) {
+                    conflicts.incrementAndGet();
+                }
+            });
+
+            int attempted = THREADS * DEPOSITS_PER_THREAD;
+            double total = accounts.stream()
+                    .mapToDouble(a -> Money.toMajor(accountRepo.findById(a.getId()).orElseThrow().getBalance()))
+                    .sum();
+            assertEquals(attempted - conflicts.get(), total, 0.0001);
+
+            System.out.printf("%s accounts, %s: %.0f deposits/s, %d gave up after retries%n",
+                    label, executor.isOptimistic() ? "optimistic" : "pessimistic",
+                    opsPerSecond * (attempted - conflicts.get()) / attempted, conflicts.get());
+        } finally {
+            ReflectionTestUtils.setField(target, "postingExecutor", original);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import webapp.bankingsystemapi.util.Money;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boxed {@code Double} amounts, as the entities used to hold them, against {@code long}
+ * minor units: posting arithmetic (check, debit, credit), summing amounts in memory the
+ * way the dashboard and rollup do, and SUM over a FLOAT against a BIGINT column.
+ * Run with {@code mvn test -Dtest=MoneyArithmeticBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MoneyArithmeticBenchmarkTest {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int POSTINGS = 5_000_000;
+    private static final int ROUNDS = 5;
+    private static final int ROWS = 1_000_000;
+
+    private static final class DoubleAccount {
+        private Double balance = 1_000_000.0;
+    }
+
+    private static final class LongAccount {
+        private long balance = 100_000_000L;
+    }
+
+    @Test
+    void comparePostingArithmetic() {
+        long[] amounts = ThreadLocalRandom.current().longs(POSTINGS, 1, 100_000).toArray();
+        DoubleAccount[] doubles = new DoubleAccount[ACCOUNTS];
+        LongAccount[] longs = new LongAccount[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            doubles[i] = new DoubleAccount();
+            longs[i] = new LongAccount();
+        }
+        double boxed = 0;
+        double primitive = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            boxed = nanosPerPosting(() -> postDoubles(doubles, amounts));
+            primitive = nanosPerPosting(() -> postLongs(longs, amounts));
+        }
+        System.out.printf("Posting arithmetic: Double=%.2f ns/posting, long=%.2f ns/posting (x%.1f)%n",
+                boxed, primitive, boxed / primitive);
+    }
+
+    @Test
+    void compareInMemoryAggregation() {
+        long[] minor = ThreadLocalRandom.current().longs(POSTINGS, 1, 100_000).toArray();
+        List<Double> major = new ArrayList<>(POSTINGS);
+        for (long amount : minor) {
+            major.add(Money.toMajor(amount));
+        }
+        BigDecimal[] totals = new BigDecimal[2];
+        double boxed = 0;
+        double primitive = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            boxed = nanosPerPosting(() -> {
+                double sum = 0;
+                for (Double amount : major) {
+                    sum += amount;
+                }
+                totals[0] = BigDecimal.valueOf(sum);
+            });
+            primitive = nanosPerPosting(() -> {
+                long sum = 0;
+                for (long amount : minor) {
+                    sum += amount;
+                }
+                totals[1] = Money.toDecimal(sum);
+            });
+        }
+        System.out.printf("Aggregation: Double=%.2f ns/amount (total %s), long=%.2f ns/amount (total %s)%n",
+                boxed, totals[0].toPlainString(), primitive, totals[1].toPlainString());
+    }
+
+    @Test
+    void compareSqlAggregation() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:money-bench;DB_CLOSE_DELAY=-1");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE AMOUNTS (ID BIGINT PRIMARY KEY, AMOUNT_FLOAT FLOAT, AMOUNT_MINOR BIGINT)");
+            statement.execute("INSERT INTO AMOUNTS SELECT X, MOD(X * 7919, 100000) / 100.0, MOD(X * 7919, 100000) "
+                    + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            double floats = 0;
+            double minor = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                floats = millisPerSum(statement, "SELECT SUM(AMOUNT_FLOAT) FROM AMOUNTS WHERE ID > " + round);
+                minor = millisPerSum(statement, "SELECT SUM(AMOUNT_MINOR) FROM AMOUNTS WHERE ID > " + round);
+            }
+            System.out.printf("SUM over %,d rows: FLOAT=%.1f ms, BIGINT minor units=%.1f ms%n", ROWS, floats, minor);
+            statement.execute("DROP TABLE AMOUNTS");
+        }
+    }
+
+    private static void postDoubles(DoubleAccount[] accounts, long[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            DoubleAccount from = accounts[i % ACCOUNTS];
+            DoubleAccount to = accounts[(i * 31 + 7) % ACCOUNTS];
+            Double amount = amounts[i] / 100.0;
+            if (from.balance >= amount) {
+                from.balance = from.balance - amount;
+                to.balance = to.balance + amount;
+            }
+        }
+    }
+
+    private static void postLongs(LongAccount[] accounts, long[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            LongAccount from = accounts[i % ACCOUNTS];
+            LongAccount to = accounts[(i * 31 + 7) % ACCOUNTS];
+            long amount = amounts[i];
+            if (from.balance >= amount) {
+                from.balance -= amount;
+                to.balance += amount;
+            }
+        }
+    }
+
+    private static double nanosPerPosting(Runnable run) {
+        long begin = System.nanoTime();
+        run.run();
+        return (System.nanoTime() - begin) / (double) POSTINGS;
+    }
+
+    private static double millisPerSum(Statement statement, String sql) throws Exception {
+        long begin = System.nanoTime();
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            assertEquals(false, rs.wasNull());
+        }
+        return (System.nanoTime() - begin) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,125 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.StatementRequest;
+import webapp.bankingsystemapi.export.StatementExportFormat;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports a one-million-row statement in both formats inside a heap far too small to
+ * hold the rows, which only works if the export streams. The database is file-backed
+ * so the table itself does not live on the heap.
+ * Run with {@code mvn test -Dtest=StatementExportMemoryTest -Dbenchmark=true -DargLine=-Xmx128m}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/statement-export;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.hikari.maximum-pool-size=4"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StatementExportMemoryTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_HEAP = 128L * 1024 * 1024;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportsMillionRowsInSmallHeap() throws Exception {
+        assertTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP,
+                "run with -DargLine=-Xmx128m; max heap is " + Runtime.getRuntime().maxMemory());
+
+        BenchmarkSupport.runAsAdmin();
+        Account account = BenchmarkSupport.createAccounts(
+                accountRepo, BenchmarkSupport.createUser(userRepo), 1, 0.0).get(0);
+        jdbcTemplate.update("""
+                INSERT INTO TRANSACTIONS (ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, STATUS,
+                                          REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT, DESCRIPTION)
+                SELECT 2000000000 + X, 'DEPOSIT', 100, (X - 1) * 100, X * 100, 'SUCCESS', 'EXPORT-' || X, ?,
+                       DATEADD(SECOND, X, TIMESTAMP '2025-01-01 00:00:00'), 'Bulk export row ' || X
+                FROM SYSTEM_RANGE(1, ?)
+                """, account.getId(), ROWS);
+
+        StatementRequest request = new StatementRequest();
+        request.setAccountNumber(account.getAccountNumber());
+
+        for (StatementExportFormat format : StatementExportFormat.values()) {
+            LineCounter out = new LineCounter();
+            resetPeakHeap();
+            long begin = System.nanoTime();
+            transactionService.exportStatement(request, format, BenchmarkSupport.ADMIN_EMAIL).writeTo(out);
+            long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+            System.out.printf("statement export %s: %d rows, %d MB in %d ms, peak heap %d MB of %d MB%n",
+                    format, ROWS, out.bytes / (1024 * 1024), elapsedMillis,
+                    peakHeap() / (1024 * 1024), Runtime.getRuntime().maxMemory() / (1024 * 1024));
+            int header = format == StatementExportFormat.CSV ? 1 : 0;
+            assertEquals(ROWS + header, out.lines);
+        }
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    // Discards the export, keeping only what the assertions need.
+    private static final class LineCounter extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
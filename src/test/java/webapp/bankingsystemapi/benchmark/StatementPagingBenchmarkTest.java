@@ -0,0 +1,104 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.StatementRequest;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.StatementCursor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement latency at page 1 and page 1000 (20 rows a page) with OFFSET paging versus
+ * the keyset cursor. Offset pages get slower the deeper they go and pay a count query
+ * each time; keyset pages should cost the same at any depth.
+ * Run with {@code mvn test -Dtest=StatementPagingBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StatementPagingBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 1_000;
+    private static final int WARMUP = 50;
+    private static final int SAMPLES = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void compareOffsetAndKeysetPaging() {
+        BenchmarkSupport.runAsAdmin();
+        Account account = BenchmarkSupport.createAccounts(
+                accountRepo, BenchmarkSupport.createUser(userRepo), 1, 0.0).get(0);
+        BenchmarkSupport.insertTransactions(jdbcTemplate, account, 1_000_000_000L, ROWS, LocalDateTime.now());
+
+        StatementRequest request = new StatementRequest();
+        request.setAccountNumber(account.getAccountNumber());
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt");
+
+        // Cursor for page DEEP_PAGE: the key of the last row on the page before it.
+        Map<String, Object> last = jdbcTemplate.queryForMap("""
+                SELECT CREATED_AT, ID FROM TRANSACTIONS WHERE ACCOUNT_ID = ?
+                ORDER BY CREATED_AT DESC, ID DESC OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY
+                """, account.getId(), DEEP_PAGE * PAGE_SIZE - 1);
+        String deepCursor = new StatementCursor(
+                ((Timestamp) last.get("CREATED_AT")).toLocalDateTime(),
+                ((Number) last.get("ID")).longValue()).encode();
+
+        double offsetFirst = micros(() -> transactionService.getStatement(
+                request, BenchmarkSupport.ADMIN_EMAIL, PageRequest.of(0, PAGE_SIZE, newestFirst)));
+        double offsetDeep = micros(() -> transactionService.getStatement(
+                request, BenchmarkSupport.ADMIN_EMAIL, PageRequest.of(DEEP_PAGE, PAGE_SIZE, newestFirst)));
+        double keysetFirst = micros(() -> transactionService.getStatementPage(
+                request, null, PAGE_SIZE, BenchmarkSupport.ADMIN_EMAIL));
+        double keysetDeep = micros(() -> transactionService.getStatementPage(
+                request, deepCursor, PAGE_SIZE, BenchmarkSupport.ADMIN_EMAIL));
+
+        System.out.printf("statement paging, %d rows: offset p1=%.0fus p%d=%.0fus | keyset p1=%.0fus p%d=%.0fus%n",
+                ROWS, offsetFirst, DEEP_PAGE, offsetDeep, keysetFirst, DEEP_PAGE, keysetDeep);
+
+        // Both strategies must land on the same rows at depth.
+        assertEquals(
+                transactionService.getStatement(request, BenchmarkSupport.ADMIN_EMAIL,
+                        PageRequest.of(DEEP_PAGE, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id"))).getContent(),
+                transactionService.getStatementPage(request, deepCursor, PAGE_SIZE, BenchmarkSupport.ADMIN_EMAIL).getContent());
+        // Flat: the deep keyset page may not cost much more than the first one.
+        assertTrue(keysetDeep < keysetFirst * 3 + 500,
+                "keyset page " + DEEP_PAGE + " took " + keysetDeep + "us against " + keysetFirst + "us for page 1");
+    }
+
+    private static double micros(Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - begin) / 1_000.0 / SAMPLES;
+    }
+}
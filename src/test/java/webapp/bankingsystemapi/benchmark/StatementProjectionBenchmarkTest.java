@@ -0,0 +1,139 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import webapp.bankingsystemapi.DTO.transaction.TransactionResponse;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.TransactionRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.repo.spec.TransactionSpecifications;
+import webapp.bankingsystemapi.util.Money;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap allocated and time taken per statement row when a page is loaded as managed
+ * {@code Transaction} entities (in a read-write and in a read-only transaction) against
+ * selecting {@code StatementRow} projections, each mapped to {@code TransactionResponse}.
+ * Allocation is the calling thread's, from {@code ThreadMXBean}, so it includes Hibernate's
+ * entity snapshots and the flush-time dirty check of the read-write case.
+ * Run with {@code mvn test -Dtest=StatementProjectionBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StatementProjectionBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP = 100;
+    private static final int SAMPLES = 300;
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareEntitiesAndProjections() {
+        Account account = BenchmarkSupport.createAccounts(
+                accountRepo, BenchmarkSupport.createUser(userRepo), 1, 0.0).get(0);
+        BenchmarkSupport.insertTransactions(jdbcTemplate, account, 3_000_000_000L, ROWS, LocalDateTime.now());
+        Long accountId = account.getId();
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<TransactionResponse>> entities = () -> transactionRepo.findBy(
+                        TransactionSpecifications.<Transaction>statement(accountId, null, null, null, null)
+                                .and(TransactionSpecifications.newestFirst()),
+                        query -> query.limit(PAGE_SIZE).all())
+                .stream()
+                .map(StatementProjectionBenchmarkTest::fromEntity)
+                .toList();
+        Supplier<List<TransactionResponse>> projections = () -> transactionRepo
+                .findStatementPage(accountId, null, null, null, null, null, null, PAGE_SIZE)
+                .stream()
+                .map(row -> TransactionResponse.builder()
+                        .referenceNumber(row.referenceNumber())
+                        .type(row.type())
+                        .amount(Money.toMajor(row.amount()))
+                        .status(row.status())
+                        .beforeBalance(Money.toMajor(row.beforeAmount()))
+                        .afterBalance(Money.toMajor(row.remainingAmount()))
+                        .description(row.description())
+                        .createdAt(row.createdAt())
+                        .build())
+                .toList();
+
+        List<TransactionResponse> fromEntities = readOnly.execute(status -> entities.get());
+        List<TransactionResponse> fromProjections = readOnly.execute(status -> projections.get());
+        assertEquals(fromEntities, fromProjections);
+
+        Sample managed = sample(() -> readWrite.execute(status -> entities.get()));
+        Sample managedReadOnly = sample(() -> readOnly.execute(status -> entities.get()));
+        Sample projected = sample(() -> readOnly.execute(status -> projections.get()));
+
+        System.out.printf("statement page of %d rows: entities %.0f B/row %.2f us/row | read-only entities %.0f B/row %.2f us/row"
+                        + " | projections %.0f B/row %.2f us/row%n", PAGE_SIZE,
+                managed.bytesPerRow, managed.microsPerRow,
+                managedReadOnly.bytesPerRow, managedReadOnly.microsPerRow,
+                projected.bytesPerRow, projected.microsPerRow);
+
+        assertTrue(projected.bytesPerRow < managedReadOnly.bytesPerRow,
+                "projections allocated " + projected.bytesPerRow + " B/row against "
+                        + managedReadOnly.bytesPerRow + " B/row for read-only entities");
+    }
+
+    private static TransactionResponse fromEntity(Transaction transaction) {
+        return TransactionResponse.builder()
+                .referenceNumber(transaction.getReferenceNumber())
+                .type(transaction.getType())
+                .amount(Money.toMajor(transaction.getAmount()))
+                .status(transaction.getStatus())
+                .beforeBalance(Money.toMajor(transaction.getBeforeAmount()))
+                .afterBalance(Money.toMajor(transaction.getRemainingAmount()))
+                .description(transaction.getDescription())
+                .createdAt(transaction.getCreatedAt())
+                .build();
+    }
+
+    private static Sample sample(Runnable page) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            page.run();
+        }
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            page.run();
+        }
+        long elapsed = System.nanoTime() - begin;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        double rows = (double) SAMPLES * PAGE_SIZE;
+        return new Sample(bytes / rows, elapsed / 1_000.0 / rows);
+    }
+
+    private record Sample(double bytesPerRow, double microsPerRow) {}
+}
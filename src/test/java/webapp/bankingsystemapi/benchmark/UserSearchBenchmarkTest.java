@@ -0,0 +1,97 @@
+package webapp.bankingsystemapi.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.search.UserSearchIndex;
+import webapp.bankingsystemapi.search.UserSearchMode;
+
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Admin user and account searches over one million users, the original
+ * {@code LIKE '%term%'} against the token index. Users are bulk-loaded without tokens
+ * and indexed by the same backfill that runs on startup. File-backed database, so the
+ * tables do not live on the heap.
+ * Run with {@code mvn test -Dtest=UserSearchBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/user-search;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        // The benchmark runs the backfill itself, after the load.
+        "banking.user-search.mode=contains"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserSearchBenchmarkTest {
+
+    private static final int USERS = 1_000_000;
+    private static final long FIRST_ID = 2_000_000_000L;
+    private static final int RUNS = 20;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tokenSearchAgainstContainsAtMillionUsers() {
+        long begin = System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO USERS (ID, FULL_NAME, EMAIL, PASSWORD, ROLE, STATUS, IS_ACTIVE, CREATED_AT, SECURITY_VERSION)
+                SELECT ? + X, 'Name' || MOD(X, 997) || ' Family' || X, 'user' || X || '@bank' || MOD(X, 10) || '.test',
+                       'secret', 'USER', 'ACTIVE', TRUE, DATEADD(SECOND, X, TIMESTAMP '2025-01-01 00:00:00'), 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, FIRST_ID, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO ACCOUNTS (ID, ACCOUNT_NUMBER, TYPE, STATUS, BALANCE, VERSION, USER_ID, CREATED_AT)
+                SELECT ? + X, 'SEARCH-' || X, 'SAVING', 'OPEN', 0.0, 0, ? + X, TIMESTAMP '2025-01-01 00:00:00'
+                FROM SYSTEM_RANGE(1, ?)
+                """, FIRST_ID, FIRST_ID, USERS);
+        System.out.printf("user search: loaded %d users and accounts in %d ms%n", USERS, millisSince(begin));
+
+        begin = System.nanoTime();
+        long indexed = userSearchIndex.backfill();
+        System.out.printf("user search: backfilled %d users in %d ms%n", indexed, millisSince(begin));
+
+        compare("users by email", mode -> userRepo.filterUsers(
+                null, "user765432@", null, null, null, null, null, mode, PAGE).getTotalElements());
+        compare("users by name", mode -> userRepo.filterUsers(
+                "Family76543", null, null, null, null, null, null, mode, PAGE).getTotalElements());
+        compare("accounts by email", mode -> accountRepo.filterAccounts(
+                null, "user765432@", null, null, null, null, mode, PAGE).getTotalElements());
+    }
+
+    private static void compare(String search, ToLongFunction<UserSearchMode> query) {
+        long contains = query.applyAsLong(UserSearchMode.CONTAINS);
+        long token = query.applyAsLong(UserSearchMode.TOKEN);
+        assertEquals(contains, token, search);
+        System.out.printf("user search %s (%d matches): contains %.2f ms, token %.2f ms%n",
+                search, token, averageMillis(query, UserSearchMode.CONTAINS), averageMillis(query, UserSearchMode.TOKEN));
+    }
+
+    private static double averageMillis(ToLongFunction<UserSearchMode> query, UserSearchMode mode) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            query.applyAsLong(mode);
+        }
+        return (System.nanoTime() - begin) / 1_000_000.0 / RUNS;
+    }
+
+    private static long millisSince(long begin) {
+        return (System.nanoTime() - begin) / 1_000_000;
+    }
+}
@@ -0,0 +1,268 @@
+package webapp.bankingsystemapi.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.account.AccountResponse;
+import webapp.bankingsystemapi.DTO.admin.account.AccountCacheResponse;
+import webapp.bankingsystemapi.DTO.admin.account.AdminAccountResponse;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.AccountService;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads are answered from the snapshot cache, postings write through it on commit, and
+ * however postings and reads interleave the cached balance ends up the committed one.
+ * The TTL is off so a stale snapshot would stay behind rather than age out.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account-cache;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.account-cache.ttl-millis=0"
+})
+@ActiveProfiles("test")
+class AccountSnapshotCacheTest {
+
+    private static final int POSTING_THREADS = 8;
+    private static final int POSTINGS_PER_THREAD = 50;
+    private static final int READER_THREADS = 4;
+    private static final String ADMIN = "admin@bank.test";
+
+    @Autowired
+    private AccountSnapshotCache cache;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    private User owner;
+    private Account first;
+    private Account second;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder()
+                .fullName("Cache Owner")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        first = accountRepo.save(account(owner, 1_000.0));
+        second = accountRepo.save(account(owner, 1_000.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsHitTheCacheAndPostingsWriteThrough() {
+        runAs(owner.getEmail(), "ROLE_USER");
+        AccountCacheResponse before = cache.metrics();
+
+        accountService.getAccountByAccountNumber(first.getAccountNumber(), owner.getEmail());
+        AccountResponse cached = (AccountResponse) accountService.getAccountByAccountNumber(first.getAccountNumber(), owner.getEmail());
+        assertEquals(1_000.0, cached.getBalance());
+
+        transactionService.deposit(DepositRequest.builder()
+                .accountNumber(first.getAccountNumber())
+                .amount(25.5)
+                .build(), owner.getEmail());
+        AccountResponse posted = (AccountResponse) accountService.getAccountByAccountNumber(first.getAccountNumber(), owner.getEmail());
+        assertEquals(1_025.5, posted.getBalance());
+
+        AccountCacheResponse after = cache.metrics();
+        assertEquals(1, after.getMisses() - before.getMisses());
+        assertEquals(2, after.getHits() - before.getHits());
+        assertTrue(after.getWrites() > before.getWrites());
+    }
+
+    @Test
+    void openingAnAccountRefreshesTheOwnersList() {
+        runAs(ADMIN, "ROLE_ADMIN");
+        assertEquals(2, accountService.getAccountByUser(owner.getEmail()).size());
+
+        accountRepo.save(account(owner, 0.0));
+        assertEquals(2, accountService.getAccountByUser(owner.getEmail()).size(), "served from the cache");
+
+        cache.evictOwner(owner.getEmail());
+        assertEquals(3, accountService.getAccountByUser(owner.getEmail()).size());
+    }
+
+    @Test
+    void concurrentPostingsNeverLeaveAStaleBalanceBehind() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(POSTING_THREADS + READER_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch posted = new CountDownLatch(POSTING_THREADS);
+        AtomicBoolean reading = new AtomicBoolean(true);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int t = 0; t < POSTING_THREADS; t++) {
+            int thread = t;
+            pool.submit(() -> asAdmin(failures, () -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                        boolean forward = (thread + i) % 2 == 0;
+                        if (i % 3 == 0) {
+                            transactionService.deposit(DepositRequest.builder()
+                                    .accountNumber((forward ? first : second).getAccountNumber())
+                                    .amount(1.0 + i % 5)
+                                    .build(), ADMIN);
+                        } else {
+                            transactionService.transfer(TransferRequest.builder()
+                                    .fromAccountNumber((forward ? first : second).getAccountNumber())
+                                    .toAccountNumber((forward ? second : first).getAccountNumber())
+                                    .amount((1 + i % 7) / 100.0)
+                                    .build(), ADMIN);
+                        }
+                    }
+                } finally {
+                    posted.countDown();
+                }
+            }));
+        }
+        for (int t = 0; t < READER_THREADS; t++) {
+            int thread = t;
+            pool.submit(() -> asAdmin(failures, () -> {
+                start.await();
+                while (reading.get()) {
+                    if (thread % 2 == 0) {
+                        accountService.getAccountByAccountNumber(first.getAccountNumber(), ADMIN);
+                        accountService.getAccountByAccountNumber(second.getAccountNumber(), ADMIN);
+                    } else {
+                        accountService.getAccountByUser(owner.getEmail());
+                    }
+                    if (ThreadLocalRandom.current().nextInt(20) == 0) {
+                        // start over from a miss now and then, so fills race the postings
+                        cache.evict(first.getAccountNumber());
+                        cache.evictOwner(owner.getEmail());
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        assertTrue(posted.await(2, TimeUnit.MINUTES), "postings did not finish");
+        reading.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES), "readers did not finish");
+        assertTrue(failures.isEmpty(), () -> "postings or reads failed: " + failures);
+
+        runAs(ADMIN, "ROLE_ADMIN");
+        for (Account account : List.of(first, second)) {
+            Account stored = accountRepo.findById(account.getId()).orElseThrow();
+            AccountSnapshot snapshot = cache.get(account.getAccountNumber());
+            if (snapshot != null) {
+                assertEquals(stored.getBalance(), snapshot.balance(), account.getAccountNumber());
+                assertEquals(AccountSnapshot.version(stored), snapshot.version(), account.getAccountNumber());
+            }
+            AdminAccountResponse read = (AdminAccountResponse) accountService.getAccountByAccountNumber(account.getAccountNumber(), ADMIN);
+            assertEquals(Money.toMajor(stored.getBalance()), read.getBalance());
+        }
+        assertTrue(cache.metrics().getHits() > 0);
+    }
+
+    @Test
+    void leastRecentlyUsedAccountsAreEvicted() {
+        AccountSnapshotCache small = new AccountSnapshotCache(2, 0);
+        long token = small.readToken();
+        small.fill(snapshot("A", 0), token);
+        small.fill(snapshot("B", 0), token);
+        small.get("A");
+        small.fill(snapshot("C", 0), token);
+
+        assertNotNull(small.get("A"));
+        assertNull(small.get("B"));
+        assertNotNull(small.get("C"));
+        assertEquals(2, small.metrics().getSize());
+        assertEquals(1, small.metrics().getEvictions());
+    }
+
+    @Test
+    void readsThatRaceAPostingAreNotCached() {
+        AccountSnapshotCache small = new AccountSnapshotCache(10, 0);
+        long token = small.readToken();
+        small.evict("A"); // stands in for a posting to A committing while A was being read
+        small.fill(snapshot("A", 3), token);
+        assertNull(small.get("A"));
+        assertEquals(1, small.metrics().getRejectedFills());
+
+        small.fill(snapshot("A", 5), small.readToken());
+        small.fill(snapshot("A", 4), small.readToken());
+        assertEquals(5, small.get("A").version(), "an older snapshot never replaces a newer one");
+    }
+
+    private void asAdmin(Queue<Throwable> failures, ThrowingRunnable body) {
+        runAs(ADMIN, "ROLE_ADMIN");
+        try {
+            body.run();
+        } catch (Throwable ex) {
+            failures.add(ex);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static AccountSnapshot snapshot(String accountNumber, long version) {
+        return new AccountSnapshot(1L, accountNumber, AccountType.SAVING, AccountStatus.OPEN, version * 100,
+                version, LocalDateTime.now(), 1L, "owner@bank.test");
+    }
+
+    private static Account account(User user, double balance) {
+        return Account.builder()
+                .accountNumber("CACHE-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(Money.toMinor(balance))
+                .user(user)
+                .build();
+    }
+
+    private static void runAs(String email, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority(authority))));
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
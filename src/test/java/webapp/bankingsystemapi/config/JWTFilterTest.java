@@ -0,0 +1,128 @@
+package webapp.bankingsystemapi.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.UserService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jwt-filter;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jwt.revocation.refresh-millis=3600000"
+})
+@ActiveProfiles("test")
+class JWTFilterTest {
+
+    @Autowired
+    private JWTFilter jwtFilter;
+    @Autowired
+    private JWTUtil jwtUtil;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserSecurityVersions securityVersions;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutQueryingUsers() throws Exception {
+        User user = createUser();
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getSecurityVersion());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MockHttpServletResponse response = filter(token, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(user.getEmail(), authentication.getName());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void suspendingUserRevokesTokensIssuedBefore() throws Exception {
+        User user = createUser();
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getSecurityVersion());
+        assertEquals(200, filter(token, new MockFilterChain()).getStatus());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        userService.disableUser(user.getId());
+        SecurityContextHolder.clearContext();
+
+        assertEquals(401, filter(token, new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void staleVersionTableFallsBackToUsers() throws Exception {
+        User user = createUser();
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getSecurityVersion());
+        // suspended on another node; this node has not refreshed since
+        jdbcTemplate.update("update USERS set SECURITY_VERSION = 1 where ID = ?", user.getId());
+        assertEquals(200, filter(token, new MockFilterChain()).getStatus());
+        SecurityContextHolder.clearContext();
+
+        long refreshedAt = (long) ReflectionTestUtils.getField(securityVersions, "refreshedAtNanos");
+        ReflectionTestUtils.setField(securityVersions, "refreshedAtNanos", refreshedAt - TimeUnit.DAYS.toNanos(1));
+        try {
+            assertFalse(securityVersions.isFresh());
+            assertEquals(401, filter(token, new MockFilterChain()).getStatus());
+        } finally {
+            ReflectionTestUtils.setField(securityVersions, "refreshedAtNanos", refreshedAt);
+        }
+    }
+
+    private MockHttpServletResponse filter(String token, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private User createUser() {
+        return userRepo.save(User.builder()
+                .fullName("Filter User")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+    }
+}
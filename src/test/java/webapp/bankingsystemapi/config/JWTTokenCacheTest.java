@@ -0,0 +1,64 @@
+package webapp.bankingsystemapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JWTTokenCacheTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void servesTokenUntilItExpires() {
+        JWTTokenCache cache = new JWTTokenCache(10);
+        UserDetails alice = principal("alice@bank.test");
+
+        cache.put("live", alice, 0, inMillis(HOUR));
+        cache.put("expired", alice, 0, inMillis(-1));
+
+        assertSame(alice, cache.get("live").principal());
+        assertNull(cache.get("expired"));
+    }
+
+    @Test
+    void evictUserDropsAllTokensOfThatUserOnly() {
+        JWTTokenCache cache = new JWTTokenCache(10);
+        cache.put("a1", principal("alice@bank.test"), 0, inMillis(HOUR));
+        cache.put("a2", principal("alice@bank.test"), 0, inMillis(HOUR));
+        cache.put("b1", principal("bob@bank.test"), 0, inMillis(HOUR));
+
+        cache.evictUser("alice@bank.test");
+
+        assertNull(cache.get("a1"));
+        assertNull(cache.get("a2"));
+        assertEquals("bob@bank.test", cache.get("b1").principal().getUsername());
+    }
+
+    @Test
+    void staysWithinMaxSize() {
+        JWTTokenCache cache = new JWTTokenCache(2);
+        cache.put("old", principal("alice@bank.test"), 0, inMillis(-1));
+        cache.put("t1", principal("alice@bank.test"), 0, inMillis(HOUR));
+        cache.put("t2", principal("alice@bank.test"), 0, inMillis(HOUR));
+        cache.put("t3", principal("alice@bank.test"), 0, inMillis(HOUR));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("t3"));
+    }
+
+    private static UserDetails principal(String email) {
+        return new User(email, "secret", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static Date inMillis(long millis) {
+        return new Date(System.currentTimeMillis() + millis);
+    }
+}
@@ -0,0 +1,223 @@
+package webapp.bankingsystemapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.admin.ReplicaStatusResponse;
+import webapp.bankingsystemapi.DTO.admin.transaction.AdminTransactionFilterRequest;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.StatementRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read-replica mode against two H2 databases. The replica is a copy of the primary taken
+ * with SCRIPT/RUNSCRIPT, so anything committed after the copy shows which side a read
+ * went to. Heartbeats are driven by the test.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-primary;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        // IFEXISTS: once the replica is shut down, new connections to it are refused
+        "banking.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "banking.datasource.replica.username=sa",
+        "banking.datasource.replica.hikari.connection-timeout=250",
+        "banking.datasource.replica.heartbeat-millis=3600000",
+        "banking.datasource.replica.max-lag-millis=5000",
+        "banking.rollup.flush-millis=3600000",
+        "banking.dashboard.reconcile-millis=3600000",
+        "banking.ledger.checkpoint-millis=3600000",
+        "jwt.revocation.refresh-millis=3600000"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-standby;DB_CLOSE_DELAY=-1";
+    private static final String ADMIN = "admin@bank.test";
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaPool;
+
+    @TempDir
+    private Path copyDir;
+
+    // writes to the replica bypass its read-only pool
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private User owner;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder()
+                .fullName("Replica Owner")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        account = accountRepo.save(Account.builder()
+                .accountNumber("RPL-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(owner)
+                .build());
+        runAs(ADMIN, "ROLE_ADMIN");
+        deposit(10.0);
+        replicate();
+        // the one committed after the copy, only the primary has it
+        deposit(5.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyWorkReadsTheReplicaUnlessTheCallerPostedSince() {
+        ReplicaStatusResponse before = monitor.status();
+
+        runAs(owner.getEmail(), "ROLE_USER");
+        assertEquals(1, statementRows(), "the owner did not post, so reads the replica");
+
+        runAs(ADMIN, "ROLE_ADMIN");
+        long views = transactionViews();
+        assertEquals(2, adminRows(), "the admin's own deposit is not replicated yet");
+        assertEquals(views + 1, transactionViews(), "the search is audited on the primary");
+
+        ReplicaStatusResponse after = monitor.status();
+        assertEquals(1, after.getReplicaReads() - before.getReplicaReads());
+        assertEquals(1, after.getOwnPostingRedirects() - before.getOwnPostingRedirects());
+
+        replicate();
+        views = transactionViews();
+        assertEquals(2, adminRows(), "caught up, the replica has it too");
+        assertEquals(2, monitor.status().getReplicaReads() - before.getReplicaReads());
+        assertEquals(views + 1, transactionViews(), "a search read from the replica is audited on the primary too");
+    }
+
+    @Test
+    void replicaFurtherBehindThanTheLimitIsBypassed() {
+        replica.update("update REPLICA_HEARTBEAT set BEAT_MILLIS = ? where ID = 1", System.currentTimeMillis() - 60_000);
+        monitor.beat();
+        ReplicaStatusResponse before = monitor.status();
+
+        runAs(owner.getEmail(), "ROLE_USER");
+        assertEquals(2, statementRows());
+        assertEquals(1, monitor.status().getLagRedirects() - before.getLagRedirects());
+        assertEquals(0, monitor.status().getReplicaReads() - before.getReplicaReads());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() throws InterruptedException {
+        replica.execute("SHUTDOWN");
+        replicaPool.getHikariPoolMXBean().softEvictConnections();
+        ReplicaStatusResponse before = monitor.status();
+
+        runAs(owner.getEmail(), "ROLE_USER");
+        assertEquals(2, statementRows());
+        ReplicaStatusResponse after = monitor.status();
+        assertEquals(1, after.getFallbacks() - before.getFallbacks());
+        assertFalse(after.isAvailable());
+
+        assertEquals(2, statementRows(), "out of rotation, no new attempt until the next heartbeat");
+        assertEquals(1, monitor.status().getFallbacks() - before.getFallbacks());
+
+        replicate();
+        // the pool reconnects in the background, so a few heartbeats may go by first
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!monitor.status().isAvailable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            monitor.beat();
+        }
+        assertTrue(monitor.status().isAvailable(), "back in rotation once a heartbeat reaches it");
+        long replicaReads = monitor.status().getReplicaReads();
+        assertEquals(2, statementRows());
+        assertEquals(1, monitor.status().getReplicaReads() - replicaReads);
+    }
+
+    // Copies the primary to the replica, heartbeat included, and lets the monitor read it.
+    private void replicate() {
+        // stamped in a later millisecond than any posting so far
+        long now = System.currentTimeMillis();
+        while (System.currentTimeMillis() == now) {
+            Thread.onSpinWait();
+        }
+        monitor.beat();
+        String script = copyDir.resolve("primary.sql").toString().replace("'", "''");
+        jdbcTemplate.execute("SCRIPT TO '" + script + "'");
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+        monitor.beat();
+    }
+
+    private void deposit(double amount) {
+        transactionService.deposit(DepositRequest.builder()
+                .accountNumber(account.getAccountNumber())
+                .amount(amount)
+                .build(), SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    private long statementRows() {
+        StatementRequest request = new StatementRequest();
+        request.setAccountNumber(account.getAccountNumber());
+        return transactionService.getStatement(request, owner.getEmail(), PageRequest.of(0, 10)).getTotalElements();
+    }
+
+    private long adminRows() {
+        AdminTransactionFilterRequest request = new AdminTransactionFilterRequest();
+        request.setAccountNumber(account.getAccountNumber());
+        return transactionService.filterAdminTransactions(request, PageRequest.of(0, 10)).getTotalElements();
+    }
+
+    private long transactionViews() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from AUDIT_LOGS where AUDIT_ACTION = 'TRANSACTION_VIEW' and PERFORMED_BY = ?",
+                Long.class, ADMIN);
+    }
+
+    private static void runAs(String email, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority(authority))));
+    }
+}
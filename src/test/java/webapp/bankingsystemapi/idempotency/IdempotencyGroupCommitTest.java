@@ -0,0 +1,163 @@
+package webapp.bankingsystemapi.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransactionResponse;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.posting.PostingExecutor;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two requests with one key land in the same group commit, followed by an unrelated
+ * posting. The key clash must fail the second keyed request, not the unrelated posting.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencygroup;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.posting.group-commit.enabled=true",
+        "banking.posting.group-commit.lanes=1"
+})
+@ActiveProfiles("test")
+class IdempotencyGroupCommitTest {
+
+    private static final String ADMIN_EMAIL = "admin@bank.test";
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private PostingExecutor postingExecutor;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account keyed;
+    private Account unrelated;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Group Poster")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        // batches are sorted by account number: the unrelated posting comes last
+        keyed = accountRepo.save(account(user, "IDEM-A-"));
+        unrelated = accountRepo.save(account(user, "IDEM-B-"));
+        pool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void keyClashFailsTheRacingRequestOnly() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        // hold the only lane so the next three postings queue up behind it as one batch
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = pool.submit(() -> postingExecutor.execute(unrelated.getAccountNumber(), () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(holding.await(10, TimeUnit.SECONDS));
+
+        Future<TransactionResponse> first = pool.submit(() -> deposit(keyed, 25.0, key));
+        awaitQueued(1);
+        Future<TransactionResponse> second = pool.submit(() -> deposit(keyed, 25.0, key));
+        awaitQueued(2);
+        Future<TransactionResponse> other = pool.submit(() -> deposit(unrelated, 10.0, null));
+        awaitQueued(3);
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+
+        assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertEquals(10.0, other.get(10, TimeUnit.SECONDS).getAmount());
+        assertEquals(25.0, balance(keyed));
+        assertEquals(10.0, balance(unrelated));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from TRANSACTIONS where STATUS = 'FAILED' and ACCOUNT_ID in (?, ?)",
+                Integer.class, keyed.getId(), unrelated.getId()));
+    }
+
+    private TransactionResponse deposit(Account account, double amount, String key) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        return transactionService.deposit(DepositRequest.builder()
+                .accountNumber(account.getAccountNumber())
+                .amount(amount)
+                .build(), ADMIN_EMAIL, key);
+    }
+
+    private void awaitQueued(int postings) throws InterruptedException {
+        Object[] lanes = (Object[]) ReflectionTestUtils.getField(postingExecutor, "lanes");
+        Queue<?> queue = (Queue<?>) ReflectionTestUtils.getField(lanes[0], "queue");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queue.size() < postings) {
+            assertTrue(System.nanoTime() < deadline, "postings never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double balance(Account account) {
+        return Money.toMajor(accountRepo.findById(account.getId()).orElseThrow().getBalance());
+    }
+
+    private static Account account(User user, String prefix) {
+        return Account.builder()
+                .accountNumber(prefix + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package webapp.bankingsystemapi.idempotency;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransferResponse;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class IdempotencyStoreTest {
+
+    private static final String ADMIN_EMAIL = "admin@bank.test";
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Idempotent Poster")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        from = accountRepo.save(account(user, 100.0));
+        to = accountRepo.save(account(user, 0.0));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryReturnsFirstResponseWithoutPostingAgain() {
+        String key = UUID.randomUUID().toString();
+        TransferResponse first = transactionService.transfer(transfer(30.0), ADMIN_EMAIL, key);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        TransferResponse cached = transactionService.transfer(transfer(30.0), ADMIN_EMAIL, key);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // a node that never saw the key reads it back with one query, still without locks
+        clearCache();
+        statistics.clear();
+        TransferResponse stored = transactionService.transfer(transfer(30.0), ADMIN_EMAIL, key);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(first, cached);
+        assertEquals(first, stored);
+        assertEquals(70.0, balance(from));
+        assertEquals(30.0, balance(to));
+    }
+
+    @Test
+    void reusingKeyForAnotherRequestIsRefused() {
+        String key = UUID.randomUUID().toString();
+        transactionService.transfer(transfer(10.0), ADMIN_EMAIL, key);
+
+        assertThrows(BadRequestException.class,
+                () -> transactionService.transfer(transfer(20.0), ADMIN_EMAIL, key));
+        assertEquals(90.0, balance(from));
+    }
+
+    @Test
+    void concurrentRequestsWithOneKeyPostOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TransferResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+                start.await();
+                return transactionService.transfer(transfer(25.0), ADMIN_EMAIL, key);
+            }));
+        }
+        start.countDown();
+        TransferResponse first = futures.get(0).get();
+        for (Future<TransferResponse> future : futures) {
+            assertEquals(first, future.get());
+        }
+        pool.shutdown();
+
+        assertEquals(75.0, balance(from));
+        assertEquals(25.0, balance(to));
+    }
+
+    private void clearCache() {
+        Map<?, ?> recent = (Map<?, ?>) ReflectionTestUtils.getField(idempotencyStore, "recent");
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+
+    private TransferRequest transfer(double amount) {
+        return TransferRequest.builder()
+                .fromAccountNumber(from.getAccountNumber())
+                .toAccountNumber(to.getAccountNumber())
+                .amount(amount)
+                .build();
+    }
+
+    private double balance(Account account) {
+        return Money.toMajor(accountRepo.findById(account.getId()).orElseThrow().getBalance());
+    }
+
+    private static Account account(User user, double balance) {
+        return Account.builder()
+                .accountNumber("IDEM-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(Money.toMinor(balance))
+                .user(user)
+                .build();
+    }
+}
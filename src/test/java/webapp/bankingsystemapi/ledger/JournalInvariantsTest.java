@@ -0,0 +1,44 @@
+package webapp.bankingsystemapi.ledger;
+
+import org.junit.jupiter.api.Test;
+import webapp.bankingsystemapi.enums.LedgerAccount;
+import webapp.bankingsystemapi.enums.LedgerSide;
+import webapp.bankingsystemapi.model.Account;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JournalInvariantsTest {
+
+    private final Account from = Account.builder().accountNumber("A").build();
+    private final Account to = Account.builder().accountNumber("B").build();
+
+    @Test
+    void acceptsBalancedMultiLegEntries() {
+        assertNull(JournalInvariants.problem(List.of(
+                JournalLeg.debit(from, 1_050),
+                JournalLeg.credit(to, 1_000),
+                JournalLeg.credit(LedgerAccount.FEE_INCOME, 50))));
+    }
+
+    @Test
+    void refusesEntriesWhoseDebitsAndCreditsDiffer() {
+        assertEquals("Debits (10.50) do not equal credits (10.00)", JournalInvariants.problem(List.of(
+                JournalLeg.debit(from, 1_050),
+                JournalLeg.credit(to, 1_000))));
+    }
+
+    @Test
+    void refusesMalformedLegs() {
+        assertNotNull(JournalInvariants.problem(List.of(JournalLeg.debit(from, 100))));
+        assertNotNull(JournalInvariants.problem(List.of(JournalLeg.debit(from, 0), JournalLeg.credit(to, 0))));
+        assertNotNull(JournalInvariants.problem(List.of(
+                new JournalLeg(from, LedgerAccount.CASH, LedgerSide.DEBIT, 100), JournalLeg.credit(to, 100))));
+        assertNotNull(JournalInvariants.problem(List.of(
+                JournalLeg.debit(from, Long.MAX_VALUE), JournalLeg.debit(from, 1),
+                JournalLeg.credit(to, Long.MAX_VALUE), JournalLeg.credit(to, 1))));
+    }
+}
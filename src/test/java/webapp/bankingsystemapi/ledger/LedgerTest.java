@@ -0,0 +1,216 @@
+package webapp.bankingsystemapi.ledger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.JournalLegRequest;
+import webapp.bankingsystemapi.DTO.transaction.JournalRequest;
+import webapp.bankingsystemapi.DTO.transaction.JournalResponse;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransferResponse;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.LedgerAccount;
+import webapp.bankingsystemapi.enums.LedgerSide;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.exception.AccessDeniedException;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.JournalPosting;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.JournalPostingRepo;
+import webapp.bankingsystemapi.repo.LedgerCheckpointRepo;
+import webapp.bankingsystemapi.repo.TransactionRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.TransactionService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Every posting lands in the journal as a balanced entry, and the balances the journal
+ * adds up to, with or without a checkpoint, match the ones stored on the accounts.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledger;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.ledger.checkpoint-millis=3600000"
+})
+@ActiveProfiles("test")
+class LedgerTest {
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private LedgerCheckpoints ledgerCheckpoints;
+    @Autowired
+    private JournalPostingRepo postingRepo;
+    @Autowired
+    private LedgerCheckpointRepo checkpointRepo;
+    @Autowired
+    private TransactionRepo transactionRepo;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    private User owner;
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(user());
+        from = accountRepo.save(account(owner));
+        to = accountRepo.save(account(userRepo.save(user())));
+        runAs(owner.getEmail(), "ROLE_USER");
+        transactionService.deposit(DepositRequest.builder()
+                .accountNumber(from.getAccountNumber())
+                .amount(100.0)
+                .build(), owner.getEmail());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void transferIsOneBalancedJournalEntry() {
+        TransferResponse response = transactionService.transfer(TransferRequest.builder()
+                .fromAccountNumber(from.getAccountNumber())
+                .toAccountNumber(to.getAccountNumber())
+                .amount(30.25)
+                .build(), owner.getEmail());
+
+        String transferId = transactionRepo.findAll().stream()
+                .filter(t -> response.getDebitReferenceNumber().equals(t.getReferenceNumber()))
+                .findFirst().orElseThrow().getTransferId();
+        List<JournalPosting> postings = postingRepo.findByJournalReferenceOrderById(transferId);
+        assertEquals(2, postings.size());
+        assertEquals(LedgerSide.DEBIT, postings.get(0).getSide());
+        assertEquals(3_025, postings.get(0).getAmount());
+        assertEquals(6_975, postings.get(0).getBalanceAfter());
+        assertEquals(LedgerSide.CREDIT, postings.get(1).getSide());
+        assertEquals(3_025, postings.get(1).getBalanceAfter());
+
+        assertEquals(6_975, ledgerCheckpoints.derivedBalance(from.getId()));
+        assertEquals(3_025, ledgerCheckpoints.derivedBalance(to.getId()));
+    }
+
+    @Test
+    void journalMovesAFeeAlongWithTheTransfer() {
+        JournalResponse response = transactionService.postJournal(JournalRequest.builder()
+                .description("Transfer with fee")
+                .legs(List.of(
+                        leg(from, null, LedgerSide.DEBIT, 10.50),
+                        leg(to, null, LedgerSide.CREDIT, 10.0),
+                        leg(null, LedgerAccount.FEE_INCOME, LedgerSide.CREDIT, 0.50)))
+                .build(), owner.getEmail());
+
+        assertEquals(10.50, response.getAmount());
+        assertEquals(3, response.getLegs().size());
+        assertEquals(89.50, response.getLegs().get(0).getBalanceAfter());
+        assertNull(response.getLegs().get(1).getBalanceAfter()); // someone else's account
+        assertEquals(8_950, accountRepo.findById(from.getId()).orElseThrow().getBalance());
+        assertEquals(1_000, accountRepo.findById(to.getId()).orElseThrow().getBalance());
+        assertEquals(3, postingRepo.findByJournalReferenceOrderById(response.getReference()).size());
+        assertEquals(2, transactionRepo.countByAccountId(from.getId()));
+        assertEquals(1, transactionRepo.countByAccountId(to.getId()));
+    }
+
+    @Test
+    void refusesUnbalancedOrUnauthorisedJournals() {
+        assertThrows(BadRequestException.class, () -> transactionService.postJournal(JournalRequest.builder()
+                .legs(List.of(
+                        leg(from, null, LedgerSide.DEBIT, 10.0),
+                        leg(to, null, LedgerSide.CREDIT, 9.0)))
+                .build(), owner.getEmail()));
+        assertThrows(AccessDeniedException.class, () -> transactionService.postJournal(JournalRequest.builder()
+                .legs(List.of(
+                        leg(null, LedgerAccount.CASH, LedgerSide.DEBIT, 10.0),
+                        leg(from, null, LedgerSide.CREDIT, 10.0)))
+                .build(), owner.getEmail()));
+        assertThrows(BadRequestException.class, () -> transactionService.postJournal(JournalRequest.builder()
+                .legs(List.of(
+                        leg(from, null, LedgerSide.DEBIT, 100.01),
+                        leg(to, null, LedgerSide.CREDIT, 100.01)))
+                .build(), owner.getEmail()));
+
+        assertEquals(10_000, accountRepo.findById(from.getId()).orElseThrow().getBalance());
+        assertEquals(0, accountRepo.findById(to.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void derivedBalanceReadsCheckpointPlusLaterPostings() {
+        LocalDateTime cut = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ledgerCheckpoints.checkpoint(cut);
+        assertEquals(10_000, checkpointRepo.findById(from.getId()).orElseThrow().getBalance());
+
+        transactionService.transfer(TransferRequest.builder()
+                .fromAccountNumber(from.getAccountNumber())
+                .toAccountNumber(to.getAccountNumber())
+                .amount(40.0)
+                .build(), owner.getEmail());
+
+        assertEquals(6_000, accountRepo.findById(from.getId()).orElseThrow().getBalance());
+        assertEquals(6_000, ledgerCheckpoints.derivedBalance(from.getId()));
+        assertEquals(4_000, ledgerCheckpoints.derivedBalance(to.getId()));
+
+        LocalDateTime later = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ledgerCheckpoints.checkpoint(later);
+        assertEquals(6_000, checkpointRepo.findById(from.getId()).orElseThrow().getBalance());
+        assertEquals(later, checkpointRepo.findById(to.getId()).orElseThrow().getAsOf());
+        assertEquals(6_000, ledgerCheckpoints.derivedBalance(from.getId()));
+        assertEquals(0, ledgerCheckpoints.checkpoint(later));
+    }
+
+    private static JournalLegRequest leg(Account account, LedgerAccount ledgerAccount, LedgerSide side, double amount) {
+        return JournalLegRequest.builder()
+                .accountNumber(account != null ? account.getAccountNumber() : null)
+                .ledgerAccount(ledgerAccount)
+                .side(side)
+                .amount(amount)
+                .build();
+    }
+
+    private static void runAs(String email, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    private static User user() {
+        return User.builder()
+                .fullName("Ledger User")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build();
+    }
+
+    private static Account account(User user) {
+        return Account.builder()
+                .accountNumber("LDG-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,258 @@
+package webapp.bankingsystemapi.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.account.AccountCreateRequest;
+import webapp.bankingsystemapi.DTO.admin.SystemOverviewResponse;
+import webapp.bankingsystemapi.DTO.admin.account.AdminAccountResponse;
+import webapp.bankingsystemapi.DTO.auth.RegisterRequest;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.DTO.transaction.WithdrawRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.repo.TransactionRepo;
+import webapp.bankingsystemapi.rollup.DailyTransactionRollup;
+import webapp.bankingsystemapi.service.AccountService;
+import webapp.bankingsystemapi.service.AdminAggregateService;
+import webapp.bankingsystemapi.service.TransactionService;
+import webapp.bankingsystemapi.service.UserService;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+
+/**
+ * Drives every path that moves a dashboard figure and checks the overview follows
+ * without a single statement, then that a reconcile against the database agrees.
+ */
+// Own database and no background reconcile: the figures must come from the deltas alone.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboard;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "banking.dashboard.reconcile-millis=3600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class DashboardCountersTest {
+
+    private static final String ADMIN_EMAIL = "admin@bank.test";
+
+    @Autowired
+    private AdminAggregateService adminAggregateService;
+    @Autowired
+    private DashboardCounters dashboardCounters;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private DailyTransactionRollup rollup;
+    @SpyBean
+    private TransactionRepo transactionRepo;
+
+    @BeforeEach
+    void setUp() {
+        // Created by the Oracle schema scripts, not by Hibernate; MODE=Oracle accepts its NEXTVAL syntax.
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS ACCOUNT_NUMBER_SEQ");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void overviewFollowsChangesWithoutQueries() {
+        dashboardCounters.reconcile();
+        SystemOverviewResponse before = adminAggregateService.getSystemOverview();
+
+        String email = UUID.randomUUID() + "@bank.test";
+        Long userId = userService.registerUser(RegisterRequest.builder()
+                .fullName("Dashboard Counter")
+                .email(email)
+                .password("secret123")
+                .confirmPassword("secret123")
+                .build()).getId();
+        AdminAccountResponse from = (AdminAccountResponse) accountService.createAccount(
+                AccountCreateRequest.builder().type(AccountType.SAVING).build(), email);
+        AdminAccountResponse to = (AdminAccountResponse) accountService.createAccount(
+                AccountCreateRequest.builder().type(AccountType.CURRENT).build(), email);
+
+        transactionService.deposit(DepositRequest.builder()
+                .accountNumber(from.getAccountNumber()).amount(100.0).build(), ADMIN_EMAIL);
+        transactionService.transfer(TransferRequest.builder()
+                .fromAccountNumber(from.getAccountNumber()).toAccountNumber(to.getAccountNumber())
+                .amount(40.0).build(), ADMIN_EMAIL);
+        assertThrows(BadRequestException.class, () -> transactionService.withdraw(WithdrawRequest.builder()
+                .accountNumber(to.getAccountNumber()).amount(1000.0).build(), ADMIN_EMAIL));
+
+        accountService.changeStatus(to.getId(), AccountStatus.FROZEN);
+        userService.disableUser(userId);
+        userService.disableUser(userId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SystemOverviewResponse after = adminAggregateService.getSystemOverview();
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertEquals(before.getTotalUsers() + 1, after.getTotalUsers());
+        assertEquals(before.getActiveUsers(), after.getActiveUsers());
+        assertEquals(before.getTotalAccounts() + 2, after.getTotalAccounts());
+        assertEquals(before.getActiveAccounts() + 1, after.getActiveAccounts());
+        // the deposit plus both legs of the transfer, as the daily statistics query counts them
+        assertEquals(before.getTodayTransactionCount() + 3, after.getTodayTransactionCount());
+        assertEquals(0, before.getTodayTransactionAmount().add(BigDecimal.valueOf(180.0))
+                .compareTo(after.getTodayTransactionAmount()));
+
+        dashboardCounters.reconcile();
+        assertEquals(after, adminAggregateService.getSystemOverview());
+    }
+
+    @Test
+    void postingCommittedWhileReconcileCountsIsCountedOnce() throws Exception {
+        String email = UUID.randomUUID() + "@bank.test";
+        userService.registerUser(RegisterRequest.builder()
+                .fullName("Dashboard Racer")
+                .email(email)
+                .password("secret123")
+                .confirmPassword("secret123")
+                .build());
+        AdminAccountResponse account = (AdminAccountResponse) accountService.createAccount(
+                AccountCreateRequest.builder().type(AccountType.SAVING).build(), email);
+        dashboardCounters.reconcile();
+        long before = adminAggregateService.getSystemOverview().getTodayTransactionCount();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch committed = new CountDownLatch(1);
+            AtomicReference<Future<?>> deposit = new AtomicReference<>();
+            doAnswer(invocation -> {
+                // a deposit tries to commit while the reconcile counts today's postings
+                deposit.set(pool.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                            ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+                    transactionService.deposit(DepositRequest.builder()
+                            .accountNumber(account.getAccountNumber()).amount(1.0).build(), ADMIN_EMAIL);
+                    committed.countDown();
+                    return null;
+                }));
+                committed.await(1, TimeUnit.SECONDS);
+                return invocation.callRealMethod();
+            }).when(rollup).stored(any(), any());
+
+            dashboardCounters.reconcile();
+            doCallRealMethod().when(rollup).stored(any(), any());
+            deposit.get().get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(before + 1, adminAggregateService.getSystemOverview().getTodayTransactionCount());
+        dashboardCounters.reconcile();
+        assertEquals(before + 1, adminAggregateService.getSystemOverview().getTodayTransactionCount());
+    }
+
+    @Test
+    void postingCommitsWhileReconcileWaitsOnABackfill() throws Exception {
+        String email = UUID.randomUUID() + "@bank.test";
+        userService.registerUser(RegisterRequest.builder()
+                .fullName("Dashboard Backfill")
+                .email(email)
+                .password("secret123")
+                .confirmPassword("secret123")
+                .build());
+        AdminAccountResponse account = (AdminAccountResponse) accountService.createAccount(
+                AccountCreateRequest.builder().type(AccountType.SAVING).build(), email);
+        // a closed day for the batch job to rebuild
+        jdbcTemplate.update("""
+                INSERT INTO TRANSACTIONS (ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, STATUS,
+                                          REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT)
+                VALUES (?, 'DEPOSIT', 100, 0, 100, 'SUCCESS', ?, ?, ?)
+                """, 900_000_000L + account.getId(), "DASHBOARD-" + UUID.randomUUID(), account.getId(),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(3)));
+        dashboardCounters.reconcile();
+        long before = adminAggregateService.getSystemOverview().getTodayTransactionCount();
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch reading = new CountDownLatch(1);
+        try {
+            // the day's totals do not matter here, only that its rebuild is in flight
+            doAnswer(invocation -> {
+                rebuilding.countDown();
+                release.await(30, TimeUnit.SECONDS);
+                return List.of();
+            }).when(transactionRepo).summarize(any(), any());
+            doAnswer(invocation -> {
+                reading.countDown();
+                return invocation.callRealMethod();
+            }).when(rollup).stored(any(), any());
+
+            Future<Integer> backfill = pool.submit(() -> rollup.backfill());
+            assertTrue(rebuilding.await(10, TimeUnit.SECONDS), "backfill did not start");
+            Future<?> reconcile = pool.submit(() -> dashboardCounters.reconcile());
+            assertTrue(reading.await(10, TimeUnit.SECONDS), "reconcile did not reach the rollup");
+
+            // the reconcile waits on the day being rebuilt; the deposit must not wait on the reconcile
+            Future<?> deposit = pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+                transactionService.deposit(DepositRequest.builder()
+                        .accountNumber(account.getAccountNumber()).amount(1.0).build(), ADMIN_EMAIL);
+                return null;
+            });
+            deposit.get(5, TimeUnit.SECONDS);
+            assertFalse(backfill.isDone());
+
+            release.countDown();
+            assertTrue(backfill.get(10, TimeUnit.SECONDS) > 0);
+            reconcile.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        assertEquals(before + 1, adminAggregateService.getSystemOverview().getTodayTransactionCount());
+        dashboardCounters.reconcile();
+        assertEquals(before + 1, adminAggregateService.getSystemOverview().getTodayTransactionCount());
+    }
+}
@@ -0,0 +1,211 @@
+package webapp.bankingsystemapi.posting;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Group commit on a single lane. Each test holds the lane with a posting that waits,
+ * queues the postings under test behind it and lets them run as one batch.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:postingexecutor;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.posting.group-commit.enabled=true",
+        "banking.posting.group-commit.lanes=1"
+})
+@ActiveProfiles("test")
+class PostingExecutorTest {
+
+    @Autowired
+    private PostingExecutor postingExecutor;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Account account;
+    private ExecutorService pool;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Lane Poster")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        account = accountRepo.save(Account.builder()
+                .accountNumber("LANE-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(user)
+                .build());
+        pool = Executors.newFixedThreadPool(4);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void queuedPostingsCommitTogether() throws Exception {
+        List<Object> transactions = new CopyOnWriteArrayList<>();
+        Future<?> holder = holdLane();
+
+        List<Future<Long>> postings = List.of(
+                submit(() -> credit(100, transactions)),
+                submit(() -> credit(200, transactions)),
+                submit(() -> credit(300, transactions)));
+        releaseLane(holder);
+
+        assertEquals(100L, postings.get(0).get(10, TimeUnit.SECONDS));
+        assertEquals(200L, postings.get(1).get(10, TimeUnit.SECONDS));
+        assertEquals(300L, postings.get(2).get(10, TimeUnit.SECONDS));
+        assertEquals(3, transactions.size());
+        assertSame(transactions.get(0), transactions.get(1), "one transaction for the batch");
+        assertSame(transactions.get(0), transactions.get(2), "one transaction for the batch");
+        assertEquals(600, balance());
+    }
+
+    @Test
+    void failingPostingRollsBackTheBatchAndTheRestIsReplayed() throws Exception {
+        List<Object> first = new CopyOnWriteArrayList<>();
+        List<Object> last = new CopyOnWriteArrayList<>();
+        Future<?> holder = holdLane();
+
+        Future<Long> before = submit(() -> credit(100, first));
+        Future<Long> failing = submit(() -> {
+            credit(1_000, new CopyOnWriteArrayList<>());
+            throw new IllegalStateException("failed after writing");
+        });
+        Future<Long> after = submit(() -> credit(300, last));
+        releaseLane(holder);
+
+        assertEquals(100L, before.get(10, TimeUnit.SECONDS));
+        assertEquals(300L, after.get(10, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failing.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        // applied in the batch that rolled back, then once more on its own
+        assertEquals(2, first.size());
+        assertNotSame(first.get(0), first.get(1));
+        // never reached in the batch, so only run on its own
+        assertEquals(1, last.size());
+        assertEquals(400, balance(), "the failed posting's write was rolled back");
+    }
+
+    @Test
+    void interruptedCallerWithdrawsItsQueuedPosting() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean();
+        Future<?> holder = holdLane();
+
+        Future<Long> interrupted = submit(() -> {
+            ran.set(true);
+            return credit(100, new CopyOnWriteArrayList<>());
+        });
+        interrupted.cancel(true);
+        awaitQueued(0);
+        releaseLane(holder);
+
+        assertFalse(ran.get(), "a withdrawn posting is never committed");
+        assertEquals(0, balance());
+    }
+
+    private long credit(long amount, List<Object> transactions) {
+        transactions.add(TransactionSynchronizationManager.getResource(entityManagerFactory));
+        jdbcTemplate.update("update ACCOUNTS set BALANCE = BALANCE + ? where ID = ?", amount, account.getId());
+        return amount;
+    }
+
+    private Future<?> holdLane() throws InterruptedException {
+        CountDownLatch holding = new CountDownLatch(1);
+        Future<?> holder = pool.submit(() -> postingExecutor.execute(account.getAccountNumber(), () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(holding.await(10, TimeUnit.SECONDS));
+        return holder;
+    }
+
+    private void releaseLane(Future<?> holder) throws Exception {
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+    }
+
+    // Postings are submitted one at a time, so they queue in submission order.
+    private Future<Long> submit(Supplier<Long> posting) throws InterruptedException {
+        int queued = queue().size();
+        Future<Long> future = pool.submit(() -> postingExecutor.execute(account.getAccountNumber(), posting));
+        awaitQueued(queued + 1);
+        return future;
+    }
+
+    private void awaitQueued(int postings) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queue().size() != postings) {
+            assertTrue(System.nanoTime() < deadline, "lane never reached " + postings + " queued postings");
+            Thread.sleep(5);
+        }
+    }
+
+    private Queue<?> queue() {
+        Object[] lanes = (Object[]) ReflectionTestUtils.getField(postingExecutor, "lanes");
+        return (Queue<?>) ReflectionTestUtils.getField(lanes[0], "queue");
+    }
+
+    private long balance() {
+        return accountRepo.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
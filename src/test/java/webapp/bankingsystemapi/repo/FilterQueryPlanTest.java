@@ -0,0 +1,208 @@
+package webapp.bankingsystemapi.repo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.AuditAction;
+import webapp.bankingsystemapi.enums.AuditEntityType;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.repo.spec.AccountSpecifications;
+import webapp.bankingsystemapi.repo.spec.AuditLogSpecifications;
+import webapp.bankingsystemapi.repo.spec.TransactionSpecifications;
+import webapp.bankingsystemapi.repo.spec.UserSpecifications;
+import webapp.bankingsystemapi.search.UserSearchMode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the H2 plan of each admin and statement filter combination to the index it is
+ * meant to use (README, "Index Set"). Criteria values are inlined so the captured SQL
+ * can be handed to EXPLAIN as is.
+ */
+// Own database: this context's create-drop must not reset sequences under the shared one.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:filter-plans;DB_CLOSE_DELAY=-1",
+        // No startup backfill, so only this test's statements are captured.
+        "banking.user-search.mode=contains",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "webapp.bankingsystemapi.repo.FilterQueryPlanTest$SqlCapture"
+})
+@ActiveProfiles("test")
+class FilterQueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 31, 23, 59, 59);
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private AuditLogRepo auditLogRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.SQL.clear();
+    }
+
+    @Test
+    void statementSeeksAccountIndexInOrder() {
+        transactionRepo.findStatementPage(1L, null, null, FROM, TO, null, null, 21);
+        String plan = planOfLastSelect();
+        assertTrue(plan.contains("TRANSACTIONS_ACCOUNT_CREATED_IX"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+
+        transactionRepo.findStatementPage(1L, TO, 100L, null, null, 1_000L, null, 21);
+        plan = planOfLastSelect();
+        assertTrue(plan.contains("TRANSACTIONS_ACCOUNT_CREATED_IX"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void adminTransactionFiltersUseMatchingIndex() {
+        transactionRepo.findAll(TransactionSpecifications.adminFilter(
+                null, null, null, TransactionStatus.SUCCESS, FROM, TO, null, null));
+        assertUses("TRANSACTIONS_STATUS_CREATED_IX");
+
+        transactionRepo.findAll(TransactionSpecifications.adminFilter(
+                null, null, null, null, FROM, TO, null, null));
+        assertUses("TRANSACTIONS_CREATED_IX");
+
+        transactionRepo.findAll(TransactionSpecifications.adminFilter(
+                "ACC-2026-000001", null, null, null, null, null, null, null));
+        assertNoTableScan();
+
+        transactionRepo.findAll(TransactionSpecifications.adminFilter(
+                null, "someone@bank.test", null, null, null, null, null, null));
+        assertUses("ACCOUNTS_USER_IX");
+        assertNoTableScan();
+    }
+
+    @Test
+    void adminAccountFiltersUseMatchingIndex() {
+        accountRepo.findAll(AccountSpecifications.adminFilter(
+                null, null, AccountStatus.OPEN, AccountType.SAVING, null, null, UserSearchMode.TOKEN));
+        assertUses("ACCOUNTS_STATUS_TYPE_IX");
+
+        accountRepo.findAll(AccountSpecifications.adminFilter(
+                "ACC-2026-000001", null, null, null, null, null, UserSearchMode.TOKEN));
+        assertNoTableScan();
+
+        accountRepo.findAll(AccountSpecifications.adminFilter(
+                null, "jane.doe@", null, null, null, null, UserSearchMode.TOKEN));
+        assertUses("USER_SEARCH_TOKENS_PREFIX_IX");
+        assertUses("ACCOUNTS_USER_IX");
+        assertNoTableScan();
+    }
+
+    @Test
+    void adminUserFiltersUseMatchingIndex() {
+        userRepo.findAll(UserSpecifications.adminFilter(
+                null, null, null, UserStatus.ACTIVE, null, FROM, TO, UserSearchMode.TOKEN));
+        assertUses("USERS_STATUS_CREATED_IX");
+
+        userRepo.findAll(UserSpecifications.adminFilter(
+                null, null, null, null, null, FROM, TO, UserSearchMode.TOKEN));
+        assertUses("USERS_CREATED_IX");
+
+        userRepo.findAll(UserSpecifications.adminFilter(
+                "Jane Do", null, null, null, null, null, null, UserSearchMode.TOKEN));
+        assertUses("USER_SEARCH_TOKENS_PREFIX_IX");
+        assertNoTableScan();
+
+        userRepo.findAll(UserSpecifications.adminFilter(
+                null, "jane.doe@bank", null, null, null, null, null, UserSearchMode.TOKEN));
+        assertUses("USER_SEARCH_TOKENS_PREFIX_IX");
+        assertNoTableScan();
+    }
+
+    @Test
+    void adminAuditFiltersUseMatchingIndex() {
+        auditLogRepo.findAll(AuditLogSpecifications.adminFilter(
+                "admin@bank.test", null, null, FROM, TO));
+        assertUses("AUDIT_LOGS_PERFORMER_CREATED_IX");
+
+        auditLogRepo.findAll(AuditLogSpecifications.adminFilter(
+                null, AuditAction.TRANSACTION_VIEW, null, FROM, null));
+        assertUses("AUDIT_LOGS_ACTION_CREATED_IX");
+
+        auditLogRepo.findAll(AuditLogSpecifications.adminFilter(
+                null, null, AuditEntityType.TRANSACTION, FROM, TO));
+        assertUses("AUDIT_LOGS_CREATED_IX");
+    }
+
+    @Test
+    void unsetFiltersEmitNoPredicates() {
+        transactionRepo.findAll(TransactionSpecifications.adminFilter(
+                null, null, null, null, null, null, null, null));
+        String sql = lastSelect();
+        assertFalse(sql.contains(" where "), sql);
+        // the page fetches each row's account, and nothing else
+        assertFalse(sql.contains(" join users "), sql);
+
+        transactionRepo.count(TransactionSpecifications.adminFilter(
+                null, null, null, null, null, null, null, null));
+        sql = lastSelect();
+        assertFalse(sql.contains(" where "), sql);
+        assertFalse(sql.contains(" join "), sql);
+
+        userRepo.findAll(UserSpecifications.adminFilter(
+                null, null, null, UserStatus.ACTIVE, null, null, null, UserSearchMode.TOKEN));
+        sql = lastSelect();
+        assertFalse(sql.contains(" is null"), sql);
+        assertFalse(sql.contains(" or "), sql);
+    }
+
+    private void assertUses(String index) {
+        String plan = planOfLastSelect();
+        assertTrue(plan.contains(index), plan);
+    }
+
+    private void assertNoTableScan() {
+        String plan = planOfLastSelect();
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String planOfLastSelect() {
+        return jdbcTemplate.queryForObject("EXPLAIN " + lastSelect(), String.class);
+    }
+
+    private static String lastSelect() {
+        for (int i = SqlCapture.SQL.size() - 1; i >= 0; i--) {
+            String sql = SqlCapture.SQL.get(i);
+            if (sql.startsWith("select")) {
+                return sql;
+            }
+        }
+        throw new AssertionError("no select captured");
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> SQL = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (SQL) {
+                SQL.add(sql);
+            }
+            return sql;
+        }
+    }
+}
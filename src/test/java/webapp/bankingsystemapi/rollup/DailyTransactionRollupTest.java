@@ -0,0 +1,198 @@
+package webapp.bankingsystemapi.rollup;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.admin.transaction.DailyTransactionStatsResponse;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.TransactionType;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.DailyTransactionStat;
+import webapp.bankingsystemapi.model.DailyTransactionStatId;
+import webapp.bankingsystemapi.model.Transaction;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.DailyTransactionStatRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.AdminAggregateService;
+import webapp.bankingsystemapi.service.TransactionService;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Postings reach DAILY_TRANSACTION_STATS through the flushed deltas while their day is
+ * open, and the batch job rebuilds every closed day once from TRANSACTIONS.
+ */
+// Own database, and flush and batch job only when the test calls them.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rollup;DB_CLOSE_DELAY=-1",
+        "banking.rollup.flush-millis=3600000",
+        "banking.rollup.recompute-millis=3600000",
+        "banking.rollup.close-grace-minutes=0"
+})
+@ActiveProfiles("test")
+class DailyTransactionRollupTest {
+
+    private static final String ADMIN_EMAIL = "admin@bank.test";
+    private static final long FIRST_ID = 900_000_000L;
+    private static final int ROWS = 10;
+
+    @Autowired
+    private DailyTransactionRollup rollup;
+    @Autowired
+    private DailyTransactionStatRepo statRepo;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AdminAggregateService adminAggregateService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Daily Rollup")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        from = accountRepo.save(account(user));
+        to = accountRepo.save(account(user));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void committedPostingsAreRolledUpOnFlush() {
+        LocalDate today = LocalDate.now();
+        rollup.flush();
+        long depositsBefore = stored(today, TransactionType.DEPOSIT);
+        long debitsBefore = stored(today, TransactionType.TRANSFER_DEBIT);
+
+        transactionService.deposit(deposit(10.0), ADMIN_EMAIL);
+        transactionService.deposit(deposit(20.0), ADMIN_EMAIL);
+        transactionService.transfer(TransferRequest.builder()
+                .fromAccountNumber(from.getAccountNumber()).toAccountNumber(to.getAccountNumber())
+                .amount(5.0).build(), ADMIN_EMAIL);
+
+        // Visible to reads straight away, in the table after the flush.
+        assertEquals(depositsBefore + 2, count(rollup.range(today, today), TransactionType.DEPOSIT));
+        assertEquals(depositsBefore, stored(today, TransactionType.DEPOSIT));
+
+        rollup.flush();
+        assertEquals(depositsBefore + 2, stored(today, TransactionType.DEPOSIT));
+        assertEquals(debitsBefore + 1, stored(today, TransactionType.TRANSFER_DEBIT));
+        assertEquals(count(rollup.range(today, today), TransactionType.TRANSFER_DEBIT),
+                count(rollup.range(today, today), TransactionType.TRANSFER_CREDIT));
+    }
+
+    @Test
+    void batchJobSettlesEachClosedDayOnce() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate monthAgo = LocalDate.now().minusDays(40);
+        long firstId = FIRST_ID + from.getId() * ROWS;
+        insertDeposits(firstId, 3, monthAgo.atTime(10, 0));
+        insertDeposits(firstId + 3, 4, yesterday.atTime(23, 0));
+
+        assertEquals(40, rollup.backfill(), "every closed day since the first transaction");
+        assertEquals(3, stored(monthAgo, TransactionType.DEPOSIT));
+        assertEquals(4, stored(yesterday, TransactionType.DEPOSIT));
+        // the empty days in between were settled as well
+        assertEquals(0, rollup.backfill());
+
+        // a closed day takes no more deltas
+        rollup.record(Transaction.builder()
+                .type(TransactionType.DEPOSIT)
+                .status(TransactionStatus.SUCCESS)
+                .amount(100)
+                .createdAt(yesterday.atTime(23, 59))
+                .build());
+        rollup.flush();
+        assertEquals(4, count(rollup.range(yesterday, yesterday), TransactionType.DEPOSIT));
+        assertEquals(4, stored(yesterday, TransactionType.DEPOSIT));
+
+        jdbcTemplate.update("UPDATE DAILY_TRANSACTION_STATS SET TX_COUNT = 999 WHERE STAT_DATE = ?", yesterday);
+        rollup.recompute(yesterday);
+        assertEquals(4, stored(yesterday, TransactionType.DEPOSIT));
+        assertThrows(IllegalArgumentException.class, () -> rollup.recompute(LocalDate.now()));
+
+        List<DailyTransactionStatsResponse> stats = adminAggregateService.getDailyTransactionStats(90);
+        assertTrue(stats.stream().anyMatch(s -> s.getDate().equals(monthAgo)
+                && s.getType() == TransactionType.DEPOSIT && s.getTransactionCount() == 3));
+        assertTrue(stats.stream().noneMatch(s -> s.getDate().isBefore(LocalDate.now().minusDays(89))));
+        assertThrows(BadRequestException.class, () -> adminAggregateService.getDailyTransactionStats(0));
+    }
+
+    private long stored(LocalDate day, TransactionType type) {
+        return statRepo.findById(new DailyTransactionStatId(day, type, TransactionStatus.SUCCESS))
+                .map(DailyTransactionStat::getTxCount)
+                .orElse(0L);
+    }
+
+    private static long count(List<DailyTransactionStat> rows, TransactionType type) {
+        return rows.stream()
+                .filter(row -> row.getId().getType() == type && row.getId().getStatus() == TransactionStatus.SUCCESS)
+                .mapToLong(DailyTransactionStat::getTxCount)
+                .sum();
+    }
+
+    private void insertDeposits(long firstId, int count, LocalDateTime createdAt) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO TRANSACTIONS (ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, STATUS,
+                                              REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT)
+                    VALUES (?, 'DEPOSIT', 100, 0, 100, 'SUCCESS', ?, ?, ?)
+                    """, firstId + i, "ROLLUP-" + UUID.randomUUID(), from.getId(), Timestamp.valueOf(createdAt.plusMinutes(i)));
+        }
+    }
+
+    private DepositRequest deposit(double amount) {
+        return DepositRequest.builder().accountNumber(from.getAccountNumber()).amount(amount).build();
+    }
+
+    private static Account account(User user) {
+        return Account.builder()
+                .accountNumber("ROLLUP-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package webapp.bankingsystemapi.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.auth.RegisterRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.service.AuthService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token-mode searches against the real token table: users are found by word prefixes of
+ * their name and email once registered or backfilled, and not by fragments inside a word.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSearchIndexTest {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @Test
+    void tokenizeSplitsOnPunctuationAndLowercases() {
+        assertEquals(List.of("jane", "doe", "bank", "test"), UserSearchTokens.tokenize("Jane.Doe@Bank.test"));
+        assertEquals(List.of("o", "brien", "anne"), UserSearchTokens.tokenize("O'Brien,  Anne o"));
+        assertEquals(List.of(), UserSearchTokens.tokenize(" @. "));
+    }
+
+    @Test
+    void registeredUserIsFoundByWordPrefixes() {
+        String word = uniqueWord();
+        authService.register(RegisterRequest.builder()
+                .fullName("Marta " + word)
+                .email(word + ".marta@bank.test")
+                .password("secret123")
+                .confirmPassword("secret123")
+                .build());
+
+        assertEquals(1, searchByName(word.substring(0, 10) + " mar", UserSearchMode.TOKEN));
+        assertEquals(1, searchByName(word.toUpperCase(), UserSearchMode.TOKEN));
+        assertEquals(1, searchByEmail(word + ".mar", UserSearchMode.TOKEN));
+
+        // Prefix, not substring: a fragment from inside the word only matches in CONTAINS mode.
+        assertEquals(0, searchByName(word.substring(3), UserSearchMode.TOKEN));
+        assertEquals(1, searchByName(word.substring(3), UserSearchMode.CONTAINS));
+    }
+
+    @Test
+    void backfillIndexesUsersSavedWithoutTokens() {
+        String word = uniqueWord();
+        User user = userRepo.save(User.builder()
+                .fullName("Loaded " + word)
+                .email(word + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        accountRepo.save(Account.builder()
+                .accountNumber("SEARCH-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(user)
+                .build());
+        assertEquals(0, searchByEmail(word, UserSearchMode.TOKEN));
+
+        assertTrue(userSearchIndex.backfill() >= 1);
+
+        assertEquals(1, searchByEmail(word, UserSearchMode.TOKEN));
+        assertEquals(1, accountRepo.filterAccounts(null, word + "@bank", null, null, null, null,
+                UserSearchMode.TOKEN, Pageable.unpaged()).getTotalElements());
+        assertEquals(0, userSearchIndex.backfill());
+    }
+
+    private long searchByName(String fullName, UserSearchMode mode) {
+        return userRepo.filterUsers(fullName, null, null, null, null, null, null, mode, Pageable.unpaged())
+                .getTotalElements();
+    }
+
+    private long searchByEmail(String email, UserSearchMode mode) {
+        return userRepo.filterUsers(null, email, null, null, null, null, null, mode, Pageable.unpaged())
+                .getTotalElements();
+    }
+
+    private static String uniqueWord() {
+        return "zq" + UUID.randomUUID().toString().replace("-", "");
+    }
+}
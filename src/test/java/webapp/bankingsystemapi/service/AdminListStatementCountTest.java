@@ -0,0 +1,144 @@
+package webapp.bankingsystemapi.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.admin.account.AdminAccountFilterRequest;
+import webapp.bankingsystemapi.DTO.admin.transaction.AdminTransactionFilterRequest;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.TransactionType;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins each admin list page to a fixed number of JDBC statements whatever its size, so
+ * the account of every transaction row, or the owner of every account row, cannot go
+ * back to being loaded one row at a time. Every row has its own account and owner.
+ * Audit rows are left out: the filtered transaction search writes one in its own transaction.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:adminlistcount;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "banking.rollup.flush-millis=3600000",
+        "banking.dashboard.reconcile-millis=3600000",
+        "banking.ledger.checkpoint-millis=3600000",
+        "jwt.revocation.refresh-millis=3600000"
+})
+@ActiveProfiles("test")
+class AdminListStatementCountTest {
+
+    private static final int ROWS = 30;
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 25;
+    // the page query with its fetch join, and the count query
+    private static final int PAGE_STATEMENTS = 2;
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockBean
+    private AuditService auditService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        for (int i = 0; i < ROWS; i++) {
+            User user = userRepo.save(User.builder()
+                    .fullName("List Count " + i)
+                    .email(UUID.randomUUID() + "@bank.test")
+                    .password("secret")
+                    .role(Role.USER)
+                    .status(UserStatus.ACTIVE)
+                    .isActive(true)
+                    .build());
+            Account account = accountRepo.save(Account.builder()
+                    .accountNumber("LST-" + UUID.randomUUID())
+                    .type(AccountType.CURRENT)
+                    .status(AccountStatus.OPEN)
+                    .balance(0)
+                    .user(user)
+                    .build());
+            transactionService.deposit(DepositRequest.builder()
+                    .accountNumber(account.getAccountNumber())
+                    .amount(10.0)
+                    .build(), "admin@bank.test");
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void allAccountsPageUsesFixedStatements() {
+        assertFixed(size -> accountService.getAllAccounts(PageRequest.of(0, size)));
+    }
+
+    @Test
+    void filteredAccountsPageUsesFixedStatements() {
+        AdminAccountFilterRequest request = new AdminAccountFilterRequest();
+        request.setType(AccountType.CURRENT);
+        request.setStatus(AccountStatus.OPEN);
+        assertFixed(size -> accountService.filterAccounts(request, PageRequest.of(0, size)));
+    }
+
+    @Test
+    void allTransactionsPageUsesFixedStatements() {
+        assertFixed(size -> transactionService.getAllTransactions(PageRequest.of(0, size)));
+    }
+
+    @Test
+    void filteredTransactionsPageUsesFixedStatements() {
+        AdminTransactionFilterRequest request = new AdminTransactionFilterRequest();
+        request.setType(TransactionType.DEPOSIT);
+        assertFixed(size -> transactionService.filterAdminTransactions(request, PageRequest.of(0, size)));
+    }
+
+    private void assertFixed(IntFunction<Page<?>> page) {
+        for (int size : new int[]{SMALL_PAGE, LARGE_PAGE}) {
+            statistics.clear();
+            Page<?> result = page.apply(size);
+            result.getContent().forEach(Object::toString);
+            assertEquals(size, result.getNumberOfElements());
+            assertEquals(PAGE_STATEMENTS, statistics.getPrepareStatementCount(),
+                    "page of " + size + " rows");
+        }
+    }
+}
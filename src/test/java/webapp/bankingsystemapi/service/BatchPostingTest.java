@@ -0,0 +1,160 @@
+package webapp.bankingsystemapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingItem;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingRequest;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingResponse;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingResult;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.PostingType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Batch postings are checked item by item against the balances earlier items left
+ * behind, and a rejected item never takes the rest of its chunk down with it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchposting;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.posting.batch.chunk-size=3"
+})
+@ActiveProfiles("test")
+class BatchPostingTest {
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    private User owner;
+    private Account from;
+    private Account to;
+    private Account foreign;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(user());
+        from = accountRepo.save(account(owner, 100.0));
+        to = accountRepo.save(account(owner, 0.0));
+        foreign = accountRepo.save(account(userRepo.save(user()), 50.0));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                owner.getEmail(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void appliesValidItemsAndReportsTheRest() {
+        BatchPostingResponse response = transactionService.postBatch(new BatchPostingRequest(List.of(
+                item(PostingType.TRANSFER, from, to, 60.0),
+                item(PostingType.WITHDRAW, from, null, 50.0),   // only 40 left after the transfer
+                item(PostingType.DEPOSIT, from, null, -5.0),    // fails the up-front check
+                item(PostingType.WITHDRAW, foreign, null, 10.0), // not the caller's account
+                item(PostingType.DEPOSIT, to, null, 15.0),
+                item(PostingType.TRANSFER, to, to, 1.0)
+        )), owner.getEmail());
+
+        assertEquals(6, response.getTotal());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(4, response.getFailed());
+        List<BatchPostingResult> results = response.getResults();
+        assertEquals(TransactionStatus.SUCCESS, results.get(0).getStatus());
+        assertNotNull(results.get(0).getCreditReferenceNumber());
+        assertEquals(40.0, results.get(0).getAfterBalance());
+        assertEquals(TransactionStatus.FAILED, results.get(1).getStatus());
+        assertEquals(TransactionStatus.FAILED, results.get(2).getStatus());
+        assertEquals(TransactionStatus.FAILED, results.get(3).getStatus());
+        assertEquals(TransactionStatus.SUCCESS, results.get(4).getStatus());
+        assertEquals(75.0, results.get(4).getAfterBalance());
+        assertEquals(TransactionStatus.FAILED, results.get(5).getStatus());
+
+        assertEquals(4_000, accountRepo.findById(from.getId()).orElseThrow().getBalance());
+        assertEquals(7_500, accountRepo.findById(to.getId()).orElseThrow().getBalance());
+        assertEquals(5_000, accountRepo.findById(foreign.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void chunkThatFailsToCommitReportsNoDatabaseDetail() {
+        BatchPostingItem tooLong = item(PostingType.DEPOSIT, to, null, 5.0);
+        tooLong.setDescription("x".repeat(300)); // longer than the DESCRIPTION column
+        BatchPostingResponse response = transactionService.postBatch(new BatchPostingRequest(List.of(
+                item(PostingType.DEPOSIT, to, null, 10.0),
+                item(PostingType.WITHDRAW, from, null, 500.0),   // rejected within the chunk
+                tooLong,
+                item(PostingType.DEPOSIT, to, null, 15.0)       // the next chunk
+        )), owner.getEmail());
+
+        List<BatchPostingResult> results = response.getResults();
+        assertEquals(TransactionStatus.FAILED, results.get(0).getStatus(), "rolled back with its chunk");
+        assertEquals("Something went wrong", results.get(0).getError());
+        assertEquals("Insufficient balance.", results.get(1).getError());
+        assertEquals("Something went wrong", results.get(2).getError());
+        assertEquals(TransactionStatus.SUCCESS, results.get(3).getStatus());
+        assertEquals(1_500, accountRepo.findById(to.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void rejectsEmptyBatch() {
+        assertThrows(BadRequestException.class,
+                () -> transactionService.postBatch(new BatchPostingRequest(List.of()), owner.getEmail()));
+    }
+
+    private static BatchPostingItem item(PostingType type, Account account, Account toAccount, double amount) {
+        return BatchPostingItem.builder()
+                .type(type)
+                .accountNumber(account.getAccountNumber())
+                .toAccountNumber(toAccount != null ? toAccount.getAccountNumber() : null)
+                .amount(amount)
+                .build();
+    }
+
+    private static User user() {
+        return User.builder()
+                .fullName("Batch Posting")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build();
+    }
+
+    private static Account account(User user, double balance) {
+        return Account.builder()
+                .accountNumber("BAT-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(Money.toMinor(balance))
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package webapp.bankingsystemapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import webapp.bankingsystemapi.DTO.account.AccountCreateRequest;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/admin/account/createAccounts validates every item and creates at most
+ * {@code banking.account.create.max-items} accounts per request.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkaccounts;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.account.create.max-items=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkAccountCreateTest {
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder()
+                .fullName("Bulk Owner")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void requestsOverTheMaximumAreRejected() {
+        // rejected before any account number is reserved
+        assertThrows(BadRequestException.class, () -> accountService.createAccounts(requests(4), owner.getEmail()));
+        assertThrows(BadRequestException.class, () -> accountService.createAccounts(List.of(), owner.getEmail()));
+        assertEquals(0, accountRepo.getAccountsByUserId(owner.getId()).size());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void itemsWithoutATypeAreRejectedBeforeTheService() throws Exception {
+        mockMvc.perform(post("/api/admin/account/createAccounts")
+                        .param("email", owner.getEmail())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"type\":\"SAVING\"},{}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        assertEquals(0, accountRepo.getAccountsByUserId(owner.getId()).size());
+    }
+
+    private static List<AccountCreateRequest> requests(int count) {
+        return Collections.nCopies(count, new AccountCreateRequest(AccountType.SAVING));
+    }
+}
@@ -0,0 +1,126 @@
+package webapp.bankingsystemapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires thousands of transfers in both directions between a handful of accounts at once.
+ * With locks taken in request order A to B and B to A wait on each other; every transfer
+ * here has to go through and no money may appear or vanish.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OpposingTransferStressTest {
+
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 200;
+    private static final int ACCOUNTS = 4;
+    private static final double OPENING_BALANCE = 1_000_000.0;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Transfer Stress")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(accountRepo.save(Account.builder()
+                    .accountNumber("STR-" + UUID.randomUUID())
+                    .type(AccountType.SAVING)
+                    .status(AccountStatus.OPEN)
+                    .balance(Money.toMinor(OPENING_BALANCE))
+                    .user(user)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void opposingTransfersNeitherDeadlockNorLoseMoney() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            pool.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+                try {
+                    start.await();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        // neighbouring threads push money around the same pair in opposite directions
+                        Account a = accounts.get((thread / 2 + i) % ACCOUNTS);
+                        Account b = accounts.get((thread / 2 + i + 1) % ACCOUNTS);
+                        boolean forward = thread % 2 == 0;
+                        transactionService.transfer(TransferRequest.builder()
+                                .fromAccountNumber((forward ? a : b).getAccountNumber())
+                                .toAccountNumber((forward ? b : a).getAccountNumber())
+                                .amount(1.0 + i % 7)
+                                .build(), "admin@bank.test");
+                    }
+                } catch (Throwable ex) {
+                    failures.add(ex);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "transfers did not finish");
+
+        assertTrue(failures.isEmpty(), () -> "transfers failed: " + failures);
+        double total = accounts.stream()
+                .mapToDouble(a -> Money.toMajor(accountRepo.findById(a.getId()).orElseThrow().getBalance()))
+                .sum();
+        assertEquals(ACCOUNTS * OPENING_BALANCE, total, 0.0001);
+    }
+}
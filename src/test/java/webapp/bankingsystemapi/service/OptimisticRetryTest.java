@@ -0,0 +1,112 @@
+package webapp.bankingsystemapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransactionResponse;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.TransactionStatus;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.ledger.Ledger;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * With optimistic postings a concurrent writer that commits between the unlocked read and
+ * the version-checked update makes the posting run again, once, on the fresh balance.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:optimisticretry;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.posting.optimistic.enabled=true"
+})
+@ActiveProfiles("test")
+class OptimisticRetryTest {
+
+    private static final String ADMIN_EMAIL = "admin@bank.test";
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private Ledger ledger;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Optimistic Poster")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        account = accountRepo.save(Account.builder()
+                .accountNumber("OPT-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(10_000)
+                .user(user)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                ADMIN_EMAIL, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void versionConflictIsRetriedOnce() {
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                // another writer commits after the posting read the account
+                CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                        "update ACCOUNTS set BALANCE = BALANCE + 5000, VERSION = VERSION + 1 where ID = ?",
+                        account.getId())).join();
+            }
+            return invocation.callRealMethod();
+        }).when(ledger).post(any(), any(), any());
+
+        TransactionResponse response = transactionService.deposit(DepositRequest.builder()
+                .accountNumber(account.getAccountNumber())
+                .amount(25.0)
+                .build(), ADMIN_EMAIL);
+
+        assertEquals(2, attempts.get(), "the conflicting attempt and one retry");
+        assertEquals(175.0, response.getAfterBalance());
+        assertEquals(17_500, accountRepo.findById(account.getId()).orElseThrow().getBalance());
+        assertEquals(List.of(TransactionStatus.SUCCESS.name()), jdbcTemplate.queryForList(
+                "select STATUS from TRANSACTIONS where ACCOUNT_ID = ?", String.class, account.getId()));
+    }
+}
@@ -0,0 +1,152 @@
+package webapp.bankingsystemapi.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingItem;
+import webapp.bankingsystemapi.DTO.transaction.BatchPostingRequest;
+import webapp.bankingsystemapi.DTO.transaction.DepositRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransferRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.PostingType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+import webapp.bankingsystemapi.util.Money;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the number of JDBC statements a posting costs, so re-saves of the same
+ * transaction row (INITIATED, PENDING, SUCCESS) or per-insert sequence round trips
+ * cannot creep back in unnoticed. Budgets are averages over a run of postings, as
+ * pooled id allocation only hits the sequences once per block.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementcount;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class PostingStatementCountTest {
+
+    private static final int POSTINGS = 20;
+    // lock + journal legs (one batch) + insert + account update + audit insert, plus the odd sequence block fetch
+    private static final double DEPOSIT_BUDGET = 5.5;
+    // one lock over both rows + journal legs and statement legs (a batch each) + account updates + audit insert,
+    // plus block fetches
+    private static final double TRANSFER_BUDGET = 6.5;
+    // one ordered lock, then one batched statement each for journal legs, legs, account updates and audits
+    private static final double BATCH_TRANSFER_BUDGET = 0.6;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Statement Count")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        from = accountRepo.save(account(user, 1000.0));
+        to = accountRepo.save(account(user, 0.0));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void depositStaysWithinStatementBudget() {
+        for (int i = 0; i < POSTINGS; i++) {
+            transactionService.deposit(DepositRequest.builder()
+                    .accountNumber(from.getAccountNumber())
+                    .amount(10.0)
+                    .build(), "admin@bank.test");
+        }
+
+        double statements = (double) statistics.getPrepareStatementCount() / POSTINGS;
+        assertTrue(statements <= DEPOSIT_BUDGET,
+                "deposit used " + statements + " statements, budget is " + DEPOSIT_BUDGET);
+    }
+
+    @Test
+    void transferStaysWithinStatementBudget() {
+        for (int i = 0; i < POSTINGS; i++) {
+            transactionService.transfer(TransferRequest.builder()
+                    .fromAccountNumber(from.getAccountNumber())
+                    .toAccountNumber(to.getAccountNumber())
+                    .amount(10.0)
+                    .build(), "admin@bank.test");
+        }
+
+        double statements = (double) statistics.getPrepareStatementCount() / POSTINGS;
+        assertTrue(statements <= TRANSFER_BUDGET,
+                "transfer used " + statements + " statements, budget is " + TRANSFER_BUDGET);
+    }
+
+    @Test
+    void batchTransferStaysWithinStatementBudget() {
+        List<BatchPostingItem> items = IntStream.range(0, POSTINGS)
+                .mapToObj(i -> BatchPostingItem.builder()
+                        .type(PostingType.TRANSFER)
+                        .accountNumber(from.getAccountNumber())
+                        .toAccountNumber(to.getAccountNumber())
+                        .amount(10.0)
+                        .build())
+                .toList();
+        transactionService.postBatch(new BatchPostingRequest(items), "admin@bank.test");
+
+        double statements = (double) statistics.getPrepareStatementCount() / POSTINGS;
+        assertTrue(statements <= BATCH_TRANSFER_BUDGET,
+                "batch transfer used " + statements + " statements, budget is " + BATCH_TRANSFER_BUDGET);
+    }
+
+    private static Account account(User user, double balance) {
+        return Account.builder()
+                .accountNumber("CNT-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(Money.toMinor(balance))
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package webapp.bankingsystemapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import webapp.bankingsystemapi.DTO.transaction.StatementRequest;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.exception.AccessDeniedException;
+import webapp.bankingsystemapi.export.StatementExportFormat;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statement-export;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementExportTest {
+
+    private static final long FIRST_ID = 800_000_000L;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User owner;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder()
+                .fullName("Statement Export")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        account = accountRepo.save(Account.builder()
+                .accountNumber("EXPORT-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(owner)
+                .build());
+
+        long firstId = FIRST_ID + account.getId() * 10;
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 9, 0);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO TRANSACTIONS (ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, STATUS,
+                                          REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT, DESCRIPTION)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, List.of(
+                new Object[] {firstId, "DEPOSIT", 10_000L, 0L, 10_000L, "SUCCESS", "EXP-" + firstId,
+                        account.getId(), Timestamp.valueOf(base), "Salary"},
+                new Object[] {firstId + 1, "WITHDRAW", 3_000L, 10_000L, 7_000L, "SUCCESS", "EXP-" + (firstId + 1),
+                        account.getId(), Timestamp.valueOf(base.plusHours(1)), "Rent, \"March\""},
+                new Object[] {firstId + 2, "DEPOSIT", 500L, 7_000L, 7_500L, "SUCCESS", "EXP-" + (firstId + 2),
+                        account.getId(), Timestamp.valueOf(base.plusHours(2)), null}));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void csvIsNewestFirstWithQuotedFields() throws Exception {
+        String csv = export(statementRequest(), StatementExportFormat.CSV);
+
+        long firstId = FIRST_ID + account.getId() * 10;
+        assertEquals("""
+                referenceNumber,type,amount,status,beforeBalance,afterBalance,description,createdAt
+                EXP-%d,DEPOSIT,5.0,SUCCESS,70.0,75.0,,2026-03-01T11:00
+                EXP-%d,WITHDRAW,30.0,SUCCESS,100.0,70.0,"Rent, ""March""\",2026-03-01T10:00
+                EXP-%d,DEPOSIT,100.0,SUCCESS,0.0,100.0,Salary,2026-03-01T09:00
+                """.formatted(firstId + 2, firstId + 1, firstId), csv);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLineAndAppliesFilters() throws Exception {
+        StatementRequest request = statementRequest();
+        request.setMinAmount(10.0);
+
+        String[] lines = export(request, StatementExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode newest = objectMapper.readTree(lines[0]);
+        assertEquals("WITHDRAW", newest.get("type").asText());
+        assertEquals("Rent, \"March\"", newest.get("description").asText());
+        assertEquals("2026-03-01T10:00:00", newest.get("createdAt").asText());
+        assertEquals(100.0, objectMapper.readTree(lines[1]).get("amount").asDouble());
+    }
+
+    @Test
+    void refusesOtherUsersBeforeStreaming() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "someone-else@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        assertThrows(AccessDeniedException.class, () -> transactionService.exportStatement(
+                statementRequest(), StatementExportFormat.CSV, "someone-else@bank.test"));
+    }
+
+    @Test
+    void endpointStreamsAttachmentThroughAsyncDispatch() throws Exception {
+        SecurityContextHolder.clearContext();
+
+        MvcResult started = mockMvc.perform(post("/api/transaction/statement/export")
+                        .param("format", "ndjson")
+                        .with(user(owner.getEmail()).roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statementRequest())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"statement-" + account.getAccountNumber() + ".ndjson\""));
+        assertEquals(3, started.getResponse().getContentAsString().split("\n").length);
+    }
+
+    private StatementRequest statementRequest() {
+        StatementRequest request = new StatementRequest();
+        request.setAccountNumber(account.getAccountNumber());
+        return request;
+    }
+
+    private String export(StatementRequest request, StatementExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.exportStatement(request, format, "admin@bank.test").writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
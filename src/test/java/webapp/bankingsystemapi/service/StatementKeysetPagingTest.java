@@ -0,0 +1,150 @@
+package webapp.bankingsystemapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import webapp.bankingsystemapi.DTO.transaction.StatementPageResponse;
+import webapp.bankingsystemapi.DTO.transaction.StatementRequest;
+import webapp.bankingsystemapi.DTO.transaction.TransactionResponse;
+import webapp.bankingsystemapi.enums.AccountStatus;
+import webapp.bankingsystemapi.enums.AccountType;
+import webapp.bankingsystemapi.enums.Role;
+import webapp.bankingsystemapi.enums.UserStatus;
+import webapp.bankingsystemapi.exception.BadRequestException;
+import webapp.bankingsystemapi.model.Account;
+import webapp.bankingsystemapi.model.User;
+import webapp.bankingsystemapi.repo.AccountRepo;
+import webapp.bankingsystemapi.repo.UserRepo;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walks a statement page by page through the keyset cursor. Rows share timestamps in
+ * runs of three, so a seek on createdAt alone would skip or repeat rows at page edges.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatementKeysetPagingTest {
+
+    private static final int ROWS = 25;
+    private static final long FIRST_ID = 900_000_000L;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountRepo accountRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepo.save(User.builder()
+                .fullName("Keyset Statement")
+                .email(UUID.randomUUID() + "@bank.test")
+                .password("secret")
+                .role(Role.USER)
+                .status(UserStatus.ACTIVE)
+                .isActive(true)
+                .build());
+        account = accountRepo.save(Account.builder()
+                .accountNumber("KEYSET-" + UUID.randomUUID())
+                .type(AccountType.SAVING)
+                .status(AccountStatus.OPEN)
+                .balance(0)
+                .user(user)
+                .build());
+
+        // Ids far above the pooled sequences, one disjoint range per fixture account.
+        long firstId = FIRST_ID + account.getId() * ROWS;
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {firstId + i, "DEPOSIT", 100L, 0L, 100L, "SUCCESS",
+                    account.getAccountNumber() + "-" + i, account.getId(),
+                    Timestamp.valueOf(base.plusMinutes(i / 3))});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO TRANSACTIONS (ID, TYPE, AMOUNT, BEFORE_AMOUNT, REMAINING_AMOUNT, STATUS,
+                                          REFERENCE_NUMBER, ACCOUNT_ID, CREATED_AT)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@bank.test", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cursorWalkReturnsEveryRowOnceNewestFirst() {
+        StatementRequest request = new StatementRequest();
+        request.setAccountNumber(account.getAccountNumber());
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            StatementPageResponse page = transactionService.getStatementPage(request, cursor, 7, "admin@bank.test");
+            page.getContent().stream().map(TransactionResponse::getReferenceNumber).forEach(seen::add);
+            assertEquals(page.getContent().size(), page.getSize());
+            assertEquals(page.isHasNext(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = ROWS - 1; i >= 0; i--) {
+            expected.add(account.getAccountNumber() + "-" + i);
+        }
+        assertEquals(expected, seen);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        StatementRequest request = new StatementRequest();
+        request.setAccountNumber(account.getAccountNumber());
+
+        StatementPageResponse page = transactionService.getStatementPage(request, null, ROWS, "admin@bank.test");
+
+        assertEquals(ROWS, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rejectsTamperedCursorAndOversizedPage() {
+        StatementRequest request = new StatementRequest();
+        request.setAccountNumber(account.getAccountNumber());
+
+        assertThrows(BadRequestException.class,
+                () -> transactionService.getStatementPage(request, "not-a-cursor", 10, "admin@bank.test"));
+        assertThrows(BadRequestException.class,
+                () -> transactionService.getStatementPage(request, null, 1_000, "admin@bank.test"));
+        assertTrue(transactionService.getStatementPage(request, null, 1, "admin@bank.test").isHasNext());
+    }
+}
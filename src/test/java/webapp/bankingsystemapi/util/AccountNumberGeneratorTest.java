@@ -0,0 +1,83 @@
+package webapp.bankingsystemapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountNumberGeneratorTest {
+
+    // Stands in for ACCOUNT_NUMBER_SEQ; several generators sharing it behave like several nodes.
+    private static final class SequenceBackedGenerator extends AccountNumberGenerator {
+        private final AtomicLong sequence;
+        private final AtomicLong fetches = new AtomicLong();
+
+        private SequenceBackedGenerator(AtomicLong sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        long nextBlockValue() {
+            fetches.incrementAndGet();
+            return sequence.incrementAndGet();
+        }
+    }
+
+    @Test
+    void formatsNumbersWithYearAndPaddedSequence() {
+        assertEquals("ACC-2026-000100", AccountNumberGenerator.format(100, 2026));
+        assertEquals("ACC-2026-1234567", AccountNumberGenerator.format(1234567, 2026));
+    }
+
+    @Test
+    void fetchesOneSequenceValuePerBlock() {
+        SequenceBackedGenerator generator = new SequenceBackedGenerator(new AtomicLong());
+
+        List<String> numbers = generator.generate(AccountNumberGenerator.BLOCK_SIZE * 3 + 1);
+
+        assertEquals(AccountNumberGenerator.BLOCK_SIZE * 3 + 1, new HashSet<>(numbers).size());
+        assertEquals(4, generator.fetches.get());
+        assertEquals("ACC-" + Year.now().getValue() + "-000100", numbers.get(0));
+    }
+
+    @Test
+    void numbersStayUniqueAcrossThreadsAndNodes() throws Exception {
+        AtomicLong sequence = new AtomicLong(41);
+        List<AccountNumberGenerator> nodes = List.of(
+                new SequenceBackedGenerator(sequence), new SequenceBackedGenerator(sequence));
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            AccountNumberGenerator node = nodes.get(t % nodes.size());
+            boolean bulk = t % 2 == 0;
+            futures.add(pool.submit(() -> {
+                int generated = 0;
+                for (int i = 0; i < 500; i++) {
+                    List<String> numbers = bulk ? node.generate(7) : List.of(node.generate());
+                    numbers.forEach(n -> assertTrue(seen.add(n), "duplicate " + n));
+                    generated += numbers.size();
+                }
+                return generated;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(total, seen.size());
+    }
+}
@@ -0,0 +1,60 @@
+package webapp.bankingsystemapi.util;
+
+import org.junit.jupiter.api.Test;
+import webapp.bankingsystemapi.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void convertsRequestAmountsExactly() {
+        assertEquals(10, Money.toMinor(0.1));
+        assertEquals(123_456_789_01L, Money.toMinor(123_456_789.01));
+        assertEquals(-250, Money.toMinor(-2.5));
+    }
+
+    @Test
+    void refusesFractionsOfACent() {
+        assertThrows(BadRequestException.class, () -> Money.toMinor(0.005));
+        assertThrows(BadRequestException.class, () -> Money.toMinor(0.1 + 0.2));
+    }
+
+    @Test
+    void refusesAmountsOutsideTheMinorUnitRange() {
+        BadRequestException tooLarge = assertThrows(BadRequestException.class, () -> Money.toMinor(1e17));
+        assertTrue(tooLarge.getMessage().startsWith("Amounts must be between"));
+        assertThrows(BadRequestException.class, () -> Money.toMinor(Double.NaN));
+        // a bound that would wrap to a negative one is refused, not turned into an empty page
+        assertThrows(BadRequestException.class, () -> Money.toMinor(1e17, RoundingMode.FLOOR));
+        assertThrows(BadRequestException.class, () -> Money.toMinor(-1e17, RoundingMode.CEILING));
+        assertThrows(BadRequestException.class, () -> Money.toMinor(Double.POSITIVE_INFINITY, RoundingMode.FLOOR));
+    }
+
+    @Test
+    void roundsFilterBoundsInward() {
+        assertEquals(1001, Money.toMinor(10.001, RoundingMode.CEILING));
+        assertEquals(1000, Money.toMinor(10.009, RoundingMode.FLOOR));
+        assertNull(Money.toMinor(null, RoundingMode.FLOOR));
+    }
+
+    @Test
+    void sumsInMinorUnitsDoNotDrift() {
+        long minor = 0;
+        double major = 0;
+        for (int i = 0; i < 1_000; i++) {
+            minor += Money.toMinor(0.1);
+            major += 0.1;
+        }
+        assertEquals(100.0, Money.toMajor(minor));
+        assertEquals(new BigDecimal("100.00"), Money.toDecimal(minor));
+        assertEquals("100.00", Money.format(minor));
+        assertEquals(false, major == 100.0);
+    }
+}